@@ -0,0 +1,310 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bervini.rasael.jwrap.benchmark;
+
+import net.bervini.rasael.jwrap.util.Arrays;
+import net.bervini.rasael.jwrap.util.CircularList;
+import net.bervini.rasael.jwrap.util.ConcurrentAppendList;
+import net.bervini.rasael.jwrap.util.Lists;
+import net.bervini.rasael.jwrap.util.PersistentList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * {@link Arrays} and {@link Lists} utilities against the equivalent hand-written JDK code.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djwrap-no-splash")
+@State(Scope.Thread)
+public class ArraysListsBenchmark {
+
+  private static final Predicate<String> EVEN_LENGTH = s -> (s.length() & 1)==0;
+
+  @Param({"16", "1024", "65536"})
+  int size;
+
+  String[] array;
+  String[] other;
+  List<String> list;
+  PersistentList<String> persistent;
+  List<String> probes;
+  String last;
+
+  @Setup
+  public void setup() {
+    array = Fixtures.strings(size);
+    other = Fixtures.strings(size);
+    list = Fixtures.list(size);
+    persistent = new PersistentList<>(list);
+    last = array[size - 1];
+    probes = list.subList(size / 2, size);
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Arrays
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Benchmark
+  public String[] arraysFilter() {
+    return Arrays.filter(array, EVEN_LENGTH);
+  }
+
+  @Benchmark
+  public String[] jdkFilter() {
+    var result = new String[array.length];
+    int n = 0;
+    for (String s : array) {
+      if (EVEN_LENGTH.test(s))
+        result[n++] = s;
+    }
+    return java.util.Arrays.copyOf(result, n);
+  }
+
+  @Benchmark
+  public String[] arraysConcat() {
+    return Arrays.concat(array, other, other, other);
+  }
+
+  @Benchmark
+  public String[] jdkConcat() {
+    var result = java.util.Arrays.copyOf(array, array.length + 3 * other.length);
+    for (int i = 0, pos = array.length; i < 3; i++, pos += other.length) {
+      System.arraycopy(other, 0, result, pos, other.length);
+    }
+    return result;
+  }
+
+  @Benchmark
+  public int arraysIndexOf() {
+    return Arrays.indexOf(array, last);
+  }
+
+  @Benchmark
+  public int jdkIndexOf() {
+    for (int i = 0; i < array.length; i++) {
+      if (last.equals(array[i]))
+        return i;
+    }
+    return -1;
+  }
+
+  @Benchmark
+  public String[] arraysSubarray() {
+    return Arrays.subarray(array, size / 4, size / 2);
+  }
+
+  @Benchmark
+  public String[] jdkSubarray() {
+    return java.util.Arrays.copyOfRange(array, size / 4, size / 2);
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Lists
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Benchmark
+  public List<Integer> listsMap() {
+    return Lists.map(list, String::length);
+  }
+
+  @Benchmark
+  public List<Integer> jdkMap() {
+    var result = new ArrayList<Integer>(list.size());
+    for (String s : list) {
+      result.add(s.length());
+    }
+    return result;
+  }
+
+  @Benchmark
+  public List<List<String>> listsSplit() {
+    return Lists.split(list, EVEN_LENGTH);
+  }
+
+  @Benchmark
+  public List<List<String>> jdkSplit() {
+    var result = new ArrayList<List<String>>();
+    int from = 0;
+    for (int i = 0; i < list.size(); i++) {
+      if (EVEN_LENGTH.test(list.get(i))) {
+        result.add(list.subList(from, i));
+        from = i + 1;
+      }
+    }
+    if (from < list.size())
+      result.add(list.subList(from, list.size()));
+    return result;
+  }
+
+  @Benchmark
+  public List<String> listsClone() {
+    return Lists.clone(list);
+  }
+
+  @Benchmark
+  public List<String> jdkClone() {
+    return new ArrayList<>(list);
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Membership
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Benchmark
+  public boolean arraysContainsAll() {
+    return Arrays.containsAll(array, probes);
+  }
+
+  @Benchmark
+  public boolean jdkContainsAll() {
+    return java.util.Arrays.asList(array).containsAll(probes);
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Selection
+  // -------------------------------------------------------------------------------------------------------------------
+
+  private static final int TOP = 10;
+
+  @Benchmark
+  public String[] arraysTopK() {
+    return Arrays.topK(array, TOP, null);
+  }
+
+  @Benchmark
+  public String[] arraysPartialSort() {
+    var copy = array.clone();
+    Arrays.partialSort(copy, TOP, null);
+    return copy;
+  }
+
+  @Benchmark
+  public String[] jdkSortTopK() {
+    var copy = array.clone();
+    java.util.Arrays.sort(copy);
+    return java.util.Arrays.copyOf(copy, TOP);
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // FIFO
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Cycles every element through the queue: shift from the front, push to the back
+   */
+  private static List<String> rotate(List<String> queue) {
+    for (int i = 0, n = queue.size(); i < n; i++) {
+      Lists.push(queue, Lists.shift(queue));
+    }
+    return queue;
+  }
+
+  @Benchmark
+  public List<String> arrayListFifo() {
+    return rotate(new ArrayList<>(list));
+  }
+
+  @Benchmark
+  public List<String> circularListFifo() {
+    return rotate(new CircularList<>(list));
+  }
+
+  @Benchmark
+  public List<String> jdkArrayDequeFifo() {
+    var deque = new ArrayDeque<>(list);
+    for (int i = 0, n = deque.size(); i < n; i++) {
+      deque.addLast(deque.pollFirst());
+    }
+    return new ArrayList<>(deque);
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Versions
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Keeps the current version and writes one element of the next one
+   */
+  @Benchmark
+  public List<String> arrayListVersion() {
+    var next = Lists.clone(list);
+    next.set(size / 2, last);
+    return next;
+  }
+
+  @Benchmark
+  public List<String> persistentListVersion() {
+    var next = Lists.clone(persistent);
+    next.set(size / 2, last);
+    return next;
+  }
+
+  @Benchmark
+  public int persistentListGet() {
+    int hash = 0;
+    for (int i = 0; i < size; i++) {
+      hash += persistent.get(i).length();
+    }
+    return hash;
+  }
+
+  @Benchmark
+  public int arrayListGet() {
+    int hash = 0;
+    for (int i = 0; i < size; i++) {
+      hash += list.get(i).length();
+    }
+    return hash;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Concurrent appends
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Benchmark
+  public List<String> synchronizedListParallelPush() {
+    var result = Collections.synchronizedList(new ArrayList<String>());
+    list.parallelStream().forEach(result::add);
+    return result;
+  }
+
+  @Benchmark
+  public List<String> concurrentAppendListParallelPush() {
+    var result = new ConcurrentAppendList<String>();
+    list.parallelStream().forEach(result::add);
+    return result;
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bervini.rasael.jwrap.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>Entry point of the benchmarks jar.</p>
+ *
+ * <p>Accepts the usual JMH command line, but always attaches the {@link GCProfiler} so that every result also reports
+ * {@code gc.alloc.rate.norm}, the number of bytes allocated per operation.</p>
+ */
+public class Benchmarks {
+
+  private Benchmarks(){}
+
+  public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+    var commandLine = new CommandLineOptions(args);
+
+    var options = new OptionsBuilder()
+        .parent(commandLine)
+        .addProfiler(GCProfiler.class)
+        .build();
+
+    new Runner(options).run();
+  }
+}
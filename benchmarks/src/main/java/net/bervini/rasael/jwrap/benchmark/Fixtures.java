@@ -0,0 +1,77 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bervini.rasael.jwrap.benchmark;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared data sets and the hand-written JDK baselines used by the benchmarks.
+ */
+final class Fixtures {
+
+  private Fixtures(){}
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  static String[] strings(int size) {
+    var array = new String[size];
+    for (int i = 0; i < size; i++) {
+      array[i] = "e" + i;
+    }
+    return array;
+  }
+
+  static List<String> list(int size) {
+    return new ArrayList<>(List.of(strings(size)));
+  }
+
+  static ArrayDeque<String> deque(String[] array) {
+    var deque = new ArrayDeque<String>(array.length);
+    for (String s : array) {
+      deque.offerLast(s);
+    }
+    return deque;
+  }
+
+  static String csv(int size) {
+    return String.join(",", strings(size));
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * JavaScript-like splice written with plain {@link System#arraycopy}
+   */
+  @SafeVarargs
+  static <E> E[] splice(E[] array, int start, int deleteCount, E... items) {
+    int end = Math.min(array.length, start + deleteCount);
+    var result = java.util.Arrays.copyOf(array, array.length - (end - start) + items.length);
+    System.arraycopy(items, 0, result, start, items.length);
+    System.arraycopy(array, end, result, start + items.length, array.length - end);
+    return result;
+  }
+
+  static <E> List<E> splice(List<E> list, int start, int deleteCount, List<E> items) {
+    var result = new ArrayList<>(list);
+    var range = result.subList(start, Math.min(result.size(), start + deleteCount));
+    range.clear();
+    range.addAll(items);
+    return result;
+  }
+}
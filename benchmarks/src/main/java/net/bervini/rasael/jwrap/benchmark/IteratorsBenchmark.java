@@ -0,0 +1,240 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bervini.rasael.jwrap.benchmark;
+
+import net.bervini.rasael.jwrap.util.Iterators;
+import net.bervini.rasael.jwrap.util.Streams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Fused {@link Iterators} pipelines against the chains of one iterator per stage they replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djwrap-no-splash")
+@State(Scope.Thread)
+public class IteratorsBenchmark {
+
+  private static final Function<String, Integer> LENGTH = String::length;
+  private static final Predicate<Integer> EVEN = n -> (n & 1)==0;
+  private static final Function<Integer, Integer> TWICE = n -> n * 2;
+  private static final Predicate<Integer> POSITIVE = n -> n > 0;
+
+  @Param({"16", "1024", "65536"})
+  int size;
+
+  String[] array;
+  List<String> list;
+
+  @Setup
+  public void setup() {
+    array = Fixtures.strings(size);
+    list = Fixtures.list(size);
+    pollute();
+  }
+
+  /**
+   * Runs chains of other shapes first, as a real application does, so that the profiles of the
+   * {@code hasNext()}/{@code next()} call sites see several iterator classes
+   */
+  private void pollute() {
+    for (int i = 0; i < 20_000; i++) {
+      count(new ChainedMap<>(new ChainedFilter<>(list.iterator(), s -> !s.isEmpty()), Function.identity()));
+      count(new ChainedFilter<>(new ChainedMap<>(List.of(array).iterator(), String::trim), s -> true));
+      count(new ChainedFilter<>(new ChainedFilter<>(Iterators.of(array), s -> true), s -> true));
+      count(Iterators.filter(Iterators.map(list.iterator(), String::trim), s -> true));
+      count(Iterators.map(Iterators.of(array), Function.identity()));
+      if (i * (long) size > 2_000_000)
+        break;
+    }
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // map, filter, map, filter
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Benchmark
+  public int chainedLoop() {
+    var iterator = new ChainedFilter<>(new ChainedMap<>(new ChainedFilter<>(new ChainedMap<>(list.iterator(), LENGTH),
+                                                                            EVEN), TWICE), POSITIVE);
+    int sum = 0;
+    while (iterator.hasNext()) {
+      sum += iterator.next();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public int fusedLoop() {
+    var iterator = Iterators.map(list.iterator(), LENGTH).filter(EVEN).map(TWICE).filter(POSITIVE);
+    int sum = 0;
+    while (iterator.hasNext()) {
+      sum += iterator.next();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public int fusedForEachRemaining() {
+    var sum = new int[1];
+    Iterators.map(list.iterator(), LENGTH).filter(EVEN).map(TWICE).filter(POSITIVE)
+             .forEachRemaining(n -> sum[0] += n);
+    return sum[0];
+  }
+
+  @Benchmark
+  public int jdkStream() {
+    return list.stream().map(LENGTH).filter(EVEN).map(TWICE).filter(POSITIVE).mapToInt(Integer::intValue).sum();
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Streams of iterators
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Benchmark
+  public Object[] sizedStreamToArray() {
+    return Streams.stream(Iterators.of(array).map(LENGTH)).toArray();
+  }
+
+  @Benchmark
+  public Object[] unknownSizeStreamToArray() {
+    var iterator = Iterators.of(array).map(LENGTH);
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, 0), false).toArray();
+  }
+
+  @Benchmark
+  public long sizedParallelStream() {
+    return Streams.stream(Iterators.of(array).map(LENGTH)).parallel().mapToLong(Integer::longValue).sum();
+  }
+
+  @Benchmark
+  public long unknownSizeParallelStream() {
+    var iterator = Iterators.of(array).map(LENGTH);
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, 0), true)
+                        .mapToLong(Integer::longValue).sum();
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // of
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Benchmark
+  public int iteratorsOf() {
+    return count(Iterators.of(array));
+  }
+
+  @Benchmark
+  public int streamOfIterator() {
+    return count(Stream.of(array).iterator());
+  }
+
+  private static int count(Iterator<String> iterator) {
+    int count = 0;
+    while (iterator.hasNext()) {
+      count += iterator.next().length();
+    }
+    return count;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * The map iterator wrapped around each previous stage before the stages were fused
+   */
+  private record ChainedMap<E, R>(Iterator<E> iterator, Function<? super E, ? extends R> function)
+      implements Iterator<R> {
+
+    @Override
+    public boolean hasNext() {
+      return iterator.hasNext();
+    }
+
+    @Override
+    public R next() {
+      return function.apply(iterator.next());
+    }
+  }
+
+  /**
+   * The filter iterator wrapped around each previous stage before the stages were fused
+   */
+  private static final class ChainedFilter<E> implements Iterator<E> {
+
+    private final Iterator<E> iterator;
+    private final Predicate<? super E> predicate;
+    private boolean isNextReady;
+    private boolean hasNext;
+    private E next;
+
+    private ChainedFilter(Iterator<E> iterator, Predicate<? super E> predicate) {
+      this.iterator = iterator;
+      this.predicate = predicate;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (!isNextReady) readNext();
+      return hasNext;
+    }
+
+    @Override
+    public E next() {
+      if (!isNextReady) readNext();
+      if (!hasNext)
+        throw new NoSuchElementException();
+      isNextReady = false;
+      return next;
+    }
+
+    private void readNext() {
+      hasNext = false;
+      next = null;
+      while (iterator.hasNext()) {
+        var element = iterator.next();
+        if (predicate.test(element)) {
+          hasNext = true;
+          next = element;
+          isNextReady = true;
+          return;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bervini.rasael.jwrap.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static net.bervini.rasael.jwrap.api.JWrap.$;
+
+/**
+ * JS-like array operations of {@code ObjectArrayWrap} against the equivalent hand-written JDK code.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djwrap-no-splash")
+@State(Scope.Thread)
+public class ObjectArrayWrapBenchmark {
+
+  @Param({"16", "1024"})
+  int size;
+
+  String[] array;
+
+  @Setup
+  public void setup() {
+    array = Fixtures.strings(size);
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // $() operator
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Benchmark
+  public int wrapSize() {
+    return $(array).size();
+  }
+
+  @Benchmark
+  public int jdkLength() {
+    return array.length;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // push
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Benchmark
+  public String[] wrapPush() {
+    var wrap = $(new String[0]);
+    for (String s : array) {
+      wrap.push(s);
+    }
+    return wrap.get();
+  }
+
+  @Benchmark
+  public String[] wrapBufferedPush() {
+    var wrap = $(new String[0]).buffered();
+    for (String s : array) {
+      wrap.push(s);
+    }
+    return wrap.get();
+  }
+
+  @Benchmark
+  public String[] jdkPush() {
+    var list = new ArrayList<String>();
+    for (String s : array) {
+      list.add(s);
+    }
+    return list.toArray(new String[0]);
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // pop
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Benchmark
+  public void wrapPop(Blackhole blackhole) {
+    var wrap = $(array.clone());
+    for (int i = 0; i < size; i++) {
+      blackhole.consume(wrap.pop());
+    }
+  }
+
+  @Benchmark
+  public void jdkPop(Blackhole blackhole) {
+    var deque = Fixtures.deque(array);
+    for (int i = 0; i < size; i++) {
+      blackhole.consume(deque.pollLast());
+    }
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // shift
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Benchmark
+  public void wrapShift(Blackhole blackhole) {
+    var wrap = $(array.clone());
+    for (int i = 0; i < size; i++) {
+      blackhole.consume(wrap.shift());
+    }
+  }
+
+  @Benchmark
+  public void wrapBufferedShift(Blackhole blackhole) {
+    var wrap = $(array.clone()).buffered();
+    for (int i = 0; i < size; i++) {
+      blackhole.consume(wrap.shift());
+    }
+  }
+
+  @Benchmark
+  public void jdkShift(Blackhole blackhole) {
+    var deque = Fixtures.deque(array);
+    for (int i = 0; i < size; i++) {
+      blackhole.consume(deque.pollFirst());
+    }
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // unshift
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Benchmark
+  public String[] wrapUnshift() {
+    var wrap = $(new String[0]);
+    for (String s : array) {
+      wrap.unshift(s);
+    }
+    return wrap.get();
+  }
+
+  @Benchmark
+  public String[] wrapBufferedUnshift() {
+    var wrap = $(new String[0]).buffered();
+    for (String s : array) {
+      wrap.unshift(s);
+    }
+    return wrap.get();
+  }
+
+  @Benchmark
+  public String[] jdkUnshift() {
+    var deque = new ArrayDeque<String>();
+    for (String s : array) {
+      deque.offerFirst(s);
+    }
+    return deque.toArray(new String[0]);
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // splice
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Benchmark
+  public String[] wrapSplice() {
+    return $(array).splice(size / 2, 2, "x", "y", "z").get();
+  }
+
+  @Benchmark
+  public String[] jdkSplice() {
+    return Fixtures.splice(array, size / 2, 2, "x", "y", "z");
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // indexed iteration
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Benchmark
+  public int wrapEntries() {
+    int sum = 0;
+    for (var entry : $(array).entries()) {
+      sum += entry.getKey() ^ entry.getValue().length();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public int wrapCursor() {
+    int sum = 0;
+    for (var cursor = $(array).cursor(); cursor.next(); ) {
+      sum += cursor.index() ^ cursor.value().length();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public int jdkIndexedLoop() {
+    int sum = 0;
+    for (int i = 0; i < array.length; i++) {
+      sum += i ^ array[i].length();
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bervini.rasael.jwrap.benchmark;
+
+import net.bervini.rasael.jwrap.util.Arrays;
+import net.bervini.rasael.jwrap.util.ParallelArrays;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * {@link ParallelArrays} against the sequential {@link Arrays} operations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djwrap-no-splash")
+@State(Scope.Thread)
+public class ParallelArraysBenchmark {
+
+  private static final Predicate<String> EVEN_LENGTH = s -> (s.length() & 1)==0;
+
+  @Param({"1024", "65536", "1048576"})
+  int size;
+
+  String[] array;
+
+  @Setup
+  public void setup() {
+    array = Fixtures.strings(size);
+  }
+
+  @Benchmark
+  public String[] sort() {
+    var copy = array.clone();
+    Arrays.sort(copy, Comparator.naturalOrder());
+    return copy;
+  }
+
+  @Benchmark
+  public String[] parallelSort() {
+    var copy = array.clone();
+    ParallelArrays.sort(copy, Comparator.naturalOrder(), ForkJoinPool.commonPool(), ParallelArrays.DEFAULT_THRESHOLD);
+    return copy;
+  }
+
+  @Benchmark
+  public String[] filter() {
+    return Arrays.filter(array, EVEN_LENGTH);
+  }
+
+  @Benchmark
+  public String[] parallelFilter() {
+    return ParallelArrays.filter(array, EVEN_LENGTH, ForkJoinPool.commonPool(), ParallelArrays.DEFAULT_THRESHOLD);
+  }
+
+  @Benchmark
+  public Integer[] map() {
+    return Arrays.map(array, String::length, Integer[]::new);
+  }
+
+  @Benchmark
+  public Integer[] parallelMap() {
+    return ParallelArrays.map(array, String::length, Integer[]::new, ForkJoinPool.commonPool(),
+                              ParallelArrays.DEFAULT_THRESHOLD);
+  }
+}
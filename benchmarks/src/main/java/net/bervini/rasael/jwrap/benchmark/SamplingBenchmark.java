@@ -0,0 +1,95 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bervini.rasael.jwrap.benchmark;
+
+import net.bervini.rasael.jwrap.util.Sampling;
+import org.apache.commons.lang3.ArrayUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Sampling} against the former {@link SecureRandom} shuffle, and sampling by shuffling a copy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djwrap-no-splash")
+@State(Scope.Thread)
+public class SamplingBenchmark {
+
+  private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+  @Param({"1024", "65536"})
+  int size;
+
+  @Param({"16"})
+  int k;
+
+  String[] array;
+
+  SplittableRandom random;
+
+  @Setup
+  public void setup() {
+    array = Fixtures.strings(size);
+    random = new SplittableRandom(42);
+  }
+
+  @Benchmark
+  public String[] shuffleSecureRandom() {
+    ArrayUtils.shuffle(array, SECURE_RANDOM);
+    return array;
+  }
+
+  @Benchmark
+  public String[] shuffle() {
+    Sampling.shuffle(array, random);
+    return array;
+  }
+
+  @Benchmark
+  public String[] sampleByShufflingCopy() {
+    var copy = array.clone();
+    Sampling.shuffle(copy, random);
+    return java.util.Arrays.copyOf(copy, k);
+  }
+
+  @Benchmark
+  public String[] sample() {
+    return Sampling.sample(array, k, random);
+  }
+
+  @Benchmark
+  public List<String> reservoir() {
+    return Sampling.reservoir(java.util.Arrays.asList(array).iterator(), k, random);
+  }
+}
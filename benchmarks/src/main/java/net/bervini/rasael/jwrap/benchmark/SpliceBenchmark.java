@@ -0,0 +1,162 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bervini.rasael.jwrap.benchmark;
+
+import net.bervini.rasael.jwrap.util.Splice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Splice} on arrays and lists against the equivalent hand-written JDK code.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djwrap-no-splash")
+@State(Scope.Thread)
+public class SpliceBenchmark {
+
+  private static final List<String> INSERT = List.of("x", "y", "z");
+
+  @Param({"16", "1024", "65536"})
+  int size;
+
+  String[] array;
+  List<String> list;
+  LinkedList<String> linkedList;
+
+  @Setup
+  public void setup() {
+    array = Fixtures.strings(size);
+    list = Fixtures.list(size);
+    linkedList = new LinkedList<>(list);
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Array
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Benchmark
+  public String[] spliceArray() {
+    return Splice.splice(array, size / 2, 2, "x", "y", "z").result();
+  }
+
+  @Benchmark
+  public String[] jdkSpliceArray() {
+    return Fixtures.splice(array, size / 2, 2, "x", "y", "z");
+  }
+
+  @Benchmark
+  public String[] spliceArrayTail() {
+    return Splice.splice(array, size / 2).result();
+  }
+
+  @Benchmark
+  public String[] jdkSpliceArrayTail() {
+    return java.util.Arrays.copyOf(array, size / 2);
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // List
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Benchmark
+  public List<String> spliceList() {
+    return Splice.splice(list, size / 2, 2, INSERT).result();
+  }
+
+  @Benchmark
+  public List<String> jdkSpliceList() {
+    return Fixtures.splice(list, size / 2, 2, INSERT);
+  }
+
+  @Benchmark
+  public List<String> spliceListTail() {
+    return Splice.splice(list, size / 2).result();
+  }
+
+  @Benchmark
+  public List<String> jdkSpliceListTail() {
+    return new java.util.ArrayList<>(list.subList(0, size / 2));
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // LinkedList
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Benchmark
+  public List<String> spliceLinkedList() {
+    return Splice.splice(linkedList, size / 2, 2, INSERT).result();
+  }
+
+  @Benchmark
+  public List<String> spliceLinkedListInPlace() {
+    // removes as many elements as it inserts, so that the size of the list doesn't change between invocations
+    return Splice.spliceInPlace(linkedList, size / 2, INSERT.size(), INSERT);
+  }
+
+  @Benchmark
+  public List<String> jdkSpliceLinkedList() {
+    var result = new LinkedList<>(linkedList);
+    var iterator = result.listIterator(size / 2);
+    for (int i=0; i<2; i++) {
+      iterator.next();
+      iterator.remove();
+    }
+    INSERT.forEach(iterator::add);
+    return result;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Batch of splices
+  // -------------------------------------------------------------------------------------------------------------------
+
+  private static final int BATCH = 8;
+
+  @Benchmark
+  public String[] spliceArrayBatch() {
+    var result = array;
+    // from the end, so that the indexes still refer to the original array
+    for (int i=BATCH; i>0; i--) {
+      result = Splice.splice(result, i * size / (BATCH + 1), 1, "x").result();
+    }
+    return result;
+  }
+
+  @Benchmark
+  public String[] splicePlanArrayBatch() {
+    var plan = Splice.<String>plan();
+    for (int i=1; i<=BATCH; i++) {
+      plan.splice(i * size / (BATCH + 1), 1, "x");
+    }
+    return plan.apply(array).result();
+  }
+}
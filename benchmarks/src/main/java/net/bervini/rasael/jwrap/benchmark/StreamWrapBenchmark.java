@@ -0,0 +1,106 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bervini.rasael.jwrap.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static net.bervini.rasael.jwrap.api.JWrap.$;
+
+/**
+ * {@code StreamWrap} filter/map/sort chains against the same chain on a plain {@link java.util.stream.Stream}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djwrap-no-splash")
+@State(Scope.Thread)
+public class StreamWrapBenchmark {
+
+  @Param({"16", "1024", "65536"})
+  int size;
+
+  List<String> list;
+
+  @Setup
+  public void setup() {
+    list = Fixtures.list(size);
+    java.util.Collections.shuffle(list, new java.util.Random(42));
+  }
+
+  @Benchmark
+  public List<Integer> wrapFilterMap() {
+    return $(list).stream()
+                  .filter(s -> s.endsWith("7"))
+                  .map(String::length)
+                  .toList();
+  }
+
+  @Benchmark
+  public List<Integer> jdkFilterMap() {
+    return list.stream()
+               .filter(s -> s.endsWith("7"))
+               .map(String::length)
+               .toList();
+  }
+
+  @Benchmark
+  public List<String> wrapSorted() {
+    return $(list).stream()
+                  .removeNulls()
+                  .sorted(Comparator.naturalOrder())
+                  .limit(10)
+                  .toList();
+  }
+
+  @Benchmark
+  public List<String> jdkSorted() {
+    return list.stream()
+               .filter(java.util.Objects::nonNull)
+               .sorted(Comparator.naturalOrder())
+               .limit(10)
+               .toList();
+  }
+
+  @Benchmark
+  public List<String> wrapSortReversedBy() {
+    return $(list).stream()
+                  .sortReversedBy(String::length)
+                  .toList();
+  }
+
+  @Benchmark
+  public List<String> jdkSortReversedBy() {
+    return list.stream()
+               .sorted(Comparator.comparing(String::length).reversed())
+               .toList();
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bervini.rasael.jwrap.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.bervini.rasael.jwrap.api.JWrap.$;
+
+/**
+ * {@code StringWrap} split/concat against {@link String} and {@link StringBuilder}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djwrap-no-splash")
+@State(Scope.Thread)
+public class StringWrapBenchmark {
+
+  @Param({"16", "1024"})
+  int size;
+
+  String csv;
+  String a;
+  String b;
+  String c;
+
+  @Setup
+  public void setup() {
+    csv = Fixtures.csv(size);
+    a = csv.substring(0, csv.length() / 3);
+    b = csv.substring(csv.length() / 3, 2 * csv.length() / 3);
+    c = csv.substring(2 * csv.length() / 3);
+  }
+
+  @Benchmark
+  public String[] wrapSplit() {
+    return $(csv).split(',').get();
+  }
+
+  @Benchmark
+  public String[] jdkSplit() {
+    return csv.split(",");
+  }
+
+  @Benchmark
+  public String wrapConcat() {
+    return $(a).concat(b, c).get();
+  }
+
+  @Benchmark
+  public String jdkConcat() {
+    return new StringBuilder(a.length() + b.length() + c.length())
+        .append(a)
+        .append(b)
+        .append(c)
+        .toString();
+  }
+}
@@ -16,7 +16,10 @@
 
 package net.bervini.rasael.jwrap.api;
 
+import net.bervini.rasael.jwrap.util.ArrayFormat;
+
 import javax.annotation.Nullable;
+import java.io.IOException;
 
 public abstract class AbstractArrayWrap<
     ACTUAL,
@@ -30,4 +33,33 @@ public abstract class AbstractArrayWrap<
   protected AbstractArrayWrap(@Nullable ACTUAL value) {
     super(value);
   }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Representation
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Returns the representation of the array, cut after {@link ArrayFormat#DEFAULT_MAX_CHARS} characters
+   */
+  @Override
+  public String toString() {
+    return ArrayFormat.DEFAULT.format(get());
+  }
+
+  /**
+   * Returns the representation of the array in the given format, or {@link ArrayFormat#DEFAULT} if {@code null}
+   */
+  public String toString(@Nullable ArrayFormat format) {
+    return (format!=null ? format : ArrayFormat.DEFAULT).format(get());
+  }
+
+  /**
+   * Writes the representation of the array to the given appendable, in the given format, without building it in
+   * memory
+   */
+  public SELF appendTo(Appendable out, @Nullable ArrayFormat format) throws IOException {
+    if (out!=null)
+      (format!=null ? format : ArrayFormat.DEFAULT).appendTo(out, get());
+    return myself;
+  }
 }
\ No newline at end of file
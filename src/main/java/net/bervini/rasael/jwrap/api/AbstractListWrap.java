@@ -16,13 +16,29 @@
 
 package net.bervini.rasael.jwrap.api;
 
+import net.bervini.rasael.jwrap.annotation.Beta;
+import net.bervini.rasael.jwrap.util.Cursor;
+import net.bervini.rasael.jwrap.util.IntObjConsumer;
+import net.bervini.rasael.jwrap.util.Iterators;
+import net.bervini.rasael.jwrap.util.ListViews;
 import net.bervini.rasael.jwrap.util.Lists;
+import net.bervini.rasael.jwrap.util.Sampling;
+import net.bervini.rasael.jwrap.util.Streams;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNullableByDefault;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @ParametersAreNullableByDefault
 public abstract class AbstractListWrap<
@@ -98,7 +114,221 @@ public abstract class AbstractListWrap<
   }
 
 
+  /**
+   * Returns a cursor over the list, reading lists with {@link RandomAccess} by index
+   * @see Cursor
+   */
+  @Override
+  public Cursor<ELEMENT> cursor() {
+    return Iterators.cursor(value);
+  }
+
+  /**
+   * Invokes the consumer with the index and the value of each element, without boxing the index
+   */
+  public SELF forEachEntry(IntObjConsumer<? super ELEMENT> consumer) {
+    if (value==null || consumer==null)
+      return myself;
+
+    if (value instanceof RandomAccess) {
+      for (int i=0, size=value.size(); i<size; i++) {
+        consumer.accept(i, value.get(i));
+      }
+    }
+    else {
+      int i = 0;
+      for (ELEMENT element : value) {
+        consumer.accept(i++, element);
+      }
+    }
+    return myself;
+  }
+
+  public SELF shuffle() {
+    return shuffle(null);
+  }
+
+  /**
+   * Shuffles the list in place with the given generator, or {@link Sampling#defaultGenerator()} if {@code null}
+   */
+  public SELF shuffle(RandomGenerator generator) {
+    Sampling.shuffle(value, generator);
+    return myself;
+  }
+
+  public ListWrap<ELEMENT> sample(int k) {
+    return sample(k, null);
+  }
+
+  /**
+   * <p>Returns a new wrap of {@code k} distinct elements (or all of them if there are fewer) drawn uniformly, in the
+   * order they were drawn; this list is not modified.</p>
+   *
+   * @param generator the generator, or {@code null} for {@link Sampling#defaultGenerator()}
+   * @see Sampling#sample(List, int, RandomGenerator)
+   */
+  public ListWrap<ELEMENT> sample(int k, RandomGenerator generator) {
+    return new ListWrap<>(Sampling.sample(value, k, generator));
+  }
+
+  public ListWrap<ELEMENT> weightedSample(int k, ToDoubleFunction<? super ELEMENT> weight) {
+    return weightedSample(k, weight, null);
+  }
+
+  /**
+   * <p>Returns a new wrap of {@code k} distinct elements drawn without replacement, with a probability proportional
+   * to their weight, in the order they were drawn. Elements with a weight that is not positive are never drawn.</p>
+   *
+   * @param generator the generator, or {@code null} for {@link Sampling#defaultGenerator()}
+   */
+  public ListWrap<ELEMENT> weightedSample(int k, ToDoubleFunction<? super ELEMENT> weight,
+                                          RandomGenerator generator) {
+    if (value==null)
+      return new ListWrap<>(null);
+
+    return new ListWrap<>(Sampling.weightedSample(value.iterator(), weight, k, generator));
+  }
+
   public <R> ListWrap<R> map(Function<? super ELEMENT, ? extends R> function) {
     return new ListWrap<>(Lists.map(value, function));
   }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Views
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>Returns a wrap of a lazy, read-only view of this list with the function applied to each element when it is
+   * read. Unlike {@link #map(Function)}, nothing is copied; {@link #toList()} builds the list.</p>
+   *
+   * <pre>
+   *   $(rows).mapView(Row::customer)
+   *          .filterView(Customer::isActive)
+   *          .mapView(Customer::email)
+   *          .toList();
+   * </pre>
+   *
+   * @see ListViews#map(List, Function)
+   */
+  public <R> ListWrap<R> mapView(Function<? super ELEMENT, ? extends R> function) {
+    return new ListWrap<>(ListViews.map(value, function));
+  }
+
+  /**
+   * <p>Returns a wrap of a lazy, read-only view of this list with the function applied to each element; when
+   * {@code memoize} is true, the function is applied at most once per index, the view keeping the size of this
+   * list at the time it is created.</p>
+   *
+   * @see ListViews#memoize(List, Function)
+   */
+  public <R> ListWrap<R> mapView(Function<? super ELEMENT, ? extends R> function, boolean memoize) {
+    if (!memoize)
+      return mapView(function);
+
+    return new ListWrap<>(ListViews.memoize(value, function));
+  }
+
+  /**
+   * Returns a wrap of a lazy, read-only view of the elements of this list matching the predicate
+   * @see ListViews#filter(List, Predicate)
+   */
+  public ListWrap<ELEMENT> filterView(Predicate<? super ELEMENT> predicate) {
+    return new ListWrap<>(ListViews.filter(value, predicate));
+  }
+
+  /**
+   * Returns a wrap of a read-only view of this list followed by the given lists, without copying them
+   * @see ListViews#concat(List[])
+   */
+  @SafeVarargs
+  public final ListWrap<ELEMENT> concatView(List<? extends ELEMENT>... lists) {
+    var parts = new ArrayList<List<? extends ELEMENT>>();
+    parts.add(value);
+    if (lists!=null)
+      parts.addAll(java.util.Arrays.asList(lists));
+
+    return new ListWrap<>(ListViews.concat(toArray(parts)));
+  }
+
+  private static <E> List<? extends E>[] toArray(List<List<? extends E>> parts) {
+    @SuppressWarnings("unchecked")
+    List<? extends E>[] array = (List<? extends E>[]) parts.toArray(new List<?>[0]);
+    return array;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Grouping
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>Cuts the list in consecutive chunks of {@code size}; the last chunk may be smaller. The chunks of a
+   * random-access list are {@code subList} views, nothing is copied.</p>
+   *
+   * @see ListViews#chunked(List, int)
+   */
+  public ListWrap<List<ELEMENT>> chunked(int size) {
+    return new ListWrap<>(ListViews.chunked(value, size));
+  }
+
+  /**
+   * @see ListViews#windowed(List, int, int)
+   */
+  public ListWrap<List<ELEMENT>> windowed(int size, int step) {
+    return new ListWrap<>(ListViews.windowed(value, size, step));
+  }
+
+  /**
+   * @see ListViews#partitionBy(List, Predicate)
+   */
+  public ListWrap<List<ELEMENT>> partitionBy(Predicate<? super ELEMENT> predicate) {
+    return new ListWrap<>(ListViews.partitionBy(value, predicate));
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Concurrent mapping
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>Maps the elements with blocking operations, running each mapping on a virtual thread and at most
+   * {@code maxConcurrency} of them at the same time, into a new list in the same order.</p>
+   *
+   * <pre>
+   *   $(ids).mapConcurrent(client::fetch, 32);
+   * </pre>
+   *
+   * @see Streams#mapConcurrent(Stream, Function, int, Duration)
+   */
+  @Beta
+  public <R> ListWrap<R> mapConcurrent(Function<? super ELEMENT, ? extends R> mapper, int maxConcurrency) {
+    return mapConcurrent(mapper, maxConcurrency, null);
+  }
+
+  /**
+   * @param timeout the maximum time of each mapping, or {@code null} for no limit
+   * @see Streams#mapConcurrent(Stream, Function, int, Duration)
+   */
+  @Beta
+  public <R> ListWrap<R> mapConcurrent(Function<? super ELEMENT, ? extends R> mapper, int maxConcurrency,
+                                       Duration timeout) {
+    List<R> results = Streams.mapConcurrent(Streams.stream(value), mapper, maxConcurrency, timeout)
+        .collect(Collectors.toList());
+    return new ListWrap<>(results);
+  }
+
+  /**
+   * @see Streams#forEachConcurrent(Stream, Consumer, int, Duration)
+   */
+  @Beta
+  public void forEachConcurrent(Consumer<? super ELEMENT> action, int maxConcurrency) {
+    forEachConcurrent(action, maxConcurrency, null);
+  }
+
+  /**
+   * @param timeout the maximum time of each action, or {@code null} for no limit
+   * @see Streams#forEachConcurrent(Stream, Consumer, int, Duration)
+   */
+  @Beta
+  public void forEachConcurrent(Consumer<? super ELEMENT> action, int maxConcurrency, Duration timeout) {
+    Streams.forEachConcurrent(Streams.stream(value), action, maxConcurrency, timeout);
+  }
 }
@@ -16,13 +16,22 @@
 
 package net.bervini.rasael.jwrap.api;
 
+import net.bervini.rasael.jwrap.annotation.Beta;
 import net.bervini.rasael.jwrap.annotation.Tested;
+import net.bervini.rasael.jwrap.util.ArrayBuffer;
+import net.bervini.rasael.jwrap.util.ArrayFormat;
+import net.bervini.rasael.jwrap.util.ArrayView;
 import net.bervini.rasael.jwrap.util.Arrays;
+import net.bervini.rasael.jwrap.util.Collections;
+import net.bervini.rasael.jwrap.util.Cursor;
 import net.bervini.rasael.jwrap.util.IntObjConsumer;
 import net.bervini.rasael.jwrap.util.Iterators;
 import net.bervini.rasael.jwrap.util.Lists;
+import net.bervini.rasael.jwrap.util.ParallelArrays;
 import net.bervini.rasael.jwrap.util.Predicates;
+import net.bervini.rasael.jwrap.util.Sampling;
 import net.bervini.rasael.jwrap.util.Splice;
+import net.bervini.rasael.jwrap.util.SplicePlan;
 import net.bervini.rasael.jwrap.util.Spliterators;
 import org.apache.commons.lang3.ArrayUtils;
 import org.jetbrains.annotations.NotNull;
@@ -30,13 +39,24 @@ import org.jetbrains.annotations.NotNull;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNullableByDefault;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.Spliterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
 import java.util.stream.Stream;
 
 import static net.bervini.rasael.jwrap.api.JWrap.Wrap;
@@ -48,8 +68,39 @@ public abstract class AbstractObjectArrayWrap<
     extends AbstractWrap<ELEMENT[], SELF>
     implements MutableIndexedObjectEnumerableWrap<ELEMENT, SELF>, StreamableWrap<ELEMENT> {
 
+  private static final ArrayFormat DEEP_FORMAT = ArrayFormat.DEFAULT.deep(true);
+
   private final Class<ELEMENT> type;
 
+  private boolean buffered;
+
+  /**
+   * When not null, the buffer holds the actual content of this wrap and {@code value} is stale
+   */
+  @Nullable
+  private ArrayBuffer<ELEMENT> buffer;
+
+  /**
+   * When not null, the view holds the actual content of this wrap and {@code value} is stale
+   */
+  @Nullable
+  private ArrayView<ELEMENT> view;
+
+  /**
+   * When not null, this wrap is in parallel mode and runs its parallel operations in this pool
+   */
+  @Nullable
+  private ForkJoinPool pool;
+  private int parallelThreshold = ParallelArrays.DEFAULT_THRESHOLD;
+
+  private boolean indexed;
+
+  /**
+   * When indexed, the elements of the array, built on the first membership query and dropped at each modification
+   */
+  @Nullable
+  private Set<ELEMENT> index;
+
   protected AbstractObjectArrayWrap(ELEMENT[] value) {
     super(value);
     type = Arrays.componentType(value);
@@ -61,49 +112,399 @@ public abstract class AbstractObjectArrayWrap<
     return type;
   }
 
+  @Nullable
+  @Override
+  public ELEMENT[] get() {
+    return array();
+  }
+
+  @Override
+  public SELF set(@Nullable ELEMENT[] value) {
+    buffer = null;
+    view = null;
+    index = null;
+    return super.set(value);
+  }
+
+  /**
+   * Returns the actual array, materializing the buffer or the view if needed
+   */
+  @Nullable
+  ELEMENT[] array() {
+    if (buffer!=null) {
+      value = buffer.toArray();
+      buffer = null;
+    }
+    else if (view!=null) {
+      value = view.toArray();
+      view = null;
+    }
+    return value;
+  }
+
+  /**
+   * Returns a read-only list over the actual content, without materializing the buffer or the view, or null
+   */
+  @Nullable
+  private List<ELEMENT> elements() {
+    var pending = pending();
+    if (pending!=null)
+      return pending;
+
+    return value!=null ? java.util.Arrays.asList(value) : null;
+  }
+
+  /**
+   * Returns a read-only list over the buffer or the view, when one of them holds the actual content, or null
+   */
+  @Nullable
+  private List<ELEMENT> pending() {
+    if (buffer!=null)
+      return buffer.asList();
+
+    return view;
+  }
+
+  /**
+   * Compares the elements, whether they are held by the array, the buffer or the view, so that equality and hash
+   * codes don't depend on the mode of the wrap, and comparing doesn't materialize the content
+   */
+  @Override
+  Object content() {
+    return elements();
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Buffered mode
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>Switches this wrap to buffered mode.</p>
+   *
+   * <p>In buffered mode {@link #push(Object[])}, {@link #pushAll(Iterable)}, {@link #pop()}, {@link #shift()} and
+   * {@link #unshift(Object)} work on a circular buffer with spare capacity, and run in amortized constant time,
+   * instead of copying the whole array at each call.</p>
+   *
+   * <p>The exact-length array is built only when {@link #get()} is called, or when another operation needs it.</p>
+   *
+   * <pre>
+   *   var queue = $(new String[0]).buffered();
+   *   queue.push("a", "b");
+   *   queue.shift(); // "a"
+   * </pre>
+   */
+  @Beta
+  public SELF buffered() {
+    buffered = true;
+    return myself;
+  }
+
+  /**
+   * Leaves the buffered mode, materializing the buffer into the wrapped array
+   * @see #buffered()
+   */
+  @Beta
+  public SELF unbuffered() {
+    array();
+    buffered = false;
+    return myself;
+  }
+
+  public boolean isBuffered() {
+    return buffered;
+  }
+
+  @Nullable
+  private ArrayBuffer<ELEMENT> buffer() {
+    // the buffer is only requested to modify it
+    index = null;
+    if (buffer==null) {
+      var array = array();
+      if (array!=null)
+        buffer = ArrayBuffer.of(array);
+    }
+    return buffer;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Parallel mode
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>Switches this wrap to parallel mode, running in the {@link ForkJoinPool#commonPool() common pool}.</p>
+   *
+   * @see #parallel(ForkJoinPool, int)
+   */
+  @Beta
+  public SELF parallel() {
+    return parallel(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * <p>Switches this wrap to parallel mode, running in the given pool.</p>
+   *
+   * @see #parallel(ForkJoinPool, int)
+   */
+  @Beta
+  public SELF parallel(ForkJoinPool pool) {
+    return parallel(pool, ParallelArrays.DEFAULT_THRESHOLD);
+  }
+
+  /**
+   * <p>Switches this wrap to parallel mode.</p>
+   *
+   * <p>In parallel mode {@link #sort()}, {@link #sort(Comparator)}, {@link #filter(Predicate)},
+   * {@link #removeIf(Predicate)}, {@link #map(Function, IntFunction)}, {@link #forEachEntry(IntObjConsumer)} and
+   * {@link #shuffle(RandomGenerator)} split arrays with at least {@code threshold} elements into fork/join tasks, run
+   * in the given pool. The resulting arrays are the same, in the same order, as in sequential mode (except for the
+   * shuffle, which draws differently); but predicates, functions and consumers may be invoked concurrently, so they
+   * must be thread-safe.</p>
+   *
+   * <pre>
+   *   $(array).parallel()
+   *           .filter(Objects::nonNull)
+   *           .sort();
+   * </pre>
+   *
+   * @param pool the pool to run the tasks in, or {@code null} to use the common pool
+   * @param threshold the minimum size of the arrays processed in parallel
+   */
+  @Beta
+  public SELF parallel(ForkJoinPool pool, int threshold) {
+    this.pool = pool!=null ? pool : ForkJoinPool.commonPool();
+    this.parallelThreshold = threshold;
+    return myself;
+  }
+
+  /**
+   * Leaves the parallel mode
+   * @see #parallel(ForkJoinPool, int)
+   */
+  @Beta
+  public SELF sequential() {
+    pool = null;
+    return myself;
+  }
+
+  public boolean isParallel() {
+    return pool!=null;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Indexed mode
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>Switches this wrap to indexed mode.</p>
+   *
+   * <p>In indexed mode the elements are put in a hash set on the first {@link #contains(Object)} or
+   * {@link #contains(Iterable)} query, so that the following queries run in constant time for each element, instead
+   * of scanning the array. The set is dropped whenever the array is modified through this wrap: after modifying the
+   * array directly, call {@link #unindexed()}.</p>
+   */
+  @Beta
+  public SELF indexed() {
+    indexed = true;
+    return myself;
+  }
+
+  /**
+   * Leaves the indexed mode, dropping the index
+   * @see #indexed()
+   */
+  @Beta
+  public SELF unindexed() {
+    indexed = false;
+    index = null;
+    return myself;
+  }
+
+  public boolean isIndexed() {
+    return indexed;
+  }
+
+  @Nullable
+  private Set<ELEMENT> index() {
+    if (index==null) {
+      var elements = elements();
+      if (elements!=null)
+        index = new HashSet<>(elements);
+    }
+    return index;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Views
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>Returns a read-only view of the current content of this wrap, without copying it.</p>
+   *
+   * <p>Returns null if the wrapped array is null.</p>
+   */
+  @Nullable
+  public ArrayView<ELEMENT> view() {
+    if (view!=null)
+      return view;
+
+    var array = array();
+    return array!=null ? ArrayView.of(array) : null;
+  }
+
+  private SELF setView(ArrayView<ELEMENT> view) {
+    this.view = view;
+    this.index = null;
+    return myself;
+  }
+
+  /**
+   * <p>Keeps only the elements from {@code start} (inclusive) to the end of the array.</p>
+   *
+   * @see #slice(int, int)
+   */
+  public SELF slice(int start) {
+    return slice(start, Integer.MAX_VALUE);
+  }
+
+  /**
+   * <p>Keeps only the elements from {@code start} (inclusive) to {@code end} (exclusive).</p>
+   *
+   * <p>Negative indexes count back from the end of the array.</p>
+   *
+   * <p>Like {@link #concat(Object[][])} and {@link #splice(int, int, Object[])}, this copies nothing: the wrap keeps
+   * a view over the wrapped array, and the new array is built once, when {@link #get()} or an operation writing to
+   * the array needs it. Until then, writes to the wrapped array show through. The items given to concat and splice
+   * are copied, so that the caller's later writes to them don't show through.</p>
+   */
+  public SELF slice(int start, int end) {
+    int size = size();
+    var view = rangeView(Splice.toSpliceStart(start, size), Splice.toSpliceStart(end, size));
+    return view!=null ? setView(view) : myself;
+  }
+
+  /**
+   * <p>Returns the range {@code [startIndexInclusive, endIndexExclusive)} of the content of this wrap, as a view
+   * without copying it: a slice of the current view, or a view of the range of the wrapped array.</p>
+   *
+   * <p>Returns null if the wrapped array is null.</p>
+   */
+  @Nullable
+  private ArrayView<ELEMENT> rangeView(int startIndexInclusive, int endIndexExclusive) {
+    if (view!=null)
+      return view.slice(startIndexInclusive, endIndexExclusive);
+
+    var array = array();
+    if (array==null)
+      return null;
+
+    int start = Math.max(0, Math.min(array.length, startIndexInclusive));
+    int end = Math.max(start, Math.min(array.length, endIndexExclusive));
+    return ArrayView.of(array, start, end);
+  }
+
+  @Nullable
+  private ArrayView<ELEMENT> rangeView() {
+    return rangeView(0, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Copies the arrays given by the caller, for the views not to see the caller's later writes
+   */
+  @Nullable
+  private static <E> E[] copy(@Nullable E[] items) {
+    return items!=null ? items.clone() : null;
+  }
+
 
   // -------------------------------------------------------------------------------------------------------------------
   // Basic operations
   // -------------------------------------------------------------------------------------------------------------------
 
   public ListWrap<ELEMENT> asList() {
-    return Wrap(Lists.newListOrNull(value));
+    return Wrap(Lists.newListOrNull(array()));
   }
 
   public SELF filter(Predicate<? super ELEMENT> predicate) {
-    return set(Arrays.filter(value, predicate));
+    if (pool!=null)
+      return set(ParallelArrays.filter(array(), predicate, pool, parallelThreshold));
+
+    return set(Arrays.filter(array(), predicate));
   }
 
   @Override
   public SELF removeIf(Predicate<? super ELEMENT> predicate) {
-    return set(Arrays.filter(value, Predicates.not(predicate)));
+    if (pool!=null)
+      return filter(Predicates.not(predicate));
+
+    return set(Arrays.removeIf(array(), predicate));
+  }
+
+  /**
+   * <p>Returns a new wrap of the array, created by {@code generator}, holding the result of the given function
+   * applied to each element. The new wrap is in the same parallel mode as this one.</p>
+   */
+  public <R> ObjectArrayWrap<R> map(Function<? super ELEMENT, ? extends R> function, IntFunction<R[]> generator) {
+    if (function==null || generator==null)
+      return Wrap((R[]) null);
+
+    if (pool==null)
+      return Wrap(Arrays.map(array(), function, generator));
+
+    return Wrap(ParallelArrays.map(array(), function, generator, pool, parallelThreshold))
+        .parallel(pool, parallelThreshold);
   }
 
   @Override
   public SELF pushAll(Iterable<ELEMENT> elements) {
-    return set(Arrays.addAll(value, elements));
+    if (buffered) {
+      var buffer = buffer();
+      if (buffer!=null)
+        buffer.addAll(elements);
+
+      return myself;
+    }
+    return set(Arrays.addAll(array(), elements));
   }
 
   @Override
   @Tested
   public ELEMENT pop() {
-    ELEMENT peek = Arrays.peek(value);
-    set(Arrays.pop(value));
+    if (buffered) {
+      var buffer = buffer();
+      return buffer!=null ? buffer.pollLast() : null;
+    }
+
+    var array = array();
+    ELEMENT peek = Arrays.peek(array);
+    set(Arrays.pop(array));
     return peek;
   }
 
   @Override
   @Tested
   public ELEMENT shift() {
-    ELEMENT first = Arrays.get(value, 0);
-    set(Arrays.remove(value, 0));
+    if (buffered) {
+      var buffer = buffer();
+      return buffer!=null ? buffer.pollFirst() : null;
+    }
+
+    var array = array();
+    ELEMENT first = Arrays.get(array, 0);
+    set(Arrays.remove(array, 0));
     return first;
   }
 
   @Override
   @Tested
   public SELF unshift(ELEMENT element) {
-    return set(Arrays.insert(0, value, element));
+    if (buffered) {
+      var buffer = buffer();
+      if (buffer!=null)
+        buffer.addFirst(element);
+
+      return myself;
+    }
+    return set(Arrays.insert(0, array(), element));
   }
 
   @Override
@@ -113,7 +514,7 @@ public abstract class AbstractObjectArrayWrap<
 
   @Tested
   public SELF splice() {
-    return set(Splice.splice(value));
+    return set(Splice.splice(array()));
   }
 
   /**
@@ -128,7 +529,8 @@ public abstract class AbstractObjectArrayWrap<
    * @return
    */
   public SELF splice(int start) {
-    return set(Splice.splice(value, start).result());
+    var view = rangeView(0, Splice.toSpliceStart(start, size()));
+    return view!=null ? setView(view) : myself;
   }
 
   /**
@@ -152,27 +554,79 @@ public abstract class AbstractObjectArrayWrap<
    * @return
    */
   public SELF splice(int start, int deleteCount, ELEMENT... items) {
-    return set(Splice.splice(value, start, deleteCount, items).result());
+    var view = rangeView();
+    if (view==null)
+      return myself;
+
+    return setView(view.splice(start, deleteCount, copy(items)).result());
   }
 
   public SELF spliceTo(Collection<ELEMENT> removed, int start) {
-    return set(Splice.spliceTo(value, start, removed));
+    return spliceTo(removed, start, Integer.MAX_VALUE);
   }
 
   public SELF spliceTo(Collection<ELEMENT> removed, int start, int deleteCount, ELEMENT... items) {
-    return set(Splice.spliceTo(value, start, deleteCount, removed, items));
+    var view = rangeView();
+    if (view==null)
+      return myself;
+
+    var spliced = view.splice(start, deleteCount, copy(items));
+    if (removed!=null)
+      removed.addAll(spliced.removed());
+
+    return setView(spliced.result());
+  }
+
+  /**
+   * <p>Applies all the splices of the given plan in a single pass over the array.</p>
+   *
+   * @see SplicePlan
+   */
+  public SELF splice(SplicePlan<ELEMENT> plan) {
+    return spliceTo(null, plan);
+  }
+
+  /**
+   * <p>Applies all the splices of the given plan in a single pass over the array, and puts the removed elements into
+   * the given {@code removed} collection.</p>
+   *
+   * @see SplicePlan
+   */
+  public SELF spliceTo(Collection<ELEMENT> removed, SplicePlan<ELEMENT> plan) {
+    var array = array();
+    if (array==null || plan==null || plan.isEmpty())
+      return myself;
+
+    var applied = plan.apply(array);
+    if (removed!=null)
+      removed.addAll(Arrays.asList(applied.removed()));
+
+    return set(applied.result());
   }
 
   @Nullable
   @Override
   public ELEMENT get(int index) {
-    return Arrays.get(value, index);
+    if (buffer!=null)
+      return buffer.get(index);
+
+    if (view!=null)
+      return Lists.get(view, index);
+
+    return Arrays.get(array(), index);
   }
 
   @Nullable
   @Override
   public ELEMENT at(int index) {
-    return Arrays.at(value, index);
+    if (buffer==null && view==null)
+      return Arrays.at(value, index);
+
+    int size = size();
+    if (index<0)
+      index = size + index;
+
+    return index>=0 && index<size ? get(index) : null;
   }
 
   @Nonnull
@@ -185,30 +639,68 @@ public abstract class AbstractObjectArrayWrap<
   @Nullable
   @Override
   public ELEMENT replace(int index, ELEMENT element) {
-    return Arrays.set(value, index, element);
+    this.index = null;
+    if (buffer!=null)
+      return buffer.set(index, element);
+
+    return Arrays.set(array(), index, element);
   }
 
   @Override
   public int indexOf(@Nullable ELEMENT element) {
-    return Arrays.indexOf(value, element);
+    var elements = elements();
+    return elements!=null ? elements.indexOf(element) : -1;
   }
 
 
   @SafeVarargs
   public final SELF concat(ELEMENT[]... items) {
-    return set(Arrays.concat(value, items));
+    if (isEmpty() || Arrays.isEmpty(items))
+      return set(Arrays.concat(array(), items));
+
+    var copies = items.clone();
+    for (int i=0; i<copies.length; i++) {
+      copies[i] = copy(copies[i]);
+    }
+    return setView(rangeView().concat(copies));
   }
 
+  /**
+   * Returns the entries index/element; prefer {@link #cursor()} or {@link #forEachEntry(IntObjConsumer)} to avoid
+   * allocating an entry per element
+   */
+  @Override
   public final Iterable<Map.Entry<Integer, ELEMENT>> entries() {
-    return () -> Iterators.indexed(iterator());
+    return () -> Iterators.indexed(array());
+  }
+
+  /**
+   * <p>Returns a cursor reading the array directly, exposing the index and the value of each element without
+   * allocating per element.</p>
+   *
+   * <pre>
+   *   for (var cursor = $(array).cursor(); cursor.next(); ) {
+   *     use(cursor.index(), cursor.value());
+   *   }
+   * </pre>
+   */
+  @Override
+  public Cursor<ELEMENT> cursor() {
+    return Iterators.cursor(array());
   }
 
   public SELF forEachEntry(IntObjConsumer<ELEMENT> consumer) {
-    if (value==null || consumer==null)
+    var array = array();
+    if (array==null || consumer==null)
       return myself;
 
-    for (int i = 0; i < value.length; i++) {
-      consumer.accept(i, value[i]);
+    if (pool!=null) {
+      ParallelArrays.forEachEntry(array, consumer, pool, parallelThreshold);
+      return myself;
+    }
+
+    for (int i = 0; i < array.length; i++) {
+      consumer.accept(i, array[i]);
     }
     return myself;
   }
@@ -217,95 +709,283 @@ public abstract class AbstractObjectArrayWrap<
   // Representation
   // -------------------------------------------------------------------------------------------------------------------
 
+  /**
+   * Returns the representation of the array, cut after {@link ArrayFormat#DEFAULT_MAX_CHARS} characters
+   */
   @Override
   public String toString() {
-    return Arrays.toString(value, false);
+    return format(ArrayFormat.DEFAULT);
   }
 
+  /**
+   * Returns the representation of the array and of its nested arrays, cut after
+   * {@link ArrayFormat#DEFAULT_MAX_CHARS} characters
+   */
   public String deepToString() {
-    return Arrays.toString(value, true);
+    return format(DEEP_FORMAT);
+  }
+
+  /**
+   * Returns the representation of the array in the given format, or {@link ArrayFormat#DEFAULT} if {@code null}
+   */
+  public String toString(@Nullable ArrayFormat format) {
+    return format(format!=null ? format : ArrayFormat.DEFAULT);
+  }
+
+  /**
+   * Renders the buffer or the view in place: only the elements that fit in the format are read
+   */
+  private String format(ArrayFormat format) {
+    var pending = pending();
+    return pending!=null ? format.format(pending) : format.format(value);
+  }
+
+  /**
+   * <p>Writes the representation of the array to the given appendable, in the given format, without building it in
+   * memory.</p>
+   *
+   * <pre>
+   *   $(array).appendTo(writer, ArrayFormat.FULL.maxElements(100));
+   * </pre>
+   */
+  public SELF appendTo(Appendable out, @Nullable ArrayFormat format) throws IOException {
+    if (out==null)
+      return myself;
+
+    var actual = format!=null ? format : ArrayFormat.DEFAULT;
+    var pending = pending();
+    if (pending!=null)
+      actual.appendTo(out, pending);
+    else
+      actual.appendTo(out, value);
+    return myself;
   }
 
   // -------------------------------------------------------------------------------------------------------------------
 
   public SELF swap(int index, int otherIndex) {
-    ArrayUtils.swap(value, index, otherIndex);
+    ArrayUtils.swap(array(), index, otherIndex);
     return self();
   }
 
   @Override
   public int size() {
+    if (buffer!=null)
+      return buffer.size();
+
+    if (view!=null)
+      return view.size();
+
     return value!=null ? value.length : 0;
   }
 
   public boolean contains(ELEMENT element) {
-    if (value==null)
+    var elements = elements();
+    if (elements==null)
       return false;
 
-    return Arrays.contains(value, element);
+    if (indexed)
+      return index().contains(element);
+
+    return elements.contains(element);
   }
 
   @Override
   public boolean contains(ELEMENT element, int index) {
-    if (value==null || index >= value.length)
+    var elements = elements();
+    if (elements==null || index >= elements.size())
       return false;
 
-    return Objects.equals(value[index], element);
+    return Objects.equals(elements.get(index), element);
   }
 
   @Override
   public boolean doesNotContain(ELEMENT element, int index) {
-    if (value==null || index >= value.length)
+    var elements = elements();
+    if (elements==null || index >= elements.size())
       return true;
 
-    return !Objects.equals(value[index], element);
+    return !Objects.equals(elements.get(index), element);
   }
 
   @Override
   public boolean contains(@Nullable Iterable<ELEMENT> iterable) {
-    if (value==null || iterable==null)
+    var elements = elements();
+    if (elements==null || iterable==null)
       return false;
 
-    for (ELEMENT element : iterable) {
-      if (!ArrayUtils.contains(value, element))
-        return false;
-    }
-
-    return true;
+    return Collections.containsAll(indexed ? index() : elements, iterable);
   }
 
   public SELF reverse() {
-    ArrayUtils.reverse(value);
+    ArrayUtils.reverse(array());
     return myself;
   }
 
   public SELF sort() {
-    if (value!=null && size() > 1) {
-      Arrays.sort(value);
-    }
-    return myself;
+    return sort(null);
   }
 
   public SELF sort(Comparator<? super ELEMENT> comparator) {
-    if (value!=null && size() > 1) {
-      Arrays.sort(value, comparator);
+    var array = array();
+    if (array!=null && array.length > 1) {
+      if (pool!=null)
+        ParallelArrays.sort(array, comparator, pool, parallelThreshold);
+      else
+        Arrays.sort(array, comparator);
     }
     return myself;
   }
 
+  /**
+   * <p>Rearranges the array so that the element at index {@code k} is the one that would be there if the array was
+   * sorted, in {@code O(n)} on average, without sorting the whole array.</p>
+   *
+   * @param comparator the comparator, or {@code null} for the natural order
+   * @see Arrays#nthElement(Object[], int, Comparator)
+   */
+  public SELF nthElement(int k, Comparator<? super ELEMENT> comparator) {
+    Arrays.nthElement(array(), k, comparator);
+    return myself;
+  }
+
+  /**
+   * <p>Sorts only the {@code k} smallest elements, at the beginning of the array, in {@code O(n + k log k)}.</p>
+   *
+   * @param comparator the comparator, or {@code null} for the natural order
+   * @see Arrays#partialSort(Object[], int, Comparator)
+   */
+  public SELF partialSort(int k, Comparator<? super ELEMENT> comparator) {
+    Arrays.partialSort(array(), k, comparator);
+    return myself;
+  }
+
+  /**
+   * <p>Returns a new wrap of the {@code k} smallest elements, sorted, in {@code O(n log k)}; this array is not
+   * modified.</p>
+   *
+   * <pre>
+   *   $(scores).topK(100, Comparator.reverseOrder()); // the 100 highest scores
+   * </pre>
+   *
+   * @param comparator the comparator, or {@code null} for the natural order
+   * @see Arrays#topK(Object[], int, Comparator)
+   */
+  public ObjectArrayWrap<ELEMENT> topK(int k, Comparator<? super ELEMENT> comparator) {
+    return Wrap(Arrays.topK(array(), k, comparator));
+  }
+
+  /**
+   * <p>Sorts the array and returns a {@link SortedArrayWrap} of it, keeping the comparator for binary searches,
+   * sorted insertions and linear merges.</p>
+   *
+   * <pre>
+   *   var ids = $(array).sorted(null);
+   *   ids.contains(id);      // O(log n)
+   *   ids.insertAll(batch);  // sorted batch, then merged
+   * </pre>
+   *
+   * @param comparator the comparator, or {@code null} for the natural order
+   */
+  public SortedArrayWrap<ELEMENT> sorted(Comparator<? super ELEMENT> comparator) {
+    sort(comparator);
+    return new SortedArrayWrap<>(array(), comparator);
+  }
+
+  /**
+   * <p>Returns a {@link SortedArrayWrap} of the array, without sorting it: the array must already be sorted with the
+   * given comparator.</p>
+   *
+   * @param comparator the comparator, or {@code null} for the natural order
+   */
+  public SortedArrayWrap<ELEMENT> asSorted(Comparator<? super ELEMENT> comparator) {
+    return new SortedArrayWrap<>(array(), comparator);
+  }
+
   public SELF shuffle() {
-    Arrays.shuffle(value);
+    return shuffle(null);
+  }
+
+  /**
+   * <p>Shuffles the array with the given generator. In parallel mode large arrays are shuffled in fork/join tasks,
+   * with generators split from the given one.</p>
+   *
+   * @param generator the generator, or {@code null} for {@link Sampling#defaultGenerator()}
+   */
+  public SELF shuffle(RandomGenerator generator) {
+    var array = array();
+    if (pool!=null && array!=null && array.length >= parallelThreshold)
+      ParallelArrays.shuffle(array, splittable(generator), pool, parallelThreshold);
+    else
+      Sampling.shuffle(array, generator);
     return myself;
   }
 
+  private static SplittableGenerator splittable(RandomGenerator generator) {
+    if (generator instanceof SplittableGenerator splittable)
+      return splittable;
+
+    return new SplittableRandom(generator!=null ? generator.nextLong() : Sampling.defaultGenerator().nextLong());
+  }
+
+  /**
+   * Returns a new wrap of {@code k} distinct elements drawn uniformly
+   * @see #sample(int, RandomGenerator)
+   */
+  public ObjectArrayWrap<ELEMENT> sample(int k) {
+    return sample(k, null);
+  }
+
+  /**
+   * <p>Returns a new wrap of {@code k} distinct elements (or all of them if there are fewer) drawn uniformly, in the
+   * order they were drawn; this array is not modified.</p>
+   *
+   * <pre>
+   *   $(users).sample(100, new SplittableRandom(seed));
+   * </pre>
+   *
+   * @param generator the generator, or {@code null} for {@link Sampling#defaultGenerator()}
+   * @see Sampling#sample(Object[], int, RandomGenerator)
+   */
+  public ObjectArrayWrap<ELEMENT> sample(int k, RandomGenerator generator) {
+    return Wrap(Sampling.sample(array(), k, generator));
+  }
+
+  /**
+   * Returns a new wrap of {@code k} distinct elements drawn with a probability proportional to their weight
+   * @see #weightedSample(int, ToDoubleFunction, RandomGenerator)
+   */
+  public ObjectArrayWrap<ELEMENT> weightedSample(int k, ToDoubleFunction<? super ELEMENT> weight) {
+    return weightedSample(k, weight, null);
+  }
+
+  /**
+   * <p>Returns a new wrap of {@code k} distinct elements drawn without replacement, with a probability proportional
+   * to their weight, in the order they were drawn. Elements with a weight that is not positive are never drawn.</p>
+   *
+   * @param generator the generator, or {@code null} for {@link Sampling#defaultGenerator()}
+   * @see Sampling#weightedSample(Iterator, ToDoubleFunction, int, RandomGenerator)
+   */
+  public ObjectArrayWrap<ELEMENT> weightedSample(int k, ToDoubleFunction<? super ELEMENT> weight,
+                                                 RandomGenerator generator) {
+    var array = array();
+    if (array==null)
+      return Wrap(array);
+
+    var sample = Sampling.weightedSample(java.util.Arrays.asList(array).iterator(), weight, k, generator);
+    return Wrap(sample.toArray(Arrays.newArrayLike(array, sample.size())));
+  }
+
   public SELF clear() {
-    Arrays.fill(value, null);
+    index = null;
+    Arrays.fill(array(), null);
     return myself;
   }
 
   @Override
   public SELF fill(@Nullable ELEMENT element) {
-    Arrays.fill(value, element);
+    index = null;
+    Arrays.fill(array(), element);
     return myself;
   }
 
@@ -314,19 +994,20 @@ public abstract class AbstractObjectArrayWrap<
   @NotNull
   @Override
   public Iterator<ELEMENT> iterator() {
-    return Arrays.asList(value).iterator();
+    return Arrays.asList(array()).iterator();
   }
 
   @Override
   public Spliterator<ELEMENT> spliterator() {
-    if (value==null) {
+    var array = array();
+    if (array==null) {
       return Spliterators.empty();
     }
-    return Spliterators.orderedArray(value);
+    return Spliterators.orderedArray(array);
   }
 
   @Override
   public Stream<ELEMENT> pureStream() {
-    return Arrays.stream(value);
+    return Arrays.stream(array());
   }
 }
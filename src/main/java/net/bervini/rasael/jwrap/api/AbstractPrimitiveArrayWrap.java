@@ -0,0 +1,119 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bervini.rasael.jwrap.api;
+
+import net.bervini.rasael.jwrap.util.Arrays;
+import net.bervini.rasael.jwrap.util.Splice;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNullableByDefault;
+import java.lang.reflect.Array;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Base of the wraps of primitive arrays, holding the operations that don't depend on the type of the elements:
+ * they copy the array with {@link System#arraycopy}, without boxing.</p>
+ *
+ * <p>Like {@link ObjectArrayWrap}, adding elements to a {@code null} array leaves it {@code null}. Unlike it, removing
+ * an element from an empty or {@code null} array throws a {@link NoSuchElementException}, as there is no
+ * {@code null} primitive to return.</p>
+ *
+ * @param <ACTUAL> the type of the primitive array
+ */
+@ParametersAreNullableByDefault
+public abstract class AbstractPrimitiveArrayWrap<
+    ACTUAL,
+    ELEMENT,
+    SELF extends AbstractPrimitiveArrayWrap<ACTUAL, ELEMENT, SELF>
+    >
+    extends AbstractArrayWrap<ACTUAL, ELEMENT, SELF> {
+
+  protected AbstractPrimitiveArrayWrap(@Nullable ACTUAL value) {
+    super(value);
+  }
+
+  @Override
+  public int size() {
+    return value!=null ? Array.getLength(value) : 0;
+  }
+
+  /**
+   * @see AbstractObjectArrayWrap#splice(int)
+   */
+  public SELF splice(int start) {
+    if (value==null)
+      return myself;
+
+    return set(Arrays.subarrayPrimitive(value, 0, Splice.toSpliceStart(start, size())));
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Adds the given elements at the end of the array
+   */
+  SELF append(ACTUAL elements) {
+    if (value==null || elements==null || Array.getLength(elements)==0)
+      return myself;
+
+    return set(Arrays.appendPrimitive(value, elements));
+  }
+
+  /**
+   * Adds the given elements at the beginning of the array
+   */
+  SELF prepend(ACTUAL elements) {
+    if (value==null || elements==null || Array.getLength(elements)==0)
+      return myself;
+
+    return set(Arrays.appendPrimitive(elements, value));
+  }
+
+  /**
+   * @throws NoSuchElementException if the array is null or empty
+   */
+  void checkNotEmpty() {
+    if (size()==0)
+      throw new NoSuchElementException();
+  }
+
+  /**
+   * Removes the first element of the array, which must not be empty
+   */
+  void removeFirst() {
+    set(Arrays.subarrayPrimitive(value, 1, size()));
+  }
+
+  /**
+   * Removes the last element of the array, which must not be empty
+   */
+  void removeLast() {
+    set(Arrays.subarrayPrimitive(value, 0, size() - 1));
+  }
+
+  /**
+   * Checks that the index can be read or written
+   * @throws ArrayIndexOutOfBoundsException if the index is outside of the array bounds
+   */
+  int checkIndex(int index) {
+    if (index<0 || index>=size())
+      throw new ArrayIndexOutOfBoundsException(index);
+
+    return index;
+  }
+}
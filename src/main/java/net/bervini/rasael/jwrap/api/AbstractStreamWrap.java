@@ -17,19 +17,30 @@
 package net.bervini.rasael.jwrap.api;
 
 import net.bervini.rasael.jwrap.annotation.Beta;
+import net.bervini.rasael.jwrap.util.ForkJoinPools;
 import net.bervini.rasael.jwrap.util.Iterators;
 import net.bervini.rasael.jwrap.util.Predicates;
+import net.bervini.rasael.jwrap.util.Sampling;
 import net.bervini.rasael.jwrap.util.Streams;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNullableByDefault;
+import java.time.Duration;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static net.bervini.rasael.jwrap.api.JWrap.Wrap;
@@ -38,6 +49,11 @@ import static net.bervini.rasael.jwrap.api.JWrap.Wrap;
 public abstract class AbstractStreamWrap<ELEMENT, SELF extends AbstractStreamWrap<ELEMENT, SELF>>
     extends AbstractWrap<Stream<ELEMENT>, SELF> implements IterableWrap<ELEMENT>, StreamableWrap<ELEMENT>/*, /*Stream<ELEMENT>*/ {
 
+  /**
+   * When not null, the terminal operations of this wrap run in this pool
+   */
+  private ForkJoinPool pool;
+
   protected AbstractStreamWrap(@Nullable Stream<ELEMENT> value) {
     super(value!=null ? value : Stream.empty());
   }
@@ -73,15 +89,15 @@ public abstract class AbstractStreamWrap<ELEMENT, SELF extends AbstractStreamWra
   }
 
   public <R> StreamWrap<R> filterByType(Class<R> type) {
-    return Wrap(Streams.filterByType(value, type));
+    return derive(Streams.filterByType(value, type));
   }
 
   public <R> StreamWrap<R> map(Function<? super ELEMENT, ? extends R> mapper) {
-    return Wrap(Streams.map(value, mapper));
+    return derive(Streams.map(value, mapper));
   }
 
   public long count() {
-    return pureStream().count();
+    return terminal(Stream::count);
   }
   
   /**
@@ -106,6 +122,42 @@ public abstract class AbstractStreamWrap<ELEMENT, SELF extends AbstractStreamWra
                }));
   }
 
+  // -------------------------------------------------------------------------------------------------------------------
+  // sample
+  // -------------------------------------------------------------------------------------------------------------------
+
+  public ListWrap<ELEMENT> sample(int k) {
+    return sample(k, null);
+  }
+
+  /**
+   * <p>Consumes the stream and returns {@code k} distinct elements (or all of them if there are fewer) drawn
+   * uniformly, in random order. Only {@code k} elements are kept at any time, so that the stream can be of any
+   * size.</p>
+   *
+   * @param generator the generator, or {@code null} for {@link Sampling#defaultGenerator()}
+   * @see Sampling#reservoir(Iterator, int, RandomGenerator)
+   */
+  public ListWrap<ELEMENT> sample(int k, RandomGenerator generator) {
+    return Wrap(Sampling.reservoir(iterator(), k, generator));
+  }
+
+  public ListWrap<ELEMENT> weightedSample(int k, ToDoubleFunction<? super ELEMENT> weight) {
+    return weightedSample(k, weight, null);
+  }
+
+  /**
+   * <p>Consumes the stream and returns {@code k} distinct elements drawn without replacement, with a probability
+   * proportional to their weight, in the order they were drawn. Only {@code k} elements are kept at any time.</p>
+   *
+   * @param generator the generator, or {@code null} for {@link Sampling#defaultGenerator()}
+   * @see Sampling#weightedSample(Iterator, ToDoubleFunction, int, RandomGenerator)
+   */
+  public ListWrap<ELEMENT> weightedSample(int k, ToDoubleFunction<? super ELEMENT> weight,
+                                          RandomGenerator generator) {
+    return Wrap(Sampling.weightedSample(iterator(), weight, k, generator));
+  }
+
   // -------------------------------------------------------------------------------------------------------------------
   // sort
   // -------------------------------------------------------------------------------------------------------------------
@@ -137,4 +189,208 @@ public abstract class AbstractStreamWrap<ELEMENT, SELF extends AbstractStreamWra
   public SELF limit(int limit) {
     return set(Streams.limit(value, limit));
   }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Grouping
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>Groups the elements in consecutive chunks of {@code size}; the last chunk may be smaller. The chunks are read
+   * lazily, so that a stream of any length can be processed in batches:</p>
+   * <pre>
+   *   $(rows).chunked(500).forEach(repository::insertAll);
+   * </pre>
+   *
+   * @see Streams#chunked(Stream, int)
+   */
+  public StreamWrap<List<ELEMENT>> chunked(int size) {
+    return derive(Streams.chunked(value, size));
+  }
+
+  /**
+   * <p>Groups the elements in windows of {@code size}, starting every {@code step} elements; the windows shorter
+   * than {@code size} at the end are dropped.</p>
+   *
+   * @see Streams#windowed(Stream, int, int)
+   */
+  public StreamWrap<List<ELEMENT>> windowed(int size, int step) {
+    return derive(Streams.windowed(value, size, step));
+  }
+
+  /**
+   * <p>Groups the elements in runs of consecutive elements for which the predicate gives the same result.</p>
+   *
+   * @see Streams#partitionBy(Stream, Predicate)
+   */
+  public StreamWrap<List<ELEMENT>> partitionBy(Predicate<? super ELEMENT> predicate) {
+    return derive(Streams.partitionBy(value, predicate));
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Concurrent mapping
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>Maps the elements with blocking operations, running each mapping on a virtual thread and at most
+   * {@code maxConcurrency} of them at the same time. The results keep the encounter order.</p>
+   *
+   * <pre>
+   *   $(paths.stream()).mapConcurrent(Files::readString, 64)
+   *                    .toList();
+   * </pre>
+   *
+   * @see Streams#mapConcurrent(Stream, Function, int, Duration)
+   */
+  @Beta
+  public <R> StreamWrap<R> mapConcurrent(Function<? super ELEMENT, ? extends R> mapper, int maxConcurrency) {
+    return derive(Streams.mapConcurrent(value, mapper, maxConcurrency));
+  }
+
+  /**
+   * @param timeout the maximum time of each mapping, or {@code null} for no limit
+   * @see Streams#mapConcurrent(Stream, Function, int, Duration)
+   */
+  @Beta
+  public <R> StreamWrap<R> mapConcurrent(Function<? super ELEMENT, ? extends R> mapper, int maxConcurrency,
+                                         Duration timeout) {
+    return derive(Streams.mapConcurrent(value, mapper, maxConcurrency, timeout));
+  }
+
+  /**
+   * @see Streams#forEachConcurrent(Stream, Consumer, int, Duration)
+   */
+  @Beta
+  public void forEachConcurrent(Consumer<? super ELEMENT> action, int maxConcurrency) {
+    Streams.forEachConcurrent(value, action, maxConcurrency);
+  }
+
+  /**
+   * @param timeout the maximum time of each action, or {@code null} for no limit
+   * @see Streams#forEachConcurrent(Stream, Consumer, int, Duration)
+   */
+  @Beta
+  public void forEachConcurrent(Consumer<? super ELEMENT> action, int maxConcurrency, Duration timeout) {
+    Streams.forEachConcurrent(value, action, maxConcurrency, timeout);
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Parallel execution
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>Makes the stream parallel, running in the {@link ForkJoinPool#commonPool() common pool}.</p>
+   *
+   * @see #parallelIn(ForkJoinPool)
+   */
+  public SELF parallel() {
+    pool = null;
+    return set(value!=null ? value.parallel() : null);
+  }
+
+  /**
+   * <p>Makes the stream parallel, running in the given pool instead of the common pool.</p>
+   *
+   * <p>The terminal operations of this wrap ({@link #toList()}, {@link #count()}, {@link #forEach(Consumer)},
+   * {@link #collect(Collector)}, ...) then run the whole pipeline as a task of the pool, so that all its fork/join
+   * work stays there. The pool is a default of the wrap: the wraps returned by {@link #map(Function)} and the other
+   * operations creating a new wrap run in it too. Streams obtained with {@link #get()} or {@link #pureStream()} don't
+   * know about the pool.</p>
+   *
+   * <pre>
+   *   $(orders.stream()).parallelIn(batchPool)
+   *                     .map(this::price)
+   *                     .toList();
+   * </pre>
+   *
+   * @param pool the pool, or {@code null} for the common pool
+   */
+  @Beta
+  public SELF parallelIn(ForkJoinPool pool) {
+    parallel();
+    this.pool = pool;
+    return myself;
+  }
+
+  /**
+   * <p>Makes the stream parallel, running at most {@code maxParallelism} tasks at the same time, in a shared pool
+   * separate from the common pool.</p>
+   *
+   * @throws IllegalArgumentException if {@code maxParallelism} is not positive
+   * @see ForkJoinPools#withParallelism(int)
+   */
+  @Beta
+  public SELF parallel(int maxParallelism) {
+    return parallelIn(ForkJoinPools.withParallelism(maxParallelism));
+  }
+
+  public SELF sequential() {
+    pool = null;
+    return set(value!=null ? value.sequential() : null);
+  }
+
+  public boolean isParallel() {
+    return value!=null && value.isParallel();
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Terminal operations
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Override
+  public List<ELEMENT> toList() {
+    return terminal(Stream::toList);
+  }
+
+  @Override
+  public ListWrap<ELEMENT> toListWrap() {
+    List<ELEMENT> list = terminal(stream -> stream.collect(Collectors.toList()));
+    return Wrap(list);
+  }
+
+  @Override
+  public Set<ELEMENT> toSet() {
+    return terminal(stream -> stream.collect(Collectors.toSet()));
+  }
+
+  @Override
+  public ELEMENT[] pureArray(IntFunction<ELEMENT[]> generator) {
+    return terminal(stream -> stream.toArray(generator));
+  }
+
+  @Override
+  public long count(Predicate<? super ELEMENT> element) {
+    return terminal(stream -> stream.filter(element).count());
+  }
+
+  @Override
+  public void forEach(Consumer<? super ELEMENT> action) {
+    terminal(stream -> {
+      stream.forEach(action);
+      return null;
+    });
+  }
+
+  public <R, A> R collect(Collector<? super ELEMENT, A, R> collector) {
+    return terminal(stream -> stream.collect(collector));
+  }
+
+  /**
+   * Runs the terminal operation on the stream, in the pool of this wrap if it has one
+   */
+  private <R> R terminal(Function<Stream<ELEMENT>, R> operation) {
+    var stream = pureStream();
+    if (pool==null)
+      return operation.apply(stream);
+
+    return ForkJoinPools.invoke(pool, () -> operation.apply(stream));
+  }
+
+  /**
+   * Wraps a stream derived from this one, in the same pool
+   */
+  private <R> StreamWrap<R> derive(Stream<R> stream) {
+    StreamWrap<R> wrap = Wrap(stream);
+    ((AbstractStreamWrap<R, ?>) wrap).pool = pool;
+    return wrap;
+  }
 }
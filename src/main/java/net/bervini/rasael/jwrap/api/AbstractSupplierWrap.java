@@ -44,6 +44,18 @@ public abstract class AbstractSupplierWrap<T, SELF extends AbstractSupplierWrap<
     return Wrap(Streams.generate(value, size));
   }
 
+  /**
+   * <p>Returns a parallel stream of {@code size} values of the supplier. The count is split evenly among the workers
+   * of the common fork/join pool, so that large datasets are generated on all the cores.</p>
+   *
+   * <p>The supplier is called from several threads at once, and must be thread-safe: it should keep no state, or
+   * keep it in thread-safe structures such as atomics or {@link java.util.concurrent.ThreadLocalRandom}. The stream
+   * is ordered by position, but which call of the supplier produces the element at a position is not defined.</p>
+   */
+  public StreamWrap<T> parallelStream(int size) {
+    return Wrap(Streams.generate(value, size).parallel());
+  }
+
   public Iterator<T> iterator(int size) {
     return stream(size).iterator();
   }
@@ -57,7 +57,7 @@ public abstract class AbstractWrap<T, SELF extends AbstractWrap<T, SELF>> implem
    */
   @Override
   public String toString() {
-    return String.valueOf(value);
+    return String.valueOf(get());
   }
 
   @Beta
@@ -66,13 +66,21 @@ public abstract class AbstractWrap<T, SELF extends AbstractWrap<T, SELF>> implem
     if (this==o) return true;
     if (o==null || getClass()!=o.getClass()) return false;
     AbstractWrap<?, ?> wrapBase = (AbstractWrap<?, ?>) o;
-    return Objects.equals(value, wrapBase.value);
+    return Objects.equals(content(), wrapBase.content());
   }
 
   @Beta
   @Override
   public final int hashCode() {
-    return Objects.hashCode(value);
+    return Objects.hashCode(content());
+  }
+
+  /**
+   * Returns what {@link #equals(Object)} and {@link #hashCode()} compare, without side effects: the wrapped value,
+   * unless the wrap holds its content elsewhere
+   */
+  Object content() {
+    return value;
   }
 
 
@@ -118,12 +126,12 @@ public abstract class AbstractWrap<T, SELF extends AbstractWrap<T, SELF>> implem
 
   @Tested
   public final T orElse(T orElse) {
-    return value!=null ? value : orElse;
+    return value!=null ? get() : orElse;
   }
 
   @Tested
   public final T orElseGet(@Nonnull Supplier<? extends T> supplier) {
-    return value!=null ? value : supplier.get();
+    return value!=null ? get() : supplier.get();
   }
 
   public final SELF orElseFill(@Nonnull Supplier<? extends T> supplier) {
@@ -138,14 +146,14 @@ public abstract class AbstractWrap<T, SELF extends AbstractWrap<T, SELF>> implem
     if (value==null) {
       throw new NullPointerException();
     }
-    return value;
+    return get();
   }
 
   public final <X extends Throwable> T orElseThrow(@Nonnull Supplier<? extends X> exceptionSupplier) throws X {
     if (value==null) {
       throw exceptionSupplier.get();
     }
-    return value;
+    return get();
   }
 
   @Tested
@@ -159,7 +167,7 @@ public abstract class AbstractWrap<T, SELF extends AbstractWrap<T, SELF>> implem
   @Tested
   public SELF ifNotNull(@Nonnull Consumer<? super T> action) {
     if (value!=null) {
-      action.accept(value);
+      action.accept(get());
     }
     return myself;
   }
@@ -180,34 +188,34 @@ public abstract class AbstractWrap<T, SELF extends AbstractWrap<T, SELF>> implem
 
   @Tested
   public boolean isSameAs(T other) {
-    return value==other;
+    return get()==other;
   }
 
   @Tested
   public boolean isEqualTo(T other) {
-    return Objects.equals(value, other);
+    return Objects.equals(get(), other);
   }
 
   @Tested
   public boolean isNotEqualTo(T other) {
-    return !Objects.equals(value, other);
+    return !Objects.equals(get(), other);
   }
 
   @Tested
   public boolean hasHashCode(long hashCode) {
-    return Objects.hashCode(value)==hashCode;
+    return Objects.hashCode(get())==hashCode;
   }
 
   @Beta
   @Tested
   public StringWrap json() {
-    return Wrap(gson.toJson(value));
+    return Wrap(gson.toJson(get()));
   }
 
   @Beta
   @Tested
   public StringWrap json(boolean prettyPrint) {
-    return Wrap(prettyPrint ? prettyPrintingJson.toJson(value) : gson.toJson(value));
+    return Wrap(prettyPrint ? prettyPrintingJson.toJson(get()) : gson.toJson(get()));
   }
 
   public SELF fromJson(Class<T> aClass, String json) {
@@ -232,7 +240,7 @@ public abstract class AbstractWrap<T, SELF extends AbstractWrap<T, SELF>> implem
   // -------------------------------------------------------------------------------------------------------------------
 
   public StringWrap asString() {
-    return Wrap(String.valueOf(value));
+    return Wrap(String.valueOf(get()));
   }
 
 //  public Stream<E> asStream() {
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bervini.rasael.jwrap.api;
+
+import net.bervini.rasael.jwrap.annotation.Beta;
+import net.bervini.rasael.jwrap.util.IntObjConsumer;
+import net.bervini.rasael.jwrap.util.ParallelArrays;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNullableByDefault;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static net.bervini.rasael.jwrap.api.JWrap.Wrap;
+
+/**
+ * <p>Live wrap of an {@link AtomicReferenceArray}, returned by {@link JWrap#$live(AtomicReferenceArray)}; the
+ * {@code $(AtomicReferenceArray)} wrap is an {@link ObjectArrayWrap} of a copy of the array.</p>
+ *
+ * <p>Unlike {@link ObjectArrayWrap}, this wrap never copies the array: every read and write goes to the wrapped
+ * array, with volatile semantics, so it can be shared between threads. Iteration and streams are weakly
+ * consistent, like the ones of the concurrent collections: they see each element as it is when it is reached.
+ * {@link #snapshot()} copies the array the same way, element by element.</p>
+ *
+ * <p>The length of the array is fixed: there are no operations adding or removing elements.</p>
+ */
+@ParametersAreNullableByDefault
+public class AtomicReferenceArrayWrap<ELEMENT>
+    extends AbstractArrayWrap<AtomicReferenceArray<ELEMENT>, ELEMENT, AtomicReferenceArrayWrap<ELEMENT>>
+    implements IndexedObjectEnumerableWrap<ELEMENT, AtomicReferenceArrayWrap<ELEMENT>> {
+
+  /**
+   * When not null, {@link #forEachEntry(IntObjConsumer)} runs in this pool
+   */
+  @Nullable
+  private ForkJoinPool pool;
+  private int parallelThreshold = ParallelArrays.DEFAULT_THRESHOLD;
+
+  AtomicReferenceArrayWrap(@Nullable AtomicReferenceArray<ELEMENT> value) {
+    super(value);
+  }
+
+  @Override
+  protected AtomicReferenceArrayWrap<ELEMENT> self() {
+    return this;
+  }
+
+  @Override
+  Replicator<AtomicReferenceArray<ELEMENT>, AtomicReferenceArrayWrap<ELEMENT>> replicator() {
+    return AtomicReferenceArrayWrap::new;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Parallel mode
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @see #parallel(ForkJoinPool, int)
+   */
+  @Beta
+  public AtomicReferenceArrayWrap<ELEMENT> parallel() {
+    return parallel(ForkJoinPool.commonPool(), ParallelArrays.DEFAULT_THRESHOLD);
+  }
+
+  /**
+   * <p>Switches this wrap to parallel mode: {@link #forEachEntry(IntObjConsumer)} splits arrays with at least
+   * {@code threshold} elements into fork/join tasks, run in the given pool.</p>
+   *
+   * @see AbstractObjectArrayWrap#parallel(ForkJoinPool, int)
+   */
+  @Beta
+  public AtomicReferenceArrayWrap<ELEMENT> parallel(ForkJoinPool pool, int threshold) {
+    this.pool = pool!=null ? pool : ForkJoinPool.commonPool();
+    this.parallelThreshold = threshold;
+    return myself;
+  }
+
+  @Beta
+  public AtomicReferenceArrayWrap<ELEMENT> sequential() {
+    pool = null;
+    return myself;
+  }
+
+  public boolean isParallel() {
+    return pool!=null;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Atomic operations
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Returns the current value of the element at the given index, or null for any index outside of the array bounds
+   */
+  @Nullable
+  @Override
+  public ELEMENT get(int index) {
+    if (value==null || index<0 || index>=value.length())
+      return null;
+
+    return value.get(index);
+  }
+
+  @Nullable
+  @Override
+  public ELEMENT at(int index) {
+    if (value!=null && index<0)
+      index = value.length() + index;
+
+    return get(index);
+  }
+
+  /**
+   * Sets the element at the given index, with volatile semantics
+   * @throws IndexOutOfBoundsException if the index is outside of the array bounds
+   */
+  public AtomicReferenceArrayWrap<ELEMENT> set(int index, ELEMENT element) {
+    if (value!=null)
+      value.set(index, element);
+
+    return myself;
+  }
+
+  /**
+   * @see AtomicReferenceArray#getAndSet(int, Object)
+   */
+  public ELEMENT getAndSet(int index, ELEMENT element) {
+    return value!=null ? value.getAndSet(index, element) : null;
+  }
+
+  /**
+   * @see AtomicReferenceArray#compareAndSet(int, Object, Object)
+   */
+  public boolean compareAndSet(int index, ELEMENT expectedValue, ELEMENT newValue) {
+    return value!=null && value.compareAndSet(index, expectedValue, newValue);
+  }
+
+  /**
+   * @see AtomicReferenceArray#getAndUpdate(int, UnaryOperator)
+   */
+  public ELEMENT getAndUpdate(int index, UnaryOperator<ELEMENT> updateFunction) {
+    return value!=null ? value.getAndUpdate(index, updateFunction) : null;
+  }
+
+  /**
+   * @see AtomicReferenceArray#updateAndGet(int, UnaryOperator)
+   */
+  public ELEMENT updateAndGet(int index, UnaryOperator<ELEMENT> updateFunction) {
+    return value!=null ? value.updateAndGet(index, updateFunction) : null;
+  }
+
+  /**
+   * @see AtomicReferenceArray#getAndAccumulate(int, Object, BinaryOperator)
+   */
+  public ELEMENT getAndAccumulate(int index, ELEMENT x, BinaryOperator<ELEMENT> accumulatorFunction) {
+    return value!=null ? value.getAndAccumulate(index, x, accumulatorFunction) : null;
+  }
+
+  /**
+   * @see AtomicReferenceArray#accumulateAndGet(int, Object, BinaryOperator)
+   */
+  public ELEMENT accumulateAndGet(int index, ELEMENT x, BinaryOperator<ELEMENT> accumulatorFunction) {
+    return value!=null ? value.accumulateAndGet(index, x, accumulatorFunction) : null;
+  }
+
+  /**
+   * <p>Invokes the consumer with the index and the current value of each element.</p>
+   *
+   * <p>In {@link #parallel(ForkJoinPool, int) parallel mode} the consumer may be invoked concurrently from several
+   * threads.</p>
+   */
+  public AtomicReferenceArrayWrap<ELEMENT> forEachEntry(IntObjConsumer<ELEMENT> consumer) {
+    if (value==null || consumer==null)
+      return myself;
+
+    if (pool!=null) {
+      ParallelArrays.forEachEntry(value, consumer, pool, parallelThreshold);
+      return myself;
+    }
+
+    for (int i = 0; i < value.length(); i++) {
+      consumer.accept(i, value.get(i));
+    }
+    return myself;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Snapshot
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>Like {@link #snapshot(IntFunction)}, but the copy is an {@code Object[]}: the component type of the elements
+   * of an {@link AtomicReferenceArray} is not known at runtime, so {@code get()} must not be assigned to a more
+   * specific array type.</p>
+   */
+  @SuppressWarnings("unchecked")
+  public ObjectArrayWrap<ELEMENT> snapshot() {
+    return snapshot(length -> (ELEMENT[]) new Object[length]);
+  }
+
+  /**
+   * <p>Returns a wrap of a copy of the array, created with {@code generator}.</p>
+   *
+   * <p>The copy is best-effort: each element is read once, with volatile semantics, in index order. While other
+   * threads modify the array, the copy is not an atomic snapshot, and may mix elements written at different
+   * times.</p>
+   */
+  public ObjectArrayWrap<ELEMENT> snapshot(IntFunction<ELEMENT[]> generator) {
+    if (value==null || generator==null)
+      return Wrap((ELEMENT[]) null);
+
+    return Wrap(read(value, generator.apply(value.length())));
+  }
+
+  private static <E> E[] read(AtomicReferenceArray<E> array, E[] into) {
+    for (int i = 0; i < into.length; i++) {
+      into[i] = array.get(i);
+    }
+    return into;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Override
+  public int indexOf(ELEMENT element) {
+    if (value==null)
+      return -1;
+
+    for (int i = 0; i < value.length(); i++) {
+      if (Objects.equals(value.get(i), element))
+        return i;
+    }
+    return -1;
+  }
+
+  public boolean contains(ELEMENT element) {
+    return indexOf(element)>=0;
+  }
+
+  @Override
+  public boolean contains(ELEMENT element, int index) {
+    if (value==null || index<0 || index>=value.length())
+      return false;
+
+    return Objects.equals(value.get(index), element);
+  }
+
+  @Override
+  public boolean doesNotContain(ELEMENT element, int index) {
+    return !contains(element, index);
+  }
+
+  @Override
+  public boolean contains(@Nullable Iterable<ELEMENT> iterable) {
+    if (value==null || iterable==null)
+      return false;
+
+    for (ELEMENT element : iterable) {
+      if (!contains(element))
+        return false;
+    }
+    return true;
+  }
+
+  @Override
+  public int size() {
+    return value!=null ? value.length() : 0;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @NotNull
+  @Override
+  public Iterator<ELEMENT> iterator() {
+    return java.util.Spliterators.iterator(spliterator());
+  }
+
+  @Override
+  public Spliterator<ELEMENT> spliterator() {
+    return pureStream().spliterator();
+  }
+
+  @Override
+  public Stream<ELEMENT> pureStream() {
+    var array = value;
+    if (array==null)
+      return Stream.empty();
+
+    return IntStream.range(0, array.length()).mapToObj(array::get);
+  }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bervini.rasael.jwrap.api;
+
+import net.bervini.rasael.jwrap.util.Arrays;
+import net.bervini.rasael.jwrap.util.IntDoubleConsumer;
+import net.bervini.rasael.jwrap.util.Splice;
+import org.apache.commons.lang3.ArrayUtils;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNullableByDefault;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.DoublePredicate;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>Wrap of a {@code double[]} array.</p>
+ *
+ * <p>Operations work directly on the primitive values, without boxing them into {@link Double} instances.
+ * Only the {@link Iterable} and {@link #pureStream()} views, required by the {@link EnumerableWrap} contract,
+ * produce boxed values; prefer {@link #doubleStream()} or {@link #forEachEntry(IntDoubleConsumer)} to iterate.</p>
+ *
+ * @see AbstractPrimitiveArrayWrap
+ */
+@ParametersAreNullableByDefault
+public class DoubleArrayWrap extends AbstractPrimitiveArrayWrap<double[], Double, DoubleArrayWrap> {
+
+  DoubleArrayWrap(@Nullable double[] value) {
+    super(value);
+  }
+
+  @Override
+  protected DoubleArrayWrap self() {
+    return this;
+  }
+
+  @Override
+  Replicator<double[], DoubleArrayWrap> replicator() {
+    return DoubleArrayWrap::new;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Basic operations
+  // -------------------------------------------------------------------------------------------------------------------
+
+  public DoubleArrayWrap filter(DoublePredicate predicate) {
+    return set(Arrays.filter(value, predicate));
+  }
+
+  public DoubleArrayWrap removeIf(DoublePredicate predicate) {
+    return set(Arrays.removeIf(value, predicate));
+  }
+
+  /**
+   * Adds the given elements at the end of this array; a {@code null} array stays {@code null}
+   */
+  public DoubleArrayWrap push(double... elements) {
+    return append(elements);
+  }
+
+  /**
+   * Removes and returns the last element of this array
+   * @throws NoSuchElementException if the array is null or empty, where {@link ObjectArrayWrap#pop()} returns null
+   */
+  public double pop() {
+    checkNotEmpty();
+    double last = value[value.length - 1];
+    removeLast();
+    return last;
+  }
+
+  /**
+   * Removes and returns the first element of this array
+   * @throws NoSuchElementException if the array is null or empty, where {@link ObjectArrayWrap#shift()} returns null
+   */
+  public double shift() {
+    checkNotEmpty();
+    double first = value[0];
+    removeFirst();
+    return first;
+  }
+
+  /**
+   * Adds the given element at the beginning of this array; a {@code null} array stays {@code null}
+   */
+  public DoubleArrayWrap unshift(double element) {
+    return prepend(new double[]{element});
+  }
+
+  /**
+   * @see AbstractObjectArrayWrap#splice(int, int, Object[])
+   */
+  public DoubleArrayWrap splice(int start, int deleteCount, double... items) {
+    return set(Splice.splice(value, start, deleteCount, items).result());
+  }
+
+  public DoubleArrayWrap concat(double[]... items) {
+    return set(Arrays.concat(value, items));
+  }
+
+  /**
+   * @throws ArrayIndexOutOfBoundsException if the index is outside of the array bounds
+   */
+  public double get(int index) {
+    return value[checkIndex(index)];
+  }
+
+  /**
+   * Returns the element at the given index, negative indexes count back from the last element
+   * @throws ArrayIndexOutOfBoundsException if the index is outside of the array bounds
+   */
+  public double at(int index) {
+    return Arrays.at(value, index);
+  }
+
+  public DoubleArrayWrap set(int index, double element) {
+    value[checkIndex(index)] = element;
+    return myself;
+  }
+
+  public int indexOf(double element) {
+    return ArrayUtils.indexOf(value, element);
+  }
+
+  public boolean contains(double element) {
+    return ArrayUtils.contains(value, element);
+  }
+
+  public boolean contains(double... elements) {
+    if (value==null || elements==null)
+      return false;
+
+    for (double element : elements) {
+      if (!ArrayUtils.contains(value, element))
+        return false;
+    }
+    return true;
+  }
+
+  public DoubleArrayWrap forEachEntry(IntDoubleConsumer consumer) {
+    if (value==null || consumer==null)
+      return myself;
+
+    for (int i = 0; i < value.length; i++) {
+      consumer.accept(i, value[i]);
+    }
+    return myself;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  public DoubleArrayWrap swap(int index, int otherIndex) {
+    ArrayUtils.swap(value, index, otherIndex);
+    return myself;
+  }
+
+  public DoubleArrayWrap reverse() {
+    ArrayUtils.reverse(value);
+    return myself;
+  }
+
+  public DoubleArrayWrap sort() {
+    if (value!=null && value.length > 1) {
+      java.util.Arrays.sort(value);
+    }
+    return myself;
+  }
+
+  public DoubleArrayWrap shuffle() {
+    Arrays.shuffle(value);
+    return myself;
+  }
+
+  public DoubleArrayWrap fill(double element) {
+    if (value!=null) {
+      java.util.Arrays.fill(value, element);
+    }
+    return myself;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  public DoubleStream doubleStream() {
+    return StreamSupport.doubleStream(spliterator(), false);
+  }
+
+  @NotNull
+  @Override
+  public PrimitiveIterator.OfDouble iterator() {
+    return java.util.Spliterators.iterator(spliterator());
+  }
+
+  @Override
+  public Spliterator.OfDouble spliterator() {
+    if (value==null)
+      return java.util.Spliterators.emptyDoubleSpliterator();
+
+    return java.util.Arrays.spliterator(value);
+  }
+
+  @Override
+  public Stream<Double> pureStream() {
+    return doubleStream().boxed();
+  }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bervini.rasael.jwrap.api;
+
+import net.bervini.rasael.jwrap.util.Arrays;
+import net.bervini.rasael.jwrap.util.IntIntConsumer;
+import net.bervini.rasael.jwrap.util.Splice;
+import org.apache.commons.lang3.ArrayUtils;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNullableByDefault;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>Wrap of a {@code int[]} array.</p>
+ *
+ * <p>Operations work directly on the primitive values, without boxing them into {@link Integer} instances.
+ * Only the {@link Iterable} and {@link #pureStream()} views, required by the {@link EnumerableWrap} contract,
+ * produce boxed values; prefer {@link #intStream()} or {@link #forEachEntry(IntIntConsumer)} to iterate.</p>
+ *
+ * @see AbstractPrimitiveArrayWrap
+ */
+@ParametersAreNullableByDefault
+public class IntArrayWrap extends AbstractPrimitiveArrayWrap<int[], Integer, IntArrayWrap> {
+
+  IntArrayWrap(@Nullable int[] value) {
+    super(value);
+  }
+
+  @Override
+  protected IntArrayWrap self() {
+    return this;
+  }
+
+  @Override
+  Replicator<int[], IntArrayWrap> replicator() {
+    return IntArrayWrap::new;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Basic operations
+  // -------------------------------------------------------------------------------------------------------------------
+
+  public IntArrayWrap filter(IntPredicate predicate) {
+    return set(Arrays.filter(value, predicate));
+  }
+
+  public IntArrayWrap removeIf(IntPredicate predicate) {
+    return set(Arrays.removeIf(value, predicate));
+  }
+
+  /**
+   * Adds the given elements at the end of this array; a {@code null} array stays {@code null}
+   */
+  public IntArrayWrap push(int... elements) {
+    return append(elements);
+  }
+
+  /**
+   * Removes and returns the last element of this array
+   * @throws NoSuchElementException if the array is null or empty, where {@link ObjectArrayWrap#pop()} returns null
+   */
+  public int pop() {
+    checkNotEmpty();
+    int last = value[value.length - 1];
+    removeLast();
+    return last;
+  }
+
+  /**
+   * Removes and returns the first element of this array
+   * @throws NoSuchElementException if the array is null or empty, where {@link ObjectArrayWrap#shift()} returns null
+   */
+  public int shift() {
+    checkNotEmpty();
+    int first = value[0];
+    removeFirst();
+    return first;
+  }
+
+  /**
+   * Adds the given element at the beginning of this array; a {@code null} array stays {@code null}
+   */
+  public IntArrayWrap unshift(int element) {
+    return prepend(new int[]{element});
+  }
+
+  /**
+   * @see AbstractObjectArrayWrap#splice(int, int, Object[])
+   */
+  public IntArrayWrap splice(int start, int deleteCount, int... items) {
+    return set(Splice.splice(value, start, deleteCount, items).result());
+  }
+
+  public IntArrayWrap concat(int[]... items) {
+    return set(Arrays.concat(value, items));
+  }
+
+  /**
+   * @throws ArrayIndexOutOfBoundsException if the index is outside of the array bounds
+   */
+  public int get(int index) {
+    return value[checkIndex(index)];
+  }
+
+  /**
+   * Returns the element at the given index, negative indexes count back from the last element
+   * @throws ArrayIndexOutOfBoundsException if the index is outside of the array bounds
+   */
+  public int at(int index) {
+    return Arrays.at(value, index);
+  }
+
+  public IntArrayWrap set(int index, int element) {
+    value[checkIndex(index)] = element;
+    return myself;
+  }
+
+  public int indexOf(int element) {
+    return ArrayUtils.indexOf(value, element);
+  }
+
+  public boolean contains(int element) {
+    return ArrayUtils.contains(value, element);
+  }
+
+  public boolean contains(int... elements) {
+    if (value==null || elements==null)
+      return false;
+
+    for (int element : elements) {
+      if (!ArrayUtils.contains(value, element))
+        return false;
+    }
+    return true;
+  }
+
+  public IntArrayWrap forEachEntry(IntIntConsumer consumer) {
+    if (value==null || consumer==null)
+      return myself;
+
+    for (int i = 0; i < value.length; i++) {
+      consumer.accept(i, value[i]);
+    }
+    return myself;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  public IntArrayWrap swap(int index, int otherIndex) {
+    ArrayUtils.swap(value, index, otherIndex);
+    return myself;
+  }
+
+  public IntArrayWrap reverse() {
+    ArrayUtils.reverse(value);
+    return myself;
+  }
+
+  public IntArrayWrap sort() {
+    if (value!=null && value.length > 1) {
+      java.util.Arrays.sort(value);
+    }
+    return myself;
+  }
+
+  public IntArrayWrap shuffle() {
+    Arrays.shuffle(value);
+    return myself;
+  }
+
+  public IntArrayWrap fill(int element) {
+    if (value!=null) {
+      java.util.Arrays.fill(value, element);
+    }
+    return myself;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  public IntStream intStream() {
+    return StreamSupport.intStream(spliterator(), false);
+  }
+
+  @NotNull
+  @Override
+  public PrimitiveIterator.OfInt iterator() {
+    return java.util.Spliterators.iterator(spliterator());
+  }
+
+  @Override
+  public Spliterator.OfInt spliterator() {
+    if (value==null)
+      return java.util.Spliterators.emptyIntSpliterator();
+
+    return java.util.Arrays.spliterator(value);
+  }
+
+  @Override
+  public Stream<Integer> pureStream() {
+    return intStream().boxed();
+  }
+}
@@ -16,9 +16,12 @@
 
 package net.bervini.rasael.jwrap.api;
 
+import net.bervini.rasael.jwrap.util.Cursor;
 import net.bervini.rasael.jwrap.util.Iterables;
+import net.bervini.rasael.jwrap.util.Iterators;
 import net.bervini.rasael.jwrap.util.Streams;
 
+import java.util.Map;
 import java.util.stream.Stream;
 
 public interface IterableWrap<ELEMENT> extends Iterable<ELEMENT>, StreamableWrap<ELEMENT> {
@@ -31,6 +34,21 @@ public interface IterableWrap<ELEMENT> extends Iterable<ELEMENT>, StreamableWrap
     return Iterables.getLast(this);
   }
 
+  /**
+   * Returns a cursor over the elements, exposing the index and the value of each one without allocating per element
+   * @see Cursor
+   */
+  default Cursor<ELEMENT> cursor() {
+    return Iterators.cursor(iterator());
+  }
+
+  /**
+   * Returns the entries index/element; prefer {@link #cursor()} to avoid allocating an entry per element
+   */
+  default Iterable<Map.Entry<Integer, ELEMENT>> entries() {
+    return () -> Iterators.indexed(iterator());
+  }
+
   @Override
   default Stream<ELEMENT> pureStream() {
     return Streams.stream(this);
@@ -67,6 +67,31 @@ public class JWrap {
   public static <T> ObjectArrayWrap<T> $(AtomicReferenceArray<T> ref) {
     return new ObjectArrayWrap<>(ref);
   }
+
+  /**
+   * Returns a live wrap of the array, which reads and writes the shared array instead of a copy
+   * @see AtomicReferenceArrayWrap
+   */
+  @Nonnull
+  public static <T> AtomicReferenceArrayWrap<T> $live(AtomicReferenceArray<T> ref) {
+    return new AtomicReferenceArrayWrap<>(ref);
+  }
+
+  @Nonnull
+  public static IntArrayWrap $(int[] val) {
+    return new IntArrayWrap(val);
+  }
+
+  @Nonnull
+  public static LongArrayWrap $(long[] val) {
+    return new LongArrayWrap(val);
+  }
+
+  @Nonnull
+  public static DoubleArrayWrap $(double[] val) {
+    return new DoubleArrayWrap(val);
+  }
+
   @Nonnull
   public static <T> ListWrap<T> $(List<T> list) {
     return new ListWrap<>(list);
@@ -202,6 +227,29 @@ public class JWrap {
     return new ObjectArrayWrap<>(val);
   }
 
+  /**
+   * @see #$live(AtomicReferenceArray)
+   */
+  @Nonnull
+  public static <T> AtomicReferenceArrayWrap<T> WrapLive(AtomicReferenceArray<T> val) {
+    return new AtomicReferenceArrayWrap<>(val);
+  }
+
+  @Nonnull
+  public static IntArrayWrap Wrap(int[] val) {
+    return new IntArrayWrap(val);
+  }
+
+  @Nonnull
+  public static LongArrayWrap Wrap(long[] val) {
+    return new LongArrayWrap(val);
+  }
+
+  @Nonnull
+  public static DoubleArrayWrap Wrap(double[] val) {
+    return new DoubleArrayWrap(val);
+  }
+
   @Nonnull
   public static <T> ListWrap<T> Wrap(List<T> val) {
     return new ListWrap<>(val);
@@ -16,10 +16,17 @@
 
 package net.bervini.rasael.jwrap.api;
 
+import net.bervini.rasael.jwrap.annotation.Beta;
+import net.bervini.rasael.jwrap.util.CircularList;
+import net.bervini.rasael.jwrap.util.ConcurrentAppendList;
 import net.bervini.rasael.jwrap.util.Lists;
+import net.bervini.rasael.jwrap.util.PersistentList;
+import net.bervini.rasael.jwrap.util.Splice;
+import net.bervini.rasael.jwrap.util.SplicePlan;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNullableByDefault;
+import java.util.ArrayList;
 import java.util.List;
 
 @ParametersAreNullableByDefault
@@ -31,7 +38,7 @@ public class ListWrap<ELEMENT> extends AbstractListWrap<List<ELEMENT>, ELEMENT,
 
   @Override
   ListWrap<ELEMENT> self() {
-    return null;
+    return this;
   }
 
   @Override
@@ -39,6 +46,117 @@ public class ListWrap<ELEMENT> extends AbstractListWrap<List<ELEMENT>, ELEMENT,
     return ListWrap::new;
   }
 
+  // -------------------------------------------------------------------------------------------------------------------
+  // Buffered mode
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>Switches this wrap to buffered mode: the list is replaced by a {@link CircularList} copy of it, on which
+   * {@link #push(Object[])}, {@link #pop()}, {@link #shift()} and {@link #unshift(Object)} run in amortized constant
+   * time, while elements are still read by index in constant time.</p>
+   *
+   * <p>From then on the wrap no longer modifies the original list: {@link #get()} returns the circular list.</p>
+   *
+   * <pre>
+   *   var queue = $(tasks).buffered();
+   *   queue.push(task);
+   *   queue.shift(); // O(1)
+   * </pre>
+   */
+  @Beta
+  public ListWrap<ELEMENT> buffered() {
+    if (value==null || value instanceof CircularList)
+      return myself;
+
+    return set(new CircularList<>(value));
+  }
+
+  /**
+   * Leaves the buffered mode, replacing the circular list by an {@link ArrayList} copy of it
+   * @see #buffered()
+   */
+  @Beta
+  public ListWrap<ELEMENT> unbuffered() {
+    if (!isBuffered())
+      return myself;
+
+    return set(new ArrayList<>(value));
+  }
+
+  public boolean isBuffered() {
+    return value instanceof CircularList;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Persistent mode
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>Switches this wrap to persistent mode: the list is replaced by a {@link PersistentList} copy of it, which can
+   * be cloned in constant time while elements are still read and written by index in {@code O(log n)}.</p>
+   *
+   * <p>{@link #snapshot()} and the operations copying the list, such as {@link Splice#splice(List)}, then share the
+   * elements with the wrapped list instead of copying them:</p>
+   * <pre>
+   *   var history = new ArrayList&lt;List&lt;Line&gt;&gt;();
+   *   var document = $(lines).persistent();
+   *   history.add(document.snapshot()); // O(1)
+   *   document.set(10, edited);
+   * </pre>
+   *
+   * <p>From then on the wrap no longer modifies the original list: {@link #get()} returns the persistent list.</p>
+   */
+  @Beta
+  public ListWrap<ELEMENT> persistent() {
+    if (value==null || value instanceof PersistentList)
+      return myself;
+
+    return set(new PersistentList<>(value));
+  }
+
+  public boolean isPersistent() {
+    return value instanceof PersistentList;
+  }
+
+  /**
+   * <p>Returns a copy of the list that doesn't change with it; in constant time in {@linkplain #persistent()
+   * persistent mode}.</p>
+   *
+   * @see Lists#clone(List)
+   */
+  public List<ELEMENT> snapshot() {
+    return Lists.clone(value);
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Concurrent mode
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>Switches this wrap to concurrent mode: the list is replaced by a {@link ConcurrentAppendList} copy of it, to
+   * which many threads can {@link #push(Object[])} and {@link #pushAll(Iterable)} at the same time without locking,
+   * while other threads read it.</p>
+   *
+   * <p>The list is append-only: {@link #pop()}, {@link #shift()}, {@link #unshift(Object)} and {@link #remove(int)}
+   * throw {@link UnsupportedOperationException}. From then on the wrap no longer modifies the original list.</p>
+   *
+   * <pre>
+   *   var results = $(new ArrayList&lt;Result&gt;()).concurrent();
+   *   tasks.parallelStream().forEach(task -&gt; results.push(task.run()));
+   * </pre>
+   */
+  @Beta
+  public ListWrap<ELEMENT> concurrent() {
+    if (value==null || value instanceof ConcurrentAppendList)
+      return myself;
+
+    return set(new ConcurrentAppendList<>(value));
+  }
+
+  public boolean isConcurrent() {
+    return value instanceof ConcurrentAppendList;
+  }
+
   // -------------------------------------------------------------------------------------------------------------------
 
   @Override
@@ -50,4 +168,16 @@ public class ListWrap<ELEMENT> extends AbstractListWrap<List<ELEMENT>, ELEMENT,
   public ListWrap<ELEMENT> unshift(ELEMENT element) {
     return set(Lists.unshift(value, element));
   }
+
+  /**
+   * <p>Applies all the splices of the given plan in a single pass over the list, replacing it with the result.</p>
+   *
+   * @see SplicePlan
+   */
+  public ListWrap<ELEMENT> splice(SplicePlan<ELEMENT> plan) {
+    if (value==null || plan==null || plan.isEmpty())
+      return myself;
+
+    return set(plan.apply(value).result());
+  }
 }
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bervini.rasael.jwrap.api;
+
+import net.bervini.rasael.jwrap.util.Arrays;
+import net.bervini.rasael.jwrap.util.IntLongConsumer;
+import net.bervini.rasael.jwrap.util.Splice;
+import org.apache.commons.lang3.ArrayUtils;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNullableByDefault;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.LongPredicate;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>Wrap of a {@code long[]} array.</p>
+ *
+ * <p>Operations work directly on the primitive values, without boxing them into {@link Long} instances.
+ * Only the {@link Iterable} and {@link #pureStream()} views, required by the {@link EnumerableWrap} contract,
+ * produce boxed values; prefer {@link #longStream()} or {@link #forEachEntry(IntLongConsumer)} to iterate.</p>
+ *
+ * @see AbstractPrimitiveArrayWrap
+ */
+@ParametersAreNullableByDefault
+public class LongArrayWrap extends AbstractPrimitiveArrayWrap<long[], Long, LongArrayWrap> {
+
+  LongArrayWrap(@Nullable long[] value) {
+    super(value);
+  }
+
+  @Override
+  protected LongArrayWrap self() {
+    return this;
+  }
+
+  @Override
+  Replicator<long[], LongArrayWrap> replicator() {
+    return LongArrayWrap::new;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Basic operations
+  // -------------------------------------------------------------------------------------------------------------------
+
+  public LongArrayWrap filter(LongPredicate predicate) {
+    return set(Arrays.filter(value, predicate));
+  }
+
+  public LongArrayWrap removeIf(LongPredicate predicate) {
+    return set(Arrays.removeIf(value, predicate));
+  }
+
+  /**
+   * Adds the given elements at the end of this array; a {@code null} array stays {@code null}
+   */
+  public LongArrayWrap push(long... elements) {
+    return append(elements);
+  }
+
+  /**
+   * Removes and returns the last element of this array
+   * @throws NoSuchElementException if the array is null or empty, where {@link ObjectArrayWrap#pop()} returns null
+   */
+  public long pop() {
+    checkNotEmpty();
+    long last = value[value.length - 1];
+    removeLast();
+    return last;
+  }
+
+  /**
+   * Removes and returns the first element of this array
+   * @throws NoSuchElementException if the array is null or empty, where {@link ObjectArrayWrap#shift()} returns null
+   */
+  public long shift() {
+    checkNotEmpty();
+    long first = value[0];
+    removeFirst();
+    return first;
+  }
+
+  /**
+   * Adds the given element at the beginning of this array; a {@code null} array stays {@code null}
+   */
+  public LongArrayWrap unshift(long element) {
+    return prepend(new long[]{element});
+  }
+
+  /**
+   * @see AbstractObjectArrayWrap#splice(int, int, Object[])
+   */
+  public LongArrayWrap splice(int start, int deleteCount, long... items) {
+    return set(Splice.splice(value, start, deleteCount, items).result());
+  }
+
+  public LongArrayWrap concat(long[]... items) {
+    return set(Arrays.concat(value, items));
+  }
+
+  /**
+   * @throws ArrayIndexOutOfBoundsException if the index is outside of the array bounds
+   */
+  public long get(int index) {
+    return value[checkIndex(index)];
+  }
+
+  /**
+   * Returns the element at the given index, negative indexes count back from the last element
+   * @throws ArrayIndexOutOfBoundsException if the index is outside of the array bounds
+   */
+  public long at(int index) {
+    return Arrays.at(value, index);
+  }
+
+  public LongArrayWrap set(int index, long element) {
+    value[checkIndex(index)] = element;
+    return myself;
+  }
+
+  public int indexOf(long element) {
+    return ArrayUtils.indexOf(value, element);
+  }
+
+  public boolean contains(long element) {
+    return ArrayUtils.contains(value, element);
+  }
+
+  public boolean contains(long... elements) {
+    if (value==null || elements==null)
+      return false;
+
+    for (long element : elements) {
+      if (!ArrayUtils.contains(value, element))
+        return false;
+    }
+    return true;
+  }
+
+  public LongArrayWrap forEachEntry(IntLongConsumer consumer) {
+    if (value==null || consumer==null)
+      return myself;
+
+    for (int i = 0; i < value.length; i++) {
+      consumer.accept(i, value[i]);
+    }
+    return myself;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  public LongArrayWrap swap(int index, int otherIndex) {
+    ArrayUtils.swap(value, index, otherIndex);
+    return myself;
+  }
+
+  public LongArrayWrap reverse() {
+    ArrayUtils.reverse(value);
+    return myself;
+  }
+
+  public LongArrayWrap sort() {
+    if (value!=null && value.length > 1) {
+      java.util.Arrays.sort(value);
+    }
+    return myself;
+  }
+
+  public LongArrayWrap shuffle() {
+    Arrays.shuffle(value);
+    return myself;
+  }
+
+  public LongArrayWrap fill(long element) {
+    if (value!=null) {
+      java.util.Arrays.fill(value, element);
+    }
+    return myself;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  public LongStream longStream() {
+    return StreamSupport.longStream(spliterator(), false);
+  }
+
+  @NotNull
+  @Override
+  public PrimitiveIterator.OfLong iterator() {
+    return java.util.Spliterators.iterator(spliterator());
+  }
+
+  @Override
+  public Spliterator.OfLong spliterator() {
+    if (value==null)
+      return java.util.Spliterators.emptyLongSpliterator();
+
+    return java.util.Arrays.spliterator(value);
+  }
+
+  @Override
+  public Stream<Long> pureStream() {
+    return longStream().boxed();
+  }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bervini.rasael.jwrap.api;
+
+import net.bervini.rasael.jwrap.util.Arrays;
+import net.bervini.rasael.jwrap.util.Cursor;
+import net.bervini.rasael.jwrap.util.Iterators;
+import net.bervini.rasael.jwrap.util.Spliterators;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNullableByDefault;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static net.bervini.rasael.jwrap.api.JWrap.Wrap;
+
+/**
+ * <p>Wrap of an array kept sorted by a comparator.</p>
+ *
+ * <p>Lookups use binary searches: {@link #indexOf(Object)}, {@link #contains(Object)}, {@link #floor(Object)} and
+ * {@link #ceiling(Object)} run in {@code O(log n)}. Insertions keep the array sorted: a batch is sorted and then
+ * merged with the array, in {@code O(n + m log m)}, and {@link #merge(SortedArrayWrap)} merges two sorted wraps in
+ * linear time.</p>
+ *
+ * <p>Created by {@link AbstractObjectArrayWrap#sorted(Comparator)}, or by
+ * {@link AbstractObjectArrayWrap#asSorted(Comparator)} for arrays that are already sorted.</p>
+ */
+@ParametersAreNullableByDefault
+public class SortedArrayWrap<ELEMENT> extends AbstractArrayWrap<ELEMENT[], ELEMENT, SortedArrayWrap<ELEMENT>>
+    implements IndexedObjectEnumerableWrap<ELEMENT, SortedArrayWrap<ELEMENT>> {
+
+  @Nullable
+  private final Comparator<? super ELEMENT> comparator;
+
+  SortedArrayWrap(@Nullable ELEMENT[] value, @Nullable Comparator<? super ELEMENT> comparator) {
+    super(value);
+    this.comparator = comparator;
+  }
+
+  @Override
+  protected SortedArrayWrap<ELEMENT> self() {
+    return this;
+  }
+
+  @Override
+  Replicator<ELEMENT[], SortedArrayWrap<ELEMENT>> replicator() {
+    return array -> new SortedArrayWrap<>(array, comparator);
+  }
+
+  /**
+   * Returns the comparator of this wrap, or {@code null} for the natural order
+   */
+  @Nullable
+  public Comparator<? super ELEMENT> comparator() {
+    return comparator;
+  }
+
+  /**
+   * Returns a plain wrap of the array, that can be modified without keeping it sorted
+   */
+  public ObjectArrayWrap<ELEMENT> unsorted() {
+    return Wrap(value);
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Lookups
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Nullable
+  @Override
+  public ELEMENT get(int index) {
+    return Arrays.get(value, index);
+  }
+
+  @Nullable
+  @Override
+  public ELEMENT at(int index) {
+    return Arrays.at(value, index);
+  }
+
+  /**
+   * Returns the index of the first element equal to the given one, according to the comparator, or -1
+   */
+  @Override
+  public int indexOf(ELEMENT element) {
+    if (value==null)
+      return -1;
+
+    int index = Arrays.lowerBound(value, element, comparator);
+    return index < value.length && compare(value[index], element)==0 ? index : -1;
+  }
+
+  public boolean contains(ELEMENT element) {
+    return indexOf(element)>=0;
+  }
+
+  @Override
+  public boolean contains(@Nullable Iterable<ELEMENT> iterable) {
+    if (value==null || iterable==null)
+      return false;
+
+    for (ELEMENT element : iterable) {
+      if (!contains(element))
+        return false;
+    }
+    return true;
+  }
+
+  @Override
+  public boolean contains(ELEMENT element, int index) {
+    if (value==null || index<0 || index>=value.length)
+      return false;
+
+    return compare(value[index], element)==0;
+  }
+
+  @Override
+  public boolean doesNotContain(ELEMENT element, int index) {
+    return !contains(element, index);
+  }
+
+  /**
+   * Returns the greatest element not greater than the given one, or null if there is none
+   */
+  @Nullable
+  public ELEMENT floor(ELEMENT element) {
+    int index = Arrays.upperBound(value, element, comparator);
+    return index > 0 ? value[index - 1] : null;
+  }
+
+  /**
+   * Returns the smallest element not smaller than the given one, or null if there is none
+   */
+  @Nullable
+  public ELEMENT ceiling(ELEMENT element) {
+    if (value==null)
+      return null;
+
+    int index = Arrays.lowerBound(value, element, comparator);
+    return index < value.length ? value[index] : null;
+  }
+
+  /**
+   * <p>Returns a new sorted wrap of the elements from {@code fromInclusive} to {@code toExclusive}.</p>
+   *
+   * <p>A {@code null} bound means no bound: {@code range(null, x)} returns all the elements smaller than {@code x}.</p>
+   */
+  public SortedArrayWrap<ELEMENT> range(@Nullable ELEMENT fromInclusive, @Nullable ELEMENT toExclusive) {
+    if (value==null)
+      return new SortedArrayWrap<>(null, comparator);
+
+    int from = fromInclusive!=null ? Arrays.lowerBound(value, fromInclusive, comparator) : 0;
+    int to = toExclusive!=null ? Arrays.lowerBound(value, toExclusive, comparator) : value.length;
+    return new SortedArrayWrap<>(Arrays.subarray(value, from, Math.max(from, to)), comparator);
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Insertion
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Inserts the given element after the equal ones, keeping the array sorted
+   */
+  public SortedArrayWrap<ELEMENT> insert(ELEMENT element) {
+    if (value==null)
+      return myself;
+
+    return set(Arrays.insert(Arrays.upperBound(value, element, comparator), value, element));
+  }
+
+  /**
+   * <p>Inserts all the given elements, keeping the array sorted: the batch is sorted and then merged with the array,
+   * in {@code O(n + m log m)}.</p>
+   */
+  @SafeVarargs
+  public final SortedArrayWrap<ELEMENT> insertAll(ELEMENT... elements) {
+    if (value==null || Arrays.isEmpty(elements))
+      return myself;
+
+    var batch = Arrays.newArrayLike(value, elements.length);
+    System.arraycopy(elements, 0, batch, 0, elements.length);
+    Arrays.sort(batch, comparator);
+    return set(Arrays.mergeSorted(value, batch, comparator));
+  }
+
+  /**
+   * <p>Merges the elements of the other sorted wrap, in linear time. Equal elements of this wrap come first.</p>
+   *
+   * <p>The other wrap is expected to be sorted with the same comparator.</p>
+   */
+  public SortedArrayWrap<ELEMENT> merge(SortedArrayWrap<ELEMENT> other) {
+    if (value==null || other==null || other.value==null)
+      return myself;
+
+    return set(Arrays.mergeSorted(value, other.value, comparator));
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Override
+  public int size() {
+    return Arrays.size(value);
+  }
+
+  @SuppressWarnings("unchecked")
+  private int compare(ELEMENT element, ELEMENT other) {
+    if (comparator!=null)
+      return comparator.compare(element, other);
+
+    return ((Comparable<? super ELEMENT>) element).compareTo(other);
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Override
+  public Cursor<ELEMENT> cursor() {
+    return Iterators.cursor(value);
+  }
+
+  @NotNull
+  @Override
+  public Iterator<ELEMENT> iterator() {
+    return java.util.Spliterators.iterator(spliterator());
+  }
+
+  @Override
+  public Spliterator<ELEMENT> spliterator() {
+    if (value==null)
+      return Spliterators.empty();
+
+    return new SortedSpliterator<>(java.util.Arrays.spliterator(value), comparator);
+  }
+
+  @Override
+  public Stream<ELEMENT> pureStream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  /**
+   * Array spliterator reporting {@link Spliterator#SORTED} and the comparator of the wrap
+   */
+  private record SortedSpliterator<E>(Spliterator<E> spliterator, Comparator<? super E> comparator)
+      implements Spliterator<E> {
+
+    @Override
+    public boolean tryAdvance(java.util.function.Consumer<? super E> action) {
+      return spliterator.tryAdvance(action);
+    }
+
+    @Override
+    public void forEachRemaining(java.util.function.Consumer<? super E> action) {
+      spliterator.forEachRemaining(action);
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+      var prefix = spliterator.trySplit();
+      return prefix!=null ? new SortedSpliterator<>(prefix, comparator) : null;
+    }
+
+    @Override
+    public long estimateSize() {
+      return spliterator.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+      return spliterator.characteristics() | Spliterator.SORTED;
+    }
+
+    @Override
+    public Comparator<? super E> getComparator() {
+      return comparator;
+    }
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bervini.rasael.jwrap.util;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * <p>A growable circular buffer over a typed array, with amortized O(1) insertion and removal at both ends.</p>
+ *
+ * <p>Unlike {@link java.util.ArrayDeque}, {@code null} elements are allowed, and {@link #toArray()} returns an
+ * array of the same component type of the array the buffer was created from.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ */
+public final class ArrayBuffer<E> {
+
+  /**
+   * Capacity is always a power of two, so that indexes can be wrapped with a mask
+   * @see CircularArrays
+   */
+  private E[] elements;
+  private int head;
+  private int size;
+
+  private ArrayBuffer(E[] elements, int size) {
+    this.elements = elements;
+    this.head = 0;
+    this.size = size;
+  }
+
+  /**
+   * Creates a new buffer holding a copy of the given array, with spare capacity
+   */
+  @Nonnull
+  public static <E> ArrayBuffer<E> of(@Nonnull E[] array) {
+    Preconditions.requireArgNonNull(array);
+
+    E[] elements = Arrays.newArrayLike(array, CircularArrays.capacityFor(array.length + 1));
+    System.arraycopy(array, 0, elements, 0, array.length);
+    return new ArrayBuffer<>(elements, array.length);
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size==0;
+  }
+
+  @Nullable
+  public E get(int index) {
+    if (index<0 || index>=size)
+      return null;
+
+    return elements[physical(index)];
+  }
+
+  @Nullable
+  public E set(int index, E element) {
+    if (index<0 || index>=size)
+      return null;
+
+    int i = physical(index);
+    E previous = elements[i];
+    elements[i] = element;
+    return previous;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  public void addLast(E element) {
+    ensureCapacity(size + 1);
+    elements[physical(size)] = element;
+    size++;
+  }
+
+  public void addAll(Iterable<? extends E> iterable) {
+    if (iterable==null)
+      return;
+
+    if (iterable instanceof Collection<?> c)
+      ensureCapacity(size + c.size());
+
+    for (E element : iterable) {
+      addLast(element);
+    }
+  }
+
+  public void addFirst(E element) {
+    ensureCapacity(size + 1);
+    head = physical(-1);
+    elements[head] = element;
+    size++;
+  }
+
+  @Nullable
+  public E pollLast() {
+    if (size==0)
+      return null;
+
+    int i = physical(size - 1);
+    E element = elements[i];
+    elements[i] = null;
+    size--;
+    return element;
+  }
+
+  @Nullable
+  public E pollFirst() {
+    if (size==0)
+      return null;
+
+    E element = elements[head];
+    elements[head] = null;
+    head = physical(1);
+    size--;
+    return element;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Returns a new array with the exact length of this buffer, of the same type of the original array
+   */
+  @Nonnull
+  public E[] toArray() {
+    E[] result = Arrays.newArrayLike(elements, size);
+    CircularArrays.copyTo(elements, head, result, size);
+    return result;
+  }
+
+  /**
+   * Returns a read-only list view of the elements of this buffer, which follows its changes
+   */
+  @Nonnull
+  public List<E> asList() {
+    return new ListView();
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  private int physical(int index) {
+    return CircularArrays.physical(elements, head, index);
+  }
+
+  private void ensureCapacity(int minCapacity) {
+    var grown = CircularArrays.grow(elements, head, size, minCapacity);
+    if (grown!=elements) {
+      elements = grown;
+      head = 0;
+    }
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  private final class ListView extends AbstractList<E> implements RandomAccess {
+
+    @Override
+    public E get(int index) {
+      Objects.checkIndex(index, size);
+      return elements[physical(index)];
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bervini.rasael.jwrap.util;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>Renders arrays like {@link java.util.Arrays#toString(Object[])} and {@link java.util.Arrays#deepToString(Object[])},
+ * writing directly to an {@link Appendable}, with a maximum number of elements and a maximum number of
+ * characters.</p>
+ *
+ * <p>Elements past the maximum are replaced by the ellipsis: {@code [1, 2, 3, ...]}. When the characters run out,
+ * the output is cut so that, with the ellipsis appended, it is exactly {@code maxChars} long:
+ * {@code [1, 2, 3, 4...}.</p>
+ *
+ * <pre>
+ *   ArrayFormat.FULL.maxElements(100).appendTo(writer, array);
+ * </pre>
+ *
+ * <p>Instances are immutable: every setting returns a new format.</p>
+ */
+public final class ArrayFormat {
+
+  /**
+   * Default maximum number of characters of the wrap representations
+   */
+  public static final int DEFAULT_MAX_CHARS = 1 << 16;
+
+  /**
+   * Renders all the elements, like {@link java.util.Arrays#toString(Object[])}
+   */
+  public static final ArrayFormat FULL = new ArrayFormat(Integer.MAX_VALUE, Integer.MAX_VALUE, "...", false);
+
+  /**
+   * Renders at most {@link #DEFAULT_MAX_CHARS} characters; used by the {@code toString()} of the array wraps
+   */
+  public static final ArrayFormat DEFAULT = FULL.maxChars(DEFAULT_MAX_CHARS);
+
+  private static final String SEPARATOR = ", ";
+  private static final String CYCLE = "[...]";
+
+  private final int maxElements;
+  private final int maxChars;
+  private final String ellipsis;
+  private final boolean deep;
+
+  private ArrayFormat(int maxElements, int maxChars, String ellipsis, boolean deep) {
+    this.maxElements = maxElements;
+    this.maxChars = maxChars;
+    this.ellipsis = ellipsis;
+    this.deep = deep;
+  }
+
+  /**
+   * Returns a format rendering at most the given number of elements of each array, the next ones being replaced by
+   * the ellipsis
+   */
+  public ArrayFormat maxElements(int maxElements) {
+    return new ArrayFormat(Math.max(0, maxElements), maxChars, ellipsis, deep);
+  }
+
+  /**
+   * Returns a format writing at most the given number of characters, the ellipsis included
+   */
+  public ArrayFormat maxChars(int maxChars) {
+    return new ArrayFormat(maxElements, Math.max(ellipsis.length(), maxChars), ellipsis, deep);
+  }
+
+  /**
+   * Returns a format marking the truncations with the given ellipsis
+   */
+  public ArrayFormat ellipsis(String ellipsis) {
+    var marker = ellipsis!=null ? ellipsis : "";
+    return new ArrayFormat(maxElements, Math.max(marker.length(), maxChars), marker, deep);
+  }
+
+  /**
+   * Returns a format rendering the nested arrays, like {@link java.util.Arrays#deepToString(Object[])}, or calling
+   * their {@code toString()}
+   */
+  public ArrayFormat deep(boolean deep) {
+    return new ArrayFormat(maxElements, maxChars, ellipsis, deep);
+  }
+
+  public int maxElements() {
+    return maxElements;
+  }
+
+  public int maxChars() {
+    return maxChars;
+  }
+
+  public String ellipsis() {
+    return ellipsis;
+  }
+
+  public boolean isDeep() {
+    return deep;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Returns the representation of the given array: an object or primitive array, or an {@link AtomicReferenceArray}.
+   * Other objects are rendered with {@code toString()}, within the same limits.
+   */
+  public String format(Object array) {
+    var builder = new StringBuilder(Math.min(maxChars, 256));
+    try {
+      return appendTo(builder, array).toString();
+    }
+    catch (IOException e) {
+      // a StringBuilder never throws
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Returns the representation of the given list, like the one of an array of its elements. Only the elements that
+   * are rendered are read, so a list over a large buffer is not copied to render its first characters.
+   */
+  public String format(List<?> elements) {
+    var builder = new StringBuilder(Math.min(maxChars, 256));
+    try {
+      return appendTo(builder, elements).toString();
+    }
+    catch (IOException e) {
+      // a StringBuilder never throws
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Writes the representation of the given array to the given appendable, without building it in memory
+   * @see #format(Object)
+   */
+  public <A extends Appendable> A appendTo(@Nonnull A out, Object array) throws IOException {
+    return appendTo(out, sink -> render(sink, array, deep ? new IdentityHashMap<>() : null));
+  }
+
+  /**
+   * Writes the representation of the given list to the given appendable, without building it in memory
+   * @see #format(List)
+   */
+  public <A extends Appendable> A appendTo(@Nonnull A out, List<?> elements) throws IOException {
+    return appendTo(out, sink -> renderList(sink, elements, deep ? new IdentityHashMap<>() : null));
+  }
+
+  private <A extends Appendable> A appendTo(A out, Renderer renderer) throws IOException {
+    var sink = new Sink(out, maxChars, ellipsis);
+    try {
+      renderer.render(sink);
+      sink.flush();
+    }
+    catch (Sink.Full full) {
+      out.append(ellipsis);
+    }
+    return out;
+  }
+
+  private void renderList(Sink sink, List<?> list, Map<Object, Boolean> seen) throws IOException {
+    if (list==null) {
+      sink.append("null");
+      return;
+    }
+    if (seen!=null)
+      seen.put(list, Boolean.TRUE);
+
+    // the elements are rendered in order, so the iterator reads each of them once, whatever the list
+    var iterator = list.iterator();
+    renderElements(sink, list.size(), i -> renderElement(sink, iterator.next(), seen));
+  }
+
+  private void render(Sink sink, Object value, Map<Object, Boolean> seen) throws IOException {
+    if (value==null) {
+      sink.append("null");
+    }
+    else if (value instanceof Object[] array) {
+      if (seen!=null && seen.put(array, Boolean.TRUE)!=null) {
+        sink.append(CYCLE);
+        return;
+      }
+      renderElements(sink, array.length, i -> renderElement(sink, array[i], seen));
+      if (seen!=null)
+        seen.remove(array);
+    }
+    else if (value instanceof int[] array) {
+      renderElements(sink, array.length, i -> sink.append(array[i]));
+    }
+    else if (value instanceof long[] array) {
+      renderElements(sink, array.length, i -> sink.append(array[i]));
+    }
+    else if (value instanceof double[] array) {
+      renderElements(sink, array.length, i -> sink.append(array[i]));
+    }
+    else if (value instanceof AtomicReferenceArray<?> array) {
+      renderElements(sink, array.length(), i -> sink.append(String.valueOf(array.get(i))));
+    }
+    else if (value.getClass().isArray()) {
+      renderElements(sink, Array.getLength(value), i -> sink.append(String.valueOf(Array.get(value, i))));
+    }
+    else {
+      sink.append(value.toString());
+    }
+  }
+
+  private void renderElement(Sink sink, Object element, Map<Object, Boolean> seen) throws IOException {
+    if (seen!=null && element!=null && element.getClass().isArray())
+      render(sink, element, seen);
+    else
+      sink.append(String.valueOf(element));
+  }
+
+  private void renderElements(Sink sink, int length, ElementRenderer renderer) throws IOException {
+    sink.append('[');
+    int count = Math.min(length, maxElements);
+    for (int i=0; i<count; i++) {
+      if (i > 0)
+        sink.append(SEPARATOR);
+      renderer.render(i);
+    }
+    if (count < length) {
+      if (count > 0)
+        sink.append(SEPARATOR);
+      sink.append(ellipsis);
+    }
+    sink.append(']');
+  }
+
+  @FunctionalInterface
+  private interface Renderer {
+    void render(Sink sink) throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface ElementRenderer {
+    void render(int index) throws IOException;
+  }
+
+  @Override
+  public String toString() {
+    return "ArrayFormat{maxElements=" + maxElements + ", maxChars=" + maxChars + ", ellipsis='" + ellipsis +
+           "', deep=" + deep + '}';
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>Appendable counting the characters written, that stops the rendering when they run out.</p>
+   *
+   * <p>Up to {@code maxChars - ellipsis.length()} characters are written directly; the next ones are held back until
+   * the rendering ends, since they are replaced by the ellipsis if the rendering doesn't fit.</p>
+   */
+  private static final class Sink {
+
+    private final Appendable out;
+    private final StringBuilder number = new StringBuilder(24);
+    private final StringBuilder pending = new StringBuilder();
+    private final int limit;
+    private final int pendingLimit;
+    private int written;
+
+    private Sink(Appendable out, int maxChars, String ellipsis) {
+      this.out = out;
+      this.limit = maxChars - ellipsis.length();
+      this.pendingLimit = ellipsis.length();
+    }
+
+    void append(char c) throws IOException {
+      if (written < limit) {
+        out.append(c);
+        written++;
+      }
+      else if (pending.length() < pendingLimit) {
+        pending.append(c);
+      }
+      else {
+        throw Full.INSTANCE;
+      }
+    }
+
+    void append(CharSequence text) throws IOException {
+      int length = text.length();
+      int direct = Math.min(length, limit - written);
+      if (direct > 0) {
+        out.append(text, 0, direct);
+        written += direct;
+      }
+      if (direct < length) {
+        if (pending.length() + length - direct > pendingLimit)
+          throw Full.INSTANCE;
+        pending.append(text, Math.max(0, direct), length);
+      }
+    }
+
+    void append(int value) throws IOException {
+      number.setLength(0);
+      append(number.append(value));
+    }
+
+    void append(long value) throws IOException {
+      number.setLength(0);
+      append(number.append(value));
+    }
+
+    void append(double value) throws IOException {
+      number.setLength(0);
+      append(number.append(value));
+    }
+
+    /**
+     * Writes the characters held back, the rendering having fit
+     */
+    void flush() throws IOException {
+      out.append(pending);
+    }
+
+    /**
+     * Thrown when the characters run out; without a stack trace, since it only unwinds the rendering
+     */
+    private static final class Full extends RuntimeException {
+
+      private static final long serialVersionUID = 1L;
+
+      private static final Full INSTANCE = new Full();
+
+      private Full() {
+        super(null, null, false, false);
+      }
+    }
+  }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bervini.rasael.jwrap.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * <p>A read-only view over one or more ranges of arrays, seen as a single sequence.</p>
+ *
+ * <p>{@link #slice(int, int)}, {@link #concat(Object[][])} and {@link #splice(int, int, Object[])} never copy
+ * elements, they only combine the {@code (array, offset, length)} segments of the views. A real array is built
+ * only by {@link #toArray()}, with a single allocation.</p>
+ *
+ * <p>The view does not copy the arrays it is built from: changes to those arrays are visible through the view.</p>
+ */
+public final class ArrayView<E> extends AbstractList<E> implements RandomAccess {
+
+  private final Class<?> componentType;
+
+  private final Object[][] arrays;
+  private final int[] offsets;
+
+  /**
+   * Logical start index of each segment, the last entry being the size of this view
+   */
+  private final int[] starts;
+
+  private ArrayView(Class<?> componentType, Object[][] arrays, int[] offsets, int[] starts) {
+    this.componentType = componentType;
+    this.arrays = arrays;
+    this.offsets = offsets;
+    this.starts = starts;
+  }
+
+  @Nonnull
+  public static <E> ArrayView<E> of(@Nonnull E[] array) {
+    Preconditions.requireArgNonNull(array);
+    return of(array, 0, array.length);
+  }
+
+  /**
+   * Returns a view of the range {@code [startIndexInclusive, endIndexExclusive)} of the given array
+   */
+  @Nonnull
+  public static <E> ArrayView<E> of(@Nonnull E[] array, int startIndexInclusive, int endIndexExclusive) {
+    Preconditions.requireArgNonNull(array);
+    Objects.checkFromToIndex(startIndexInclusive, endIndexExclusive, array.length);
+
+    return new Builder<E>(array.getClass().getComponentType(), 1)
+        .add(array, startIndexInclusive, endIndexExclusive - startIndexInclusive)
+        .build();
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Override
+  public int size() {
+    return starts[starts.length - 1];
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public E get(int index) {
+    Objects.checkIndex(index, size());
+
+    int segment = segmentOf(index);
+    return (E) arrays[segment][offsets[segment] + index - starts[segment]];
+  }
+
+  public Class<?> componentType() {
+    return componentType;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>Returns a view of the range {@code [startIndexInclusive, endIndexExclusive)} of this view.</p>
+   *
+   * <p>Indexes are clamped to the bounds of this view.</p>
+   */
+  @Nonnull
+  public ArrayView<E> slice(int startIndexInclusive, int endIndexExclusive) {
+    int size = size();
+    startIndexInclusive = Math.max(0, Math.min(size, startIndexInclusive));
+    endIndexExclusive = Math.max(startIndexInclusive, Math.min(size, endIndexExclusive));
+
+    if (startIndexInclusive==0 && endIndexExclusive==size)
+      return this;
+
+    var builder = new Builder<E>(componentType, arrays.length);
+    appendRange(builder, startIndexInclusive, endIndexExclusive);
+    return builder.build();
+  }
+
+  /**
+   * Returns a view of this view followed by all the given arrays
+   */
+  @Nonnull
+  @SafeVarargs
+  public final ArrayView<E> concat(E[]... items) {
+    if (items==null || items.length==0)
+      return this;
+
+    var builder = new Builder<E>(componentType, arrays.length + items.length);
+    appendRange(builder, 0, size());
+    for (E[] item : items) {
+      if (item!=null)
+        builder.add(item, 0, item.length);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns a view of this view followed by the given view
+   */
+  @Nonnull
+  public ArrayView<E> concat(ArrayView<E> other) {
+    if (other==null || other.isEmpty())
+      return this;
+
+    var builder = new Builder<E>(componentType, arrays.length + other.arrays.length);
+    appendRange(builder, 0, size());
+    other.appendRange(builder, 0, other.size());
+    return builder.build();
+  }
+
+  /**
+   * <p>JavaScript-like splice, returning views for both the result and the removed elements.</p>
+   *
+   * @see Splice#splice(Object[], int, int, Object[])
+   */
+  @Nonnull
+  @SafeVarargs
+  public final Splice.Spliced<ArrayView<E>> splice(int start, int deleteCount, E... items) {
+    int size = size();
+    start = Math.max(0, Splice.toSpliceStart(start, size));
+    int end = start + Math.max(0, Math.min(deleteCount, size - start));
+
+    var builder = new Builder<E>(componentType, arrays.length + 1);
+    appendRange(builder, 0, start);
+    if (items!=null)
+      builder.add(items, 0, items.length);
+    appendRange(builder, end, size);
+
+    return Splice.Spliced.of(builder.build(), slice(start, end));
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Returns a new array, of the component type of the first viewed array, holding the elements of this view
+   */
+  @Nonnull
+  @Override
+  @SuppressWarnings("unchecked")
+  public E[] toArray() {
+    var result = (E[]) Array.newInstance(componentType, size());
+    copyTo(result);
+    return result;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T[] toArray(@Nonnull T[] a) {
+    int size = size();
+    if (a.length<size)
+      a = (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+
+    copyTo(a);
+    if (a.length>size)
+      a[size] = null;
+
+    return a;
+  }
+
+  private void copyTo(Object[] target) {
+    for (int s = 0; s < arrays.length; s++) {
+      System.arraycopy(arrays[s], offsets[s], target, starts[s], starts[s + 1] - starts[s]);
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void forEach(Consumer<? super E> action) {
+    Objects.requireNonNull(action);
+
+    for (int s = 0; s < arrays.length; s++) {
+      Object[] array = arrays[s];
+      for (int i = offsets[s], end = offsets[s] + starts[s + 1] - starts[s]; i < end; i++) {
+        action.accept((E) array[i]);
+      }
+    }
+  }
+
+  @NotNull
+  @Override
+  public Iterator<E> iterator() {
+    return new SegmentIterator();
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  private int segmentOf(int index) {
+    if (arrays.length==1)
+      return 0;
+
+    int segment = java.util.Arrays.binarySearch(starts, 0, arrays.length, index);
+    if (segment>=0) {
+      // skip empty segments sharing the same start
+      while (starts[segment + 1]==index)
+        segment++;
+
+      return segment;
+    }
+    return -segment - 2;
+  }
+
+  private void appendRange(Builder<E> builder, int startIndexInclusive, int endIndexExclusive) {
+    if (startIndexInclusive>=endIndexExclusive)
+      return;
+
+    for (int s = segmentOf(startIndexInclusive); s < arrays.length && starts[s] < endIndexExclusive; s++) {
+      int from = Math.max(startIndexInclusive, starts[s]);
+      int to = Math.min(endIndexExclusive, starts[s + 1]);
+      builder.add(arrays[s], offsets[s] + from - starts[s], to - from);
+    }
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  private final class SegmentIterator implements Iterator<E> {
+
+    private int segment;
+    private int position = offsets.length>0 ? offsets[0] : 0;
+    private int remainingInSegment = arrays.length>0 ? starts[1] : 0;
+
+    @Override
+    public boolean hasNext() {
+      while (remainingInSegment==0 && segment < arrays.length - 1) {
+        segment++;
+        position = offsets[segment];
+        remainingInSegment = starts[segment + 1] - starts[segment];
+      }
+      return remainingInSegment>0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E next() {
+      if (!hasNext())
+        throw new NoSuchElementException();
+
+      remainingInSegment--;
+      return (E) arrays[segment][position++];
+    }
+  }
+
+  private static final class Builder<E> {
+
+    private final Class<?> componentType;
+
+    private Object[][] arrays;
+    private int[] offsets;
+    private int[] starts;
+    private int count;
+    private int size;
+
+    private Builder(Class<?> componentType, int expectedSegments) {
+      this.componentType = componentType;
+      int capacity = Math.max(1, expectedSegments);
+      this.arrays = new Object[capacity][];
+      this.offsets = new int[capacity];
+      this.starts = new int[capacity + 1];
+    }
+
+    private Builder<E> add(Object[] array, int offset, int length) {
+      if (length<=0)
+        return this;
+
+      // merge contiguous ranges of the same array
+      if (count>0 && arrays[count - 1]==array && offsets[count - 1] + (size - starts[count - 1])==offset) {
+        size += length;
+        starts[count] = size;
+        return this;
+      }
+
+      if (count==arrays.length) {
+        arrays = java.util.Arrays.copyOf(arrays, count * 2);
+        offsets = java.util.Arrays.copyOf(offsets, count * 2);
+        starts = java.util.Arrays.copyOf(starts, count * 2 + 1);
+      }
+
+      arrays[count] = array;
+      offsets[count] = offset;
+      starts[count] = size;
+      count++;
+      size += length;
+      starts[count] = size;
+      return this;
+    }
+
+    private ArrayView<E> build() {
+      if (count==0) {
+        return new ArrayView<>(componentType, new Object[][]{new Object[0]}, new int[1], new int[2]);
+      }
+      return new ArrayView<>(componentType,
+                             java.util.Arrays.copyOf(arrays, count),
+                             java.util.Arrays.copyOf(offsets, count),
+                             java.util.Arrays.copyOf(starts, count + 1));
+    }
+  }
+}
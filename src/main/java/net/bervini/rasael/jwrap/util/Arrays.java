@@ -23,19 +23,21 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNullableByDefault;
 import java.lang.reflect.Array;
-import java.security.SecureRandom;
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.DoublePredicate;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 @ParametersAreNullableByDefault
 public class Arrays {
 
-  private static final SecureRandom SECURE_RANDOM = new SecureRandom();
-
   // -------------------------------------------------------------------------------------------------------------------
 
   private Arrays(){}
@@ -55,6 +57,262 @@ public class Arrays {
     java.util.Arrays.sort(value, comparator);
   }
 
+  // -------------------------------------------------------------------------------------------------------------------
+  // Selection
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Partitions below which the selection just sorts the range
+   */
+  private static final int SELECTION_SORT_THRESHOLD = 16;
+
+  /**
+   * <p>Rearranges the array so that the element at index {@code k} is the one that would be there if the array was
+   * sorted, with all the elements before it not greater, and all the elements after it not smaller.</p>
+   *
+   * <p>Runs in {@code O(n)} on average, with an introselect: a quickselect that falls back to sorting the remaining
+   * range when its partitions get unbalanced, so it never exceeds {@code O(n log n)}. The order of equal elements is
+   * not preserved.</p>
+   *
+   * <p>Does nothing if {@code k} is outside of the array bounds.</p>
+   *
+   * @param comparator the comparator, or {@code null} for the natural order
+   */
+  public static <E> void nthElement(E[] array, int k, Comparator<? super E> comparator) {
+    if (array==null || k<0 || k>=array.length)
+      return;
+
+    select(array, k, naturalIfNull(comparator));
+  }
+
+  /**
+   * <p>Sorts the {@code k} smallest elements at the beginning of the array, in {@code O(n + k log k)}. The order of
+   * the remaining elements is unspecified.</p>
+   *
+   * @param comparator the comparator, or {@code null} for the natural order
+   */
+  public static <E> void partialSort(E[] array, int k, Comparator<? super E> comparator) {
+    if (array==null || k<=0)
+      return;
+
+    Comparator<? super E> order = naturalIfNull(comparator);
+    if (k < array.length)
+      select(array, k - 1, order);
+
+    java.util.Arrays.sort(array, 0, Math.min(k, array.length), order);
+  }
+
+  /**
+   * <p>Returns a new array with the {@code k} smallest elements, sorted, leaving the given array untouched.</p>
+   *
+   * <p>Runs in {@code O(n log k)}, keeping the best {@code k} elements in a bounded heap. Pass a reversed comparator to
+   * get the {@code k} largest elements.</p>
+   *
+   * @param comparator the comparator, or {@code null} for the natural order
+   */
+  public static <E> E[] topK(E[] array, int k, Comparator<? super E> comparator) {
+    if (array==null)
+      return null;
+
+    k = Math.max(0, Math.min(k, array.length));
+    Comparator<? super E> order = naturalIfNull(comparator);
+
+    // max-heap of the best k elements seen so far: its root is the worst of them
+    var heap = newArrayLike(array, k);
+    int size = 0;
+    for (E element : array) {
+      if (size < k) {
+        heap[size] = element;
+        siftUp(heap, size++, order);
+      }
+      else if (k > 0 && order.compare(element, heap[0]) < 0) {
+        heap[0] = element;
+        siftDown(heap, 0, size, order);
+      }
+    }
+
+    // pop the worst element to the end until the heap is empty: the heap ends up sorted
+    for (int end = size - 1; end > 0; end--) {
+      swap(heap, 0, end);
+      siftDown(heap, 0, end, order);
+    }
+    return heap;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Sorted arrays
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>Returns the index of the first element of the sorted array not smaller than {@code key}, or the length of the
+   * array if there is none, in {@code O(log n)}.</p>
+   *
+   * @param comparator the comparator the array is sorted with, or {@code null} for the natural order
+   */
+  public static <E> int lowerBound(E[] sorted, E key, Comparator<? super E> comparator) {
+    if (sorted==null)
+      return 0;
+
+    Comparator<? super E> order = naturalIfNull(comparator);
+    int low = 0;
+    int high = sorted.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (order.compare(sorted[middle], key) < 0)
+        low = middle + 1;
+      else
+        high = middle;
+    }
+    return low;
+  }
+
+  /**
+   * <p>Returns the index of the first element of the sorted array greater than {@code key}, or the length of the
+   * array if there is none, in {@code O(log n)}.</p>
+   *
+   * @param comparator the comparator the array is sorted with, or {@code null} for the natural order
+   */
+  public static <E> int upperBound(E[] sorted, E key, Comparator<? super E> comparator) {
+    if (sorted==null)
+      return 0;
+
+    Comparator<? super E> order = naturalIfNull(comparator);
+    int low = 0;
+    int high = sorted.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (order.compare(sorted[middle], key) <= 0)
+        low = middle + 1;
+      else
+        high = middle;
+    }
+    return low;
+  }
+
+  /**
+   * <p>Merges two sorted arrays into a new sorted array, in {@code O(n + m)}. Equal elements of {@code sorted} come
+   * before the ones of {@code other}.</p>
+   *
+   * @param comparator the comparator both arrays are sorted with, or {@code null} for the natural order
+   */
+  public static <E> E[] mergeSorted(E[] sorted, E[] other, Comparator<? super E> comparator) {
+    if (sorted==null)
+      return clone(other);
+    if (other==null)
+      return clone(sorted);
+
+    Comparator<? super E> order = naturalIfNull(comparator);
+    var result = newArrayLike(sorted, sorted.length + other.length);
+    int i = 0;
+    int j = 0;
+    int k = 0;
+    while (i < sorted.length && j < other.length) {
+      result[k++] = order.compare(other[j], sorted[i]) < 0 ? other[j++] : sorted[i++];
+    }
+    System.arraycopy(sorted, i, result, k, sorted.length - i);
+    System.arraycopy(other, j, result, k + sorted.length - i, other.length - j);
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <E> Comparator<? super E> naturalIfNull(Comparator<? super E> comparator) {
+    return comparator!=null ? comparator : (Comparator<? super E>) Comparator.naturalOrder();
+  }
+
+  private static <E> void select(E[] array, int k, Comparator<? super E> comparator) {
+    int low = 0;
+    int high = array.length - 1;
+
+    // like introsort, allow 2*log2(n) partitions before falling back to a sort
+    int budget = 2 * (32 - Integer.numberOfLeadingZeros(array.length));
+    while (high - low >= SELECTION_SORT_THRESHOLD) {
+      if (budget-- == 0) {
+        java.util.Arrays.sort(array, low, high + 1, comparator);
+        return;
+      }
+
+      long range = partition(array, low, high, comparator);
+      int equalLow = (int) (range >>> 32);
+      int equalHigh = (int) range;
+      if (k >= equalLow && k <= equalHigh)
+        return;
+
+      if (k < equalLow)
+        high = equalLow - 1;
+      else
+        low = equalHigh + 1;
+    }
+    java.util.Arrays.sort(array, low, high + 1, comparator);
+  }
+
+  /**
+   * <p>Three-way partition of {@code [low, high]} around the median of the first, middle and last elements: the
+   * elements smaller than the pivot, then the ones equal to it, then the greater ones. Runs of equal elements end up
+   * in the middle part in a single pass, so that inputs with few distinct values don't unbalance the selection.</p>
+   *
+   * <p>Returns the first and the last index of the equal elements, packed in the high and low halves of a long.</p>
+   */
+  private static <E> long partition(E[] array, int low, int high, Comparator<? super E> comparator) {
+    int middle = (low + high) >>> 1;
+    if (comparator.compare(array[middle], array[low]) < 0)
+      swap(array, middle, low);
+    if (comparator.compare(array[high], array[low]) < 0)
+      swap(array, high, low);
+    if (comparator.compare(array[high], array[middle]) < 0)
+      swap(array, high, middle);
+    E pivot = array[middle];
+
+    int less = low;
+    int greater = high;
+    int i = low;
+    while (i <= greater) {
+      int comparison = comparator.compare(array[i], pivot);
+      if (comparison < 0)
+        swap(array, i++, less++);
+      else if (comparison > 0)
+        swap(array, i, greater--);
+      else
+        i++;
+    }
+    return ((long) less << 32) | (greater & 0xFFFFFFFFL);
+  }
+
+  private static <E> void siftUp(E[] heap, int index, Comparator<? super E> comparator) {
+    E element = heap[index];
+    while (index > 0) {
+      int parent = (index - 1) >>> 1;
+      if (comparator.compare(element, heap[parent]) <= 0)
+        break;
+
+      heap[index] = heap[parent];
+      index = parent;
+    }
+    heap[index] = element;
+  }
+
+  private static <E> void siftDown(E[] heap, int index, int size, Comparator<? super E> comparator) {
+    E element = heap[index];
+    int half = size >>> 1;
+    while (index < half) {
+      int child = 2 * index + 1;
+      if (child + 1 < size && comparator.compare(heap[child + 1], heap[child]) > 0)
+        child++;
+
+      if (comparator.compare(element, heap[child]) >= 0)
+        break;
+
+      heap[index] = heap[child];
+      index = child;
+    }
+    heap[index] = element;
+  }
+
+  private static void swap(Object[] array, int index, int otherIndex) {
+    Object element = array[index];
+    array[index] = array[otherIndex];
+    array[otherIndex] = element;
+  }
+
   @SafeVarargs
   public static <T> T[] array(T... values) {
     return values;
@@ -71,13 +329,11 @@ public class Arrays {
       if (length == 0) {
         return array();
       } else {
-        List<T> list = new ArrayList<>();
-
+        var array = new Object[length];
         for(int i = 0; i < length; ++i) {
-          list.add(atomicReferenceArray.get(i));
+          array[i] = atomicReferenceArray.get(i);
         }
-
-        return (T[]) list.toArray((Object[]) Array.newInstance(Object.class, length));
+        return (T[]) array;
       }
     }
 
@@ -118,7 +374,7 @@ public class Arrays {
     if (array==null || array.length<2)
       return;
 
-    ArrayUtils.shuffle(array, SECURE_RANDOM);
+    Sampling.shuffle(array, Sampling.defaultGenerator());
   }
 
   @SafeVarargs
@@ -290,21 +546,97 @@ public class Arrays {
 
 
 
+  /**
+   * <p>Returns a new array with the elements matching the given predicate, in their original order.</p>
+   *
+   * <p>The matches are first marked in a bit mask, reused between calls on the same thread, so that the result is
+   * allocated once with its exact size.</p>
+   */
   public static <E> E[] filter(E[] array, Predicate<? super E> predicate) {
+    return filter(array, predicate, true);
+  }
+
+  /**
+   * Returns a new array without the elements matching the given predicate
+   * @see #filter(Object[], Predicate)
+   */
+  public static <E> E[] removeIf(E[] array, Predicate<? super E> predicate) {
+    return filter(array, predicate, false);
+  }
+
+  private static <E> E[] filter(E[] array, Predicate<? super E> predicate, boolean matching) {
     var size = size(array);
     if (size==0 || predicate==null)
       return array;
 
     if (size==1)
-      return predicate.test(array[0]) ? array : newArrayLike(array);
+      return predicate.test(array[0])==matching ? array : newArrayLike(array);
+
+    var mask = FilterMask.take(size);
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      if (predicate.test(array[i])==matching) {
+        mask[i >>> 6] |= 1L << i;
+        count++;
+      }
+    }
 
-    var list = Lists.<E>newList(size);
-    for (E e : array) {
-      if (predicate.test(e)) {
-        list.add(e);
+    var result = newArrayLike(array, count);
+    for (int w = 0, position = 0; position < count; w++) {
+      for (long bits = mask[w]; bits != 0; bits &= bits - 1) {
+        result[position++] = array[(w << 6) + Long.numberOfTrailingZeros(bits)];
       }
+      mask[w] = 0;
+    }
+    FilterMask.release(mask);
+    return result;
+  }
+
+  /**
+   * @see #compact(Object[], int, Predicate)
+   */
+  public static <E> int compact(E[] array, Predicate<? super E> predicate) {
+    return compact(array, size(array), predicate);
+  }
+
+  /**
+   * <p>Filters the first {@code length} elements of the given array in place, without allocating anything.</p>
+   *
+   * <p>The elements matching the predicate are moved to the beginning of the array, in their original order, and the
+   * remaining positions up to {@code length} are set to {@code null}.</p>
+   *
+   * @return the number of matching elements, i.e. the new logical length of the array
+   */
+  public static <E> int compact(E[] array, int length, Predicate<? super E> predicate) {
+    if (array==null)
+      return 0;
+
+    length = Math.max(0, Math.min(length, array.length));
+    if (predicate==null)
+      return length;
+
+    int position = 0;
+    for (int i = 0; i < length; i++) {
+      var element = array[i];
+      if (predicate.test(element))
+        array[position++] = element;
     }
-    return list.toArray(i -> newArrayLike(array, i));
+    java.util.Arrays.fill(array, position, length, null);
+    return position;
+  }
+
+  /**
+   * Returns a new array, created with {@code generator}, with the given function applied to each element
+   */
+  public static <E, R> R[] map(E[] array, Function<? super E, ? extends R> function, IntFunction<R[]> generator) {
+    if (array==null || function==null || generator==null)
+      return null;
+
+    var result = generator.apply(array.length);
+    for (int i = 0; i < array.length; i++) {
+      result[i] = function.apply(array[i]);
+    }
+    return result;
   }
 
   public static <E> E[] clone(E[] array) {
@@ -320,6 +652,17 @@ public class Arrays {
     return ArrayUtils.contains(array, element);
   }
 
+  /**
+   * Returns true if the array contains all the given elements, compared like {@link #contains(Object[], Object)}
+   * @see Collections#containsAll(java.util.Collection, Iterable)
+   */
+  public static boolean containsAll(Object[] array, Iterable<?> elements) {
+    if (array==null)
+      return false;
+
+    return Collections.containsAll(asList(array), elements);
+  }
+
   public static <E> int indexOf(E[] array, E element) {
     return ArrayUtils.indexOf(array, element);
   }
@@ -329,11 +672,16 @@ public class Arrays {
     if (isEmpty(items))
       return clone(array);
 
-    for (E[] item : items) {
-      array = concat(array, item);
+    if (isEmpty(array)) {
+      // keep the type of the first non-empty array
+      for (E[] item : items) {
+        array = concat(array, item);
+      }
+      return array;
     }
 
-    return array;
+    // a single allocation, instead of re-copying the growing result for each item
+    return ArrayView.of(array).concat(items).toArray();
   }
 
   @SafeVarargs
@@ -368,4 +716,374 @@ public class Arrays {
   public static <E> Iterable<E> toSet(E...elements) {
     return Sets.newOrderedSet(asList(elements));
   }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Primitive int arrays
+  // -------------------------------------------------------------------------------------------------------------------
+
+  public static int at(int[] array, int index) {
+    return array[primitiveIndex(ArrayUtils.getLength(array), index)];
+  }
+
+  public static int[] filter(int[] array, IntPredicate predicate) {
+    return filter(array, predicate, true);
+  }
+
+  public static int[] removeIf(int[] array, IntPredicate predicate) {
+    return filter(array, predicate, false);
+  }
+
+  private static int[] filter(int[] array, IntPredicate predicate, boolean matching) {
+    if (array==null || predicate==null)
+      return array;
+
+    var mask = FilterMask.take(array.length);
+    int count = 0;
+    for (int i = 0; i < array.length; i++) {
+      if (predicate.test(array[i])==matching) {
+        mask[i >>> 6] |= 1L << i;
+        count++;
+      }
+    }
+    return gather(array, mask, count);
+  }
+
+  /**
+   * @see #compact(Object[], int, Predicate)
+   */
+  public static int compact(int[] array, int length, IntPredicate predicate) {
+    if (array==null)
+      return 0;
+
+    length = Math.max(0, Math.min(length, array.length));
+    if (predicate==null)
+      return length;
+
+    int position = 0;
+    for (int i = 0; i < length; i++) {
+      var element = array[i];
+      if (predicate.test(element))
+        array[position++] = element;
+    }
+    return position;
+  }
+
+  public static int[] concat(int[] array, int[]... items) {
+    return concatPrimitive(array, items);
+  }
+
+  public static void shuffle(int[] array) {
+    if (array==null || array.length<2)
+      return;
+
+    ArrayUtils.shuffle(array, ThreadLocalRandom.current());
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Primitive long arrays
+  // -------------------------------------------------------------------------------------------------------------------
+
+  public static long at(long[] array, int index) {
+    return array[primitiveIndex(ArrayUtils.getLength(array), index)];
+  }
+
+  public static long[] filter(long[] array, LongPredicate predicate) {
+    return filter(array, predicate, true);
+  }
+
+  public static long[] removeIf(long[] array, LongPredicate predicate) {
+    return filter(array, predicate, false);
+  }
+
+  private static long[] filter(long[] array, LongPredicate predicate, boolean matching) {
+    if (array==null || predicate==null)
+      return array;
+
+    var mask = FilterMask.take(array.length);
+    int count = 0;
+    for (int i = 0; i < array.length; i++) {
+      if (predicate.test(array[i])==matching) {
+        mask[i >>> 6] |= 1L << i;
+        count++;
+      }
+    }
+    return gather(array, mask, count);
+  }
+
+  /**
+   * @see #compact(Object[], int, Predicate)
+   */
+  public static int compact(long[] array, int length, LongPredicate predicate) {
+    if (array==null)
+      return 0;
+
+    length = Math.max(0, Math.min(length, array.length));
+    if (predicate==null)
+      return length;
+
+    int position = 0;
+    for (int i = 0; i < length; i++) {
+      var element = array[i];
+      if (predicate.test(element))
+        array[position++] = element;
+    }
+    return position;
+  }
+
+  public static long[] concat(long[] array, long[]... items) {
+    return concatPrimitive(array, items);
+  }
+
+  public static void shuffle(long[] array) {
+    if (array==null || array.length<2)
+      return;
+
+    ArrayUtils.shuffle(array, ThreadLocalRandom.current());
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Primitive double arrays
+  // -------------------------------------------------------------------------------------------------------------------
+
+  public static double at(double[] array, int index) {
+    return array[primitiveIndex(ArrayUtils.getLength(array), index)];
+  }
+
+  public static double[] filter(double[] array, DoublePredicate predicate) {
+    return filter(array, predicate, true);
+  }
+
+  public static double[] removeIf(double[] array, DoublePredicate predicate) {
+    return filter(array, predicate, false);
+  }
+
+  private static double[] filter(double[] array, DoublePredicate predicate, boolean matching) {
+    if (array==null || predicate==null)
+      return array;
+
+    var mask = FilterMask.take(array.length);
+    int count = 0;
+    for (int i = 0; i < array.length; i++) {
+      if (predicate.test(array[i])==matching) {
+        mask[i >>> 6] |= 1L << i;
+        count++;
+      }
+    }
+    return gather(array, mask, count);
+  }
+
+  /**
+   * @see #compact(Object[], int, Predicate)
+   */
+  public static int compact(double[] array, int length, DoublePredicate predicate) {
+    if (array==null)
+      return 0;
+
+    length = Math.max(0, Math.min(length, array.length));
+    if (predicate==null)
+      return length;
+
+    int position = 0;
+    for (int i = 0; i < length; i++) {
+      var element = array[i];
+      if (predicate.test(element))
+        array[position++] = element;
+    }
+    return position;
+  }
+
+  public static double[] concat(double[] array, double[]... items) {
+    return concatPrimitive(array, items);
+  }
+
+  public static void shuffle(double[] array) {
+    if (array==null || array.length<2)
+      return;
+
+    ArrayUtils.shuffle(array, ThreadLocalRandom.current());
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Primitive arrays
+  // -------------------------------------------------------------------------------------------------------------------
+  // The methods below take an array of any primitive type as A, and copy it with System.arraycopy, without boxing
+
+  /**
+   * Returns the index of {@code index} in an array of {@code length}, negative indexes counting back from the end
+   *
+   * @throws ArrayIndexOutOfBoundsException if the index is outside of the array bounds
+   */
+  private static int primitiveIndex(int length, int index) {
+    int actual = index<0 ? length + index : index;
+    if (actual<0 || actual>=length)
+      throw new ArrayIndexOutOfBoundsException(index);
+
+    return actual;
+  }
+
+  /**
+   * Returns a new array of the type of the given primitive array
+   */
+  @SuppressWarnings("unchecked")
+  private static <A> A newPrimitiveArray(A array, int length) {
+    return (A) Array.newInstance(array.getClass().getComponentType(), length);
+  }
+
+  /**
+   * <p>Returns the {@code count} elements of the primitive array marked in the mask, in a new array, or the array
+   * itself if all of them are; hands the mask back cleared.</p>
+   *
+   * <p>Runs of marked elements are copied at once, so that dense masks cost about one copy of the result.</p>
+   */
+  private static <A> A gather(A array, long[] mask, int count) {
+    int length = Array.getLength(array);
+    if (count==length) {
+      java.util.Arrays.fill(mask, 0, (length + 63) >>> 6, 0L);
+      FilterMask.release(mask);
+      return array;
+    }
+
+    var result = newPrimitiveArray(array, count);
+    for (int w = 0, position = 0; position < count; w++) {
+      long bits = mask[w];
+      while (bits != 0) {
+        int start = Long.numberOfTrailingZeros(bits);
+        int run = Long.numberOfTrailingZeros(~(bits >>> start));
+        System.arraycopy(array, (w << 6) + start, result, position, run);
+        position += run;
+        bits &= run + start==64 ? 0 : -1L << (start + run);
+      }
+      mask[w] = 0;
+    }
+    FilterMask.release(mask);
+    return result;
+  }
+
+  private static <A> A concatPrimitive(A array, A[] items) {
+    if (array==null || items==null || items.length==0)
+      return clonePrimitive(array);
+
+    int length = Array.getLength(array);
+    for (A item : items) {
+      if (item!=null)
+        length += Array.getLength(item);
+    }
+
+    var result = newPrimitiveArray(array, length);
+    int position = Array.getLength(array);
+    System.arraycopy(array, 0, result, 0, position);
+    for (A item : items) {
+      if (item!=null) {
+        int itemLength = Array.getLength(item);
+        System.arraycopy(item, 0, result, position, itemLength);
+        position += itemLength;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns a new primitive array with the elements of {@code items} after the ones of {@code array}; a copy of
+   * {@code items} if {@code array} is {@code null}
+   */
+  public static <A> A appendPrimitive(A array, A items) {
+    if (array==null)
+      return clonePrimitive(items);
+    if (items==null)
+      return clonePrimitive(array);
+
+    int length = Array.getLength(array);
+    int itemsLength = Array.getLength(items);
+    var result = newPrimitiveArray(array, length + itemsLength);
+    System.arraycopy(array, 0, result, 0, length);
+    System.arraycopy(items, 0, result, length, itemsLength);
+    return result;
+  }
+
+  /**
+   * Returns a copy of the given primitive array, or {@code null}
+   */
+  public static <A> A clonePrimitive(A array) {
+    if (array==null)
+      return null;
+
+    int length = Array.getLength(array);
+    var result = newPrimitiveArray(array, length);
+    System.arraycopy(array, 0, result, 0, length);
+    return result;
+  }
+
+  /**
+   * <p>Returns the range {@code [startIndexInclusive, endIndexExclusive)} of the given primitive array, in a new array;
+   * indexes are clamped to the bounds of the array.</p>
+   */
+  public static <A> A subarrayPrimitive(A array, int startIndexInclusive, int endIndexExclusive) {
+    if (array==null)
+      return null;
+
+    int length = Array.getLength(array);
+    startIndexInclusive = Math.max(0, Math.min(length, startIndexInclusive));
+    endIndexExclusive = Math.max(startIndexInclusive, Math.min(length, endIndexExclusive));
+
+    var result = newPrimitiveArray(array, endIndexExclusive - startIndexInclusive);
+    System.arraycopy(array, startIndexInclusive, result, 0, endIndexExclusive - startIndexInclusive);
+    return result;
+  }
+
+  /**
+   * <p>Returns a new primitive array where the range {@code [startIndexInclusive, endIndexExclusive)} of the given
+   * one is replaced by the elements of {@code insert}, which may be {@code null}.</p>
+   *
+   * <p>Returns the array itself if it is empty or the start is outside of its bounds; a range ending before its start
+   * only inserts.</p>
+   */
+  static <A> A removeImplPrimitive(A array, int startIndexInclusive, int endIndexExclusive, A insert) {
+    int length = array!=null ? Array.getLength(array) : 0;
+    if (length==0 || startIndexInclusive<0 || startIndexInclusive>=length)
+      return array;
+
+    endIndexExclusive = Math.max(startIndexInclusive, Math.min(length, endIndexExclusive));
+
+    int insertsCount = insert!=null ? Array.getLength(insert) : 0;
+    var result = newPrimitiveArray(array, length - (endIndexExclusive - startIndexInclusive) + insertsCount);
+
+    System.arraycopy(array, 0, result, 0, startIndexInclusive);
+    if (insertsCount>0)
+      System.arraycopy(insert, 0, result, startIndexInclusive, insertsCount);
+    System.arraycopy(array, endIndexExclusive, result, startIndexInclusive + insertsCount, length - endIndexExclusive);
+    return result;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Per-thread bit mask of the filter kernels. A mask is taken out of the thread while in use, so that a predicate
+   * filtering another array gets a mask of its own, and it is handed back all zeros.
+   */
+  private static final class FilterMask {
+
+    /**
+     * Largest mask kept between calls, in words: enough for one million elements
+     */
+    private static final int MAX_CACHED_WORDS = 1 << 14;
+
+    private static final ThreadLocal<long[]> CACHE = new ThreadLocal<>();
+
+    private FilterMask(){}
+
+    static long[] take(int size) {
+      int words = (size + 63) >>> 6;
+      var mask = CACHE.get();
+      if (mask==null || mask.length < words)
+        return new long[words];
+
+      CACHE.set(null);
+      return mask;
+    }
+
+    static void release(long[] mask) {
+      if (mask.length <= MAX_CACHED_WORDS)
+        CACHE.set(mask);
+    }
+  }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bervini.rasael.jwrap.util;
+
+/**
+ * <p>The circular array logic shared by {@link ArrayBuffer} and {@link CircularList}.</p>
+ *
+ * <p>The capacity of a circular array is always a power of two, so that the logical index {@code i} of a ring
+ * starting at {@code head} is found at the physical index {@code (head + i) & (capacity - 1)}.</p>
+ */
+final class CircularArrays {
+
+  static final int MIN_CAPACITY = 8;
+
+  private CircularArrays(){}
+
+  /**
+   * Returns the physical index of the logical index {@code index}; {@code index} may be negative
+   */
+  static int physical(Object[] elements, int head, int index) {
+    return (head + index) & (elements.length - 1);
+  }
+
+  /**
+   * Returns the smallest power of two capacity, at least {@link #MIN_CAPACITY}, holding {@code size} elements
+   */
+  static int capacityFor(int size) {
+    if (size<=MIN_CAPACITY)
+      return MIN_CAPACITY;
+
+    int capacity = Integer.highestOneBit(size - 1) << 1;
+    if (capacity<0)
+      throw new OutOfMemoryError("Required array size too large");
+
+    return capacity;
+  }
+
+  /**
+   * Copies the {@code size} elements of the ring starting at {@code head} to the start of {@code target}
+   */
+  static void copyTo(Object[] source, int head, Object[] target, int size) {
+    int firstChunk = Math.min(size, source.length - head);
+    System.arraycopy(source, head, target, 0, firstChunk);
+    System.arraycopy(source, 0, target, firstChunk, size - firstChunk);
+  }
+
+  /**
+   * Returns a larger array of the same type, holding the ring from index 0, or {@code elements} if it is large
+   * enough
+   */
+  static <E> E[] grow(E[] elements, int head, int size, int minCapacity) {
+    if (minCapacity<=elements.length)
+      return elements;
+
+    E[] grown = Arrays.newArrayLike(elements, capacityFor(minCapacity));
+    copyTo(elements, head, grown, size);
+    return grown;
+  }
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bervini.rasael.jwrap.util;
+
+import javax.annotation.Nullable;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * <p>A {@link java.util.List} over a growable circular array.</p>
+ *
+ * <p>Like an {@link java.util.ArrayList}, elements are read and written by index in constant time; but insertions
+ * and removals move the elements on the shorter side of the index, so that adding or removing at both ends
+ * ({@code add(0, e)}, {@code remove(0)}, {@code add(e)}, {@code remove(size() - 1)}) runs in amortized constant
+ * time. This makes it a good FIFO queue that is still a {@link RandomAccess} list.</p>
+ *
+ * <p>{@code null} elements are allowed. This class is not thread-safe; its iterators are fail-fast.</p>
+ */
+public final class CircularList<E> extends AbstractList<E> implements RandomAccess {
+
+  /**
+   * Capacity is always a power of two, so that indexes can be wrapped with a mask
+   * @see CircularArrays
+   */
+  private Object[] elements;
+  private int head;
+  private int size;
+
+  public CircularList() {
+    this(CircularArrays.MIN_CAPACITY);
+  }
+
+  public CircularList(int capacity) {
+    elements = new Object[CircularArrays.capacityFor(capacity)];
+  }
+
+  public CircularList(@Nullable Collection<? extends E> collection) {
+    var array = collection!=null ? collection.toArray() : new Object[0];
+    elements = new Object[CircularArrays.capacityFor(array.length + 1)];
+    System.arraycopy(array, 0, elements, 0, array.length);
+    size = array.length;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public E get(int index) {
+    Objects.checkIndex(index, size);
+    return element(physical(index));
+  }
+
+  @Override
+  public E set(int index, E element) {
+    Objects.checkIndex(index, size);
+    int i = physical(index);
+    E previous = element(i);
+    elements[i] = element;
+    return previous;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Override
+  public boolean add(E element) {
+    addLast(element);
+    return true;
+  }
+
+  @Override
+  public void add(int index, E element) {
+    Objects.checkIndex(index, size + 1);
+    if (index==size) {
+      addLast(element);
+      return;
+    }
+
+    modCount++;
+    ensureCapacity(size + 1);
+    if (index < size - index) {
+      // opens the gap by moving the front one step back
+      head = physical(-1);
+      move(1, 0, index);
+    }
+    else {
+      move(index, index + 1, size - index);
+    }
+    elements[physical(index)] = element;
+    size++;
+  }
+
+  public void addFirst(E element) {
+    modCount++;
+    ensureCapacity(size + 1);
+    head = physical(-1);
+    elements[head] = element;
+    size++;
+  }
+
+  public void addLast(E element) {
+    modCount++;
+    ensureCapacity(size + 1);
+    elements[physical(size)] = element;
+    size++;
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends E> collection) {
+    return addAll(size, collection);
+  }
+
+  @Override
+  public boolean addAll(int index, Collection<? extends E> collection) {
+    Objects.checkIndex(index, size + 1);
+    var array = collection.toArray();
+    int count = array.length;
+    if (count==0)
+      return false;
+
+    modCount++;
+    ensureCapacity(size + count);
+    if (index < size - index) {
+      head = physical(-count);
+      move(count, 0, index);
+    }
+    else {
+      move(index, index + count, size - index);
+    }
+    for (int i=0; i<count; i++) {
+      elements[physical(index + i)] = array[i];
+    }
+    size += count;
+    return true;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Override
+  public E remove(int index) {
+    Objects.checkIndex(index, size);
+    E element = element(physical(index));
+    removeRange(index, index + 1);
+    return element;
+  }
+
+  /**
+   * Removes and returns the first element, or returns null if the list is empty
+   */
+  @Nullable
+  public E pollFirst() {
+    return size > 0 ? remove(0) : null;
+  }
+
+  /**
+   * Removes and returns the last element, or returns null if the list is empty
+   */
+  @Nullable
+  public E pollLast() {
+    return size > 0 ? remove(size - 1) : null;
+  }
+
+  @Override
+  protected void removeRange(int fromIndex, int toIndex) {
+    Objects.checkFromToIndex(fromIndex, toIndex, size);
+    int count = toIndex - fromIndex;
+    if (count==0)
+      return;
+
+    modCount++;
+    if (fromIndex < size - toIndex) {
+      // closes the gap by moving the front forward
+      move(0, count, fromIndex);
+      clear(0, count);
+      head = physical(count);
+    }
+    else {
+      move(toIndex, fromIndex, size - toIndex);
+      clear(size - count, size);
+    }
+    size -= count;
+  }
+
+  @Override
+  public void clear() {
+    modCount++;
+    clear(0, size);
+    head = 0;
+    size = 0;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Override
+  public void forEach(Consumer<? super E> action) {
+    Objects.requireNonNull(action);
+    int expectedModCount = modCount;
+    for (int i=0; i<size && modCount==expectedModCount; i++) {
+      action.accept(element(physical(i)));
+    }
+    if (modCount!=expectedModCount)
+      throw new ConcurrentModificationException();
+  }
+
+  @Override
+  public Object[] toArray() {
+    var result = new Object[size];
+    copyTo(result);
+    return result;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T[] toArray(T[] array) {
+    T[] result = array.length >= size ? array
+                                      : (T[]) java.lang.reflect.Array.newInstance(array.getClass().getComponentType(), size);
+    copyTo(result);
+    if (result.length > size)
+      result[size] = null;
+    return result;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @SuppressWarnings("unchecked")
+  private E element(int physicalIndex) {
+    return (E) elements[physicalIndex];
+  }
+
+  private int physical(int index) {
+    return CircularArrays.physical(elements, head, index);
+  }
+
+  /**
+   * Moves {@code length} elements from the logical index {@code from} to the logical index {@code to}
+   */
+  private void move(int from, int to, int length) {
+    if (to < from) {
+      for (int i=0; i<length; i++) {
+        elements[physical(to + i)] = elements[physical(from + i)];
+      }
+    }
+    else {
+      for (int i=length - 1; i>=0; i--) {
+        elements[physical(to + i)] = elements[physical(from + i)];
+      }
+    }
+  }
+
+  /**
+   * Clears the slots from the logical index {@code from} to {@code to}, so that they don't retain their elements
+   */
+  private void clear(int from, int to) {
+    for (int i=from; i<to; i++) {
+      elements[physical(i)] = null;
+    }
+  }
+
+  private void copyTo(Object[] target) {
+    CircularArrays.copyTo(elements, head, target, size);
+  }
+
+  private void ensureCapacity(int minCapacity) {
+    var grown = CircularArrays.grow(elements, head, size, minCapacity);
+    if (grown!=elements) {
+      elements = grown;
+      head = 0;
+    }
+  }
+}
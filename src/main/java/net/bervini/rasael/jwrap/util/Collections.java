@@ -48,6 +48,17 @@ public class Collections {
     return Lists.newList();
   }
 
+  /**
+   * <p>Returns true if the collection contains all the given elements, like {@link Collection#containsAll}; returns
+   * false if the collection is null, and true if the elements are null.</p>
+   *
+   * <p>Unlike {@link Iterables#containsAll(Iterable, Iterable)}, the elements are compared with {@code equals}, so
+   * arrays are compared by identity. A large collection that is not a set is put in a transient hash set first.</p>
+   */
+  public static boolean containsAll(Collection<?> collection, Iterable<?> elements) {
+    return Iterables.containsAll(collection, elements, false);
+  }
+
   public static <T> Collection<T> toCollection(Iterable<T> iterable) {
     if (iterable instanceof Collection<T> c) {
       return c;
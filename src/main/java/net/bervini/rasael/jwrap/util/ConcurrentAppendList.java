@@ -0,0 +1,226 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bervini.rasael.jwrap.util;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * <p>A thread-safe, append-only {@link java.util.List} that many threads can add to without locking.</p>
+ *
+ * <p>The elements are kept in segments of doubling size, which are never moved. Adding reserves the next slots with
+ * a compare-and-set of the counter of the reserved slots, and then writes them: {@link #add(Object)} and
+ * {@link #addAll(Collection)} are lock-free, and don't contend on anything but that counter.</p>
+ *
+ * <p>An element is visible once it and all the elements before it are written: {@link #size()} is the length of
+ * that prefix, so that every index below a size read from this list can be read, by any thread. Iterators never
+ * fail; they read the elements added while they iterate, up to the size they see at each step.</p>
+ *
+ * <p>Elements can be replaced with {@link #set(int, Object)}, but not removed. {@code null} elements are allowed.</p>
+ */
+@ThreadSafe
+public final class ConcurrentAppendList<E> extends AbstractList<E> implements RandomAccess {
+
+  /**
+   * Size of the first segment, a power of two; each next segment is twice as large as the previous one
+   */
+  private static final int FIRST_BITS = 4;
+  private static final int FIRST = 1 << FIRST_BITS;
+  private static final int SEGMENTS = Integer.SIZE - FIRST_BITS;
+  private static final int MAX_SIZE = Integer.MAX_VALUE - FIRST;
+
+  /**
+   * Written in place of {@code null} elements, so that a {@code null} slot is one not written yet
+   */
+  private static final Object NULL = new Object();
+
+  private final AtomicReferenceArray<AtomicReferenceArray<Object>> segments =
+      new AtomicReferenceArray<>(SEGMENTS);
+
+  /**
+   * Count of the slots handed out to writers
+   */
+  private final AtomicInteger reserved = new AtomicInteger();
+
+  /**
+   * A lower bound of the visible size, advanced by the readers
+   */
+  private final AtomicInteger published = new AtomicInteger();
+
+  public ConcurrentAppendList() {
+  }
+
+  public ConcurrentAppendList(@Nullable Collection<? extends E> collection) {
+    if (collection!=null)
+      addAll(collection);
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Override
+  public boolean add(E element) {
+    int index = reserve(1);
+    write(index, element);
+    return true;
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends E> collection) {
+    var elements = collection.toArray();
+    if (elements.length==0)
+      return false;
+
+    int index = reserve(elements.length);
+    for (int i=0; i<elements.length; i++) {
+      slot(index + i).set(offset(index + i), elements[i]!=null ? elements[i] : NULL);
+    }
+    return true;
+  }
+
+  /**
+   * <p>Returns the count of the elements that can be read: the elements added before, and written.</p>
+   */
+  @Override
+  public int size() {
+    int size = published.get();
+    int limit = reserved.get();
+    while (size < limit && isWritten(size)) {
+      size++;
+    }
+    return published.accumulateAndGet(size, Math::max);
+  }
+
+  @Override
+  public E get(int index) {
+    if (index < 0 || index >= published.get())
+      Objects.checkIndex(index, size());
+
+    return read(index);
+  }
+
+  /**
+   * <p>Replaces a visible element; this is atomic, but not ordered with other writes to the same index.</p>
+   */
+  @Override
+  public E set(int index, E element) {
+    if (index < 0 || index >= published.get())
+      Objects.checkIndex(index, size());
+
+    return unmask(slot(index).getAndSet(offset(index), element!=null ? element : NULL));
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Override
+  public Iterator<E> iterator() {
+    return new Iterator<>() {
+      private int cursor;
+
+      @Override
+      public boolean hasNext() {
+        return cursor < published.get() || cursor < size();
+      }
+
+      @Override
+      public E next() {
+        if (!hasNext())
+          throw new NoSuchElementException();
+        return read(cursor++);
+      }
+    };
+  }
+
+  /**
+   * Reports {@link Spliterator#CONCURRENT} and no size, as the list may grow while it is traversed
+   */
+  @Override
+  public Spliterator<E> spliterator() {
+    return java.util.Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.CONCURRENT);
+  }
+
+  @Override
+  public void forEach(Consumer<? super E> action) {
+    Objects.requireNonNull(action);
+    for (int i=0, size=size(); i<size; i++) {
+      action.accept(read(i));
+    }
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Reserves {@code count} slots and makes sure that their segments exist. Nothing is reserved if they don't fit, so
+   * that a failed reservation leaves room for smaller ones.
+   */
+  private int reserve(int count) {
+    int index;
+    do {
+      index = reserved.get();
+      if (index > MAX_SIZE - count)
+        throw new IllegalStateException("List full");
+    }
+    while (!reserved.compareAndSet(index, index + count));
+
+    int last = segment(index + count - 1);
+    for (int segment=segment(index); segment<=last; segment++) {
+      if (segments.get(segment)==null)
+        segments.compareAndSet(segment, null, new AtomicReferenceArray<>(FIRST << segment));
+    }
+    return index;
+  }
+
+  private void write(int index, E element) {
+    slot(index).set(offset(index), element!=null ? element : NULL);
+  }
+
+  private E read(int index) {
+    return unmask(slot(index).get(offset(index)));
+  }
+
+  private boolean isWritten(int index) {
+    var segment = segments.get(segment(index));
+    return segment!=null && segment.get(offset(index))!=null;
+  }
+
+  private AtomicReferenceArray<Object> slot(int index) {
+    return segments.get(segment(index));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <E> E unmask(Object value) {
+    return value==NULL ? null : (E) value;
+  }
+
+  private static int segment(int index) {
+    return Integer.numberOfLeadingZeros(FIRST) - Integer.numberOfLeadingZeros(index + FIRST);
+  }
+
+  private static int offset(int index) {
+    return (index + FIRST) - (FIRST << segment(index));
+  }
+}
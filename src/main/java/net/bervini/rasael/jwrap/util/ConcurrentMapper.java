@@ -0,0 +1,208 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bervini.rasael.jwrap.util;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * <p>Maps the elements of an iterator on the threads of a {@link VirtualThreads#newTaskExecutor() task executor},
+ * running at most {@code maxConcurrency} mappings at the same time, and returns the results in encounter order.</p>
+ *
+ * <p>The source is read on the consuming thread, one element ahead for each free slot. The first failing mapping
+ * cancels the others and is rethrown by {@link #next()}; a mapping running longer than the timeout, measured from
+ * its submission, fails with a {@link CompletionException} caused by a {@link TimeoutException}.</p>
+ */
+final class ConcurrentMapper<T, R> implements FunctionalIterator<R>, AutoCloseable {
+
+  private final Iterator<T> source;
+  private final Function<? super T, ? extends R> mapper;
+  private final int maxConcurrency;
+  private final long timeoutNanos;
+  private final ConcurrentLinkedDeque<Task<R>> running = new ConcurrentLinkedDeque<>();
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+  private ExecutorService executor;
+  private long remaining;
+  private boolean closed;
+
+  /**
+   * @param size the count of the elements of the source, or {@code -1} if unknown
+   * @param timeout the maximum time of each mapping, or {@code null} for no limit
+   */
+  ConcurrentMapper(Iterator<T> source, long size, Function<? super T, ? extends R> mapper, int maxConcurrency,
+                   Duration timeout) {
+    this.source = source;
+    this.remaining = size;
+    this.mapper = mapper;
+    this.maxConcurrency = maxConcurrency;
+    this.timeoutNanos = timeout!=null ? timeout.toNanos() : -1;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Override
+  public boolean hasNext() {
+    fill();
+    return !running.isEmpty();
+  }
+
+  @Override
+  public R next() {
+    fill();
+    // the awaited task stays running until done, for a failing mapping to cancel it as well
+    var task = running.peekFirst();
+    if (task==null)
+      throw new NoSuchElementException();
+
+    var result = await(task);
+    running.remove(task);
+    if (remaining > 0)
+      remaining--;
+
+    return result;
+  }
+
+  @Override
+  public long getExactSizeIfKnown() {
+    return remaining;
+  }
+
+  @Override
+  public int characteristics() {
+    return remaining >= 0 ? Spliterator.ORDERED | Spliterator.SIZED : Spliterator.ORDERED;
+  }
+
+  /**
+   * Cancels the running mappings and stops reading the source
+   */
+  @Override
+  public void close() {
+    closed = true;
+    cancel();
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Starts mappings until the running ones reach the maximum or the source is consumed
+   */
+  private void fill() {
+    while (!closed && running.size() < maxConcurrency && source.hasNext()) {
+      if (executor==null)
+        executor = VirtualThreads.newTaskExecutor();
+
+      T element = source.next();
+      var deadline = timeoutNanos >= 0 ? System.nanoTime() + timeoutNanos : 0;
+      try {
+        running.addLast(new Task<>(executor.submit(() -> apply(element)), deadline));
+      }
+      catch (RejectedExecutionException e) {
+        // a failing mapping shut the executor down meanwhile
+        if (failure.get()==null)
+          throw e;
+      }
+    }
+
+    // a failing mapping cancels and removes the running ones
+    var cause = failure.get();
+    if (cause!=null) {
+      close();
+      throw rethrow(cause);
+    }
+
+    if (running.isEmpty())
+      shutdown();
+  }
+
+  private R apply(T element) {
+    try {
+      return mapper.apply(element);
+    }
+    catch (RuntimeException | Error e) {
+      if (failure.compareAndSet(null, e))
+        cancel();
+
+      throw e;
+    }
+  }
+
+  private R await(Task<R> task) {
+    try {
+      if (timeoutNanos < 0)
+        return task.future.get();
+
+      return task.future.get(task.deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+    catch (ExecutionException | CancellationException e) {
+      close();
+      var cause = failure.get();
+      if (cause==null && e instanceof CancellationException cancellation)
+        throw cancellation;
+
+      throw rethrow(cause!=null ? cause : e.getCause());
+    }
+    catch (TimeoutException e) {
+      close();
+      throw new CompletionException(new TimeoutException("mapping did not complete within " +
+                                                         Duration.ofNanos(timeoutNanos)));
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      close();
+      throw new CompletionException(e);
+    }
+  }
+
+  private void cancel() {
+    Task<R> task;
+    while ((task = running.pollFirst())!=null)
+      task.future.cancel(true);
+
+    shutdown();
+  }
+
+  private void shutdown() {
+    var current = executor;
+    if (current!=null)
+      current.shutdown();
+  }
+
+  private static RuntimeException rethrow(Throwable failure) {
+    if (failure instanceof RuntimeException runtime)
+      return runtime;
+    if (failure instanceof Error error)
+      throw error;
+
+    return new CompletionException(failure);
+  }
+
+  private record Task<R>(Future<R> future, long deadline) {}
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bervini.rasael.jwrap.util;
+
+/**
+ * <p>Forward cursor over indexed elements.</p>
+ *
+ * <p>The cursor is a single object, moved with {@link #next()}, that exposes the index and the value of the current
+ * element: unlike an iterator of entries, iterating allocates nothing per element and never boxes the index.</p>
+ *
+ * <pre>
+ *   for (var cursor = $(array).cursor(); cursor.next(); ) {
+ *     use(cursor.index(), cursor.value());
+ *   }
+ * </pre>
+ *
+ * <p>Cursors are not thread-safe.</p>
+ *
+ * @see Iterators#cursor(Object[])
+ */
+public interface Cursor<E> {
+
+  /**
+   * Moves to the next element, returning false if there is none
+   */
+  boolean next();
+
+  /**
+   * Returns the index of the current element; -1 before the first call to {@link #next()}
+   */
+  int index();
+
+  /**
+   * Returns the current element; undefined before the first call to {@link #next()} and after it returned false
+   */
+  E value();
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bervini.rasael.jwrap.util;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Fork/join pools isolated from the {@link ForkJoinPool#commonPool() common pool}.</p>
+ */
+public final class ForkJoinPools {
+
+  private static final ConcurrentMap<Integer, ForkJoinPool> BOUNDED = new ConcurrentHashMap<>();
+
+  private ForkJoinPools(){}
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>Returns the shared pool running at most {@code parallelism} tasks at the same time, creating it on the first
+   * call. Its workers are daemon threads named {@code jwrap-parallel-<parallelism>-<n>}, and it is never shut
+   * down.</p>
+   *
+   * @throws IllegalArgumentException if {@code parallelism} is not positive
+   */
+  @Nonnull
+  public static ForkJoinPool withParallelism(int parallelism) {
+    Preconditions.checkArgument(parallelism > 0, "parallelism must be positive: %s", parallelism);
+    return BOUNDED.computeIfAbsent(parallelism, ForkJoinPools::create);
+  }
+
+  /**
+   * <p>Runs the task in the given pool and waits for its result; runs it directly when called from a worker of the
+   * pool. The fork/join work started by the task, such as the stages of a parallel stream, stays in the pool.</p>
+   *
+   * <p>Exceptions thrown by the task are rethrown as they are if unchecked, or wrapped in a
+   * {@link RuntimeException}.</p>
+   */
+  public static <T> T invoke(@Nonnull ForkJoinPool pool, @Nonnull Callable<T> task) {
+    if (ForkJoinTask.getPool()==pool) {
+      try {
+        return task.call();
+      }
+      catch (RuntimeException | Error e) {
+        throw e;
+      }
+      catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    }
+    return pool.invoke(ForkJoinTask.adapt(task));
+  }
+
+  private static ForkJoinPool create(int parallelism) {
+    var counter = new AtomicInteger();
+    ForkJoinPool.ForkJoinWorkerThreadFactory factory = pool -> {
+      ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName("jwrap-parallel-" + parallelism + "-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+    return new ForkJoinPool(parallelism, factory, null, false);
+  }
+}
@@ -19,6 +19,8 @@ package net.bervini.rasael.jwrap.util;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -41,11 +43,45 @@ public interface FunctionalIterator<E> extends Iterator<E> {
   }
 
   default List<E> toList() {
-    var list = new ArrayList<E>();
+    long size = getExactSizeIfKnown();
+    var list = size > 0 ? new ArrayList<E>((int) Math.min(size, Integer.MAX_VALUE - 8)) : new ArrayList<E>();
     forEachRemaining(list::add);
     return List.copyOf(list);
   }
 
+  /**
+   * <p>Returns the count of the remaining elements if it is known, or {@code -1}.</p>
+   *
+   * <p>The iterators of {@link Iterators} know it when their source does: arrays, singletons, sized iterators, and
+   * the maps and chains of them.</p>
+   */
+  default long getExactSizeIfKnown() {
+    return -1;
+  }
+
+  /**
+   * <p>Returns the {@link Spliterator} characteristics of the remaining elements; {@link Spliterator#SIZED} when
+   * {@link #getExactSizeIfKnown()} is known.</p>
+   */
+  default int characteristics() {
+    return 0;
+  }
+
+  /**
+   * <p>Returns a spliterator of the remaining elements, which takes over this iterator: this iterator must not be
+   * used afterwards.</p>
+   *
+   * <p>The spliterator has the characteristics of this iterator, and knows its size when this iterator does, so that
+   * streams can presize their results and split in balanced batches.</p>
+   */
+  default Spliterator<E> spliterator() {
+    long size = getExactSizeIfKnown();
+    if (size >= 0)
+      return java.util.Spliterators.spliterator(this, size, characteristics());
+
+    return java.util.Spliterators.spliteratorUnknownSize(this, characteristics());
+  }
+
   static <E> FunctionalIterator<E> of(Iterator<E> iterator) {
     return new Impl<>(iterator);
   }
@@ -61,6 +97,27 @@ public interface FunctionalIterator<E> extends Iterator<E> {
     public E next() {
       return back.next();
     }
+
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+      back.forEachRemaining(action);
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+      return back instanceof FunctionalIterator<E> functional ? functional.getExactSizeIfKnown() : -1;
+    }
+
+    @Override
+    public int characteristics() {
+      return back instanceof FunctionalIterator<E> functional ? functional.characteristics() : 0;
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+      return back instanceof FunctionalIterator<E> functional ? functional.spliterator()
+                                                              : FunctionalIterator.super.spliterator();
+    }
   }
 
 }
@@ -20,10 +20,13 @@ import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNullableByDefault;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.Spliterator;
 import java.util.function.Consumer;
 import java.util.function.IntFunction;
@@ -36,6 +39,16 @@ public class Iterables {
 
   private static final Iterable<?> EMPTY = new EmptyIterable();
 
+  /**
+   * Number of comparisons up to which {@link #containsAll(Iterable, Iterable)} scans the iterable for each element
+   */
+  private static final int LINEAR_CONTAINS_THRESHOLD = 256;
+
+  /**
+   * Number of elements up to which {@link #containsAll(Iterable, Iterable)} never builds a hash set
+   */
+  private static final int MIN_HASHED_PROBES = 4;
+
   private Iterables(){}
 
   // -------------------------------------------------------------------------------------------------------------------
@@ -158,17 +171,92 @@ public class Iterables {
    * @return true if all elements of the sequence are present in the given iterable
    */
   public static <E> boolean contains(Iterable<E> iterable, Iterable<E> sequence) {
+    return containsAll(iterable, sequence);
+  }
+
+  public static boolean contains(Iterable<?> iterable, Object value) {
     if (iterable==null)
       return false;
 
-    return Streams.stream(sequence).allMatch(value -> contains(iterable, value));
+    for (Object element : iterable) {
+      if (Comparison.areEqual(element, value))
+        return true;
+    }
+    return false;
   }
 
-  public static boolean contains(Iterable<?> iterable, Object value) {
+  /**
+   * <p>Returns true if {@code iterable} contains all the given {@code elements}, compared with
+   * {@link Comparison#areEqual(Object, Object)}: arrays are compared by content.</p>
+   *
+   * <p>Small inputs are checked with a scan of {@code iterable} for each element. Above
+   * {@value #LINEAR_CONTAINS_THRESHOLD} comparisons the elements of {@code iterable} are put in a transient hash set
+   * first, turning the {@code O(n*m)} scans into {@code O(n + m)}; the result is the same as long as the
+   * {@code equals} and {@code hashCode} of the elements are consistent.</p>
+   */
+  public static boolean containsAll(Iterable<?> iterable, Iterable<?> elements) {
+    return containsAll(iterable, elements, true);
+  }
+
+  /**
+   * @param byContent whether arrays are compared by content, like {@link Comparison#areEqual(Object, Object)}, or
+   *                  with {@code equals}, like {@link Collection#contains(Object)}
+   */
+  static boolean containsAll(Iterable<?> iterable, Iterable<?> elements, boolean byContent) {
     if (iterable==null)
       return false;
 
-    return Streams.stream(iterable).anyMatch(Comparison.isEqualTo(value));
+    if (elements==null)
+      return true;
+
+    Collection<?> probes;
+    if (elements instanceof Collection<?> collection) {
+      probes = collection;
+    }
+    else {
+      var list = new ArrayList<>();
+      elements.forEach(list::add);
+      probes = list;
+    }
+    if (probes.isEmpty())
+      return true;
+
+    // sets, which may not use equals, are asked directly
+    long size = iterable instanceof Collection<?> collection ? collection.size() : Integer.MAX_VALUE;
+    if ((!byContent && iterable instanceof Set<?>) || probes.size() <= MIN_HASHED_PROBES
+        || size * probes.size() <= LINEAR_CONTAINS_THRESHOLD) {
+      for (Object probe : probes) {
+        if (!contains(iterable, probe, byContent))
+          return false;
+      }
+      return true;
+    }
+
+    var set = new HashSet<Object>();
+    iterable.forEach(set::add);
+    for (Object probe : probes) {
+      // an array probe equals arrays of the same content, which the hash set can't find
+      boolean found = byContent && probe!=null && probe.getClass().isArray()
+                      ? contains(set, probe)
+                      : set.contains(probe);
+      if (!found)
+        return false;
+    }
+    return true;
+  }
+
+  private static boolean contains(Iterable<?> iterable, Object value, boolean byContent) {
+    if (byContent)
+      return contains(iterable, value);
+
+    if (iterable instanceof Collection<?> collection)
+      return collection.contains(value);
+
+    for (Object element : iterable) {
+      if (Objects.equals(value, element))
+        return true;
+    }
+    return false;
   }
 
   public static <T> T[] toArray(Iterable<T> iterable, IntFunction<T[]> generator) {
@@ -17,18 +17,35 @@
 package net.bervini.rasael.jwrap.util;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Spliterator.CONCURRENT;
+import static java.util.Spliterator.DISTINCT;
+import static java.util.Spliterator.IMMUTABLE;
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
+import static java.util.Spliterator.SIZED;
+import static java.util.Spliterator.SORTED;
+import static java.util.Spliterator.SUBSIZED;
 
 public class Iterators {
 
-  private static final FunctionalIterator<?> EMPTY_ITERATOR = FunctionalIterator.of(java.util.Collections.emptyIterator());
+  private static final Object[] EMPTY_ARRAY = new Object[0];
+
+  private static final FunctionalIterator<?> EMPTY_ITERATOR = new ArrayIterator<>(EMPTY_ARRAY);
 
   private Iterators() {
   }
@@ -39,11 +56,56 @@ public class Iterators {
     return (FunctionalIterator<T>) EMPTY_ITERATOR;
   }
 
+  /**
+   * <p>Returns an iterator of the entries index/element of the given iterator.</p>
+   *
+   * <p>The index is only boxed when {@link Map.Entry#getKey()} is called; prefer a {@link Cursor} to avoid
+   * allocating an entry per element. The iterator is not synchronized, see {@link #synchronizedIterator(Iterator)}.</p>
+   */
   public static <ELEMENT> Iterator<Map.Entry<Integer, ELEMENT>> indexed(Iterator<ELEMENT> iterator) {
     if (iterator==null)
       return empty();
 
-    return synchronizedIterator(new IndexedIterator<>(iterator));
+    return new IndexedIterator<>(iterator);
+  }
+
+  /**
+   * Returns an iterator of the entries index/element of the given array
+   * @see #indexed(Iterator)
+   */
+  public static <ELEMENT> Iterator<Map.Entry<Integer, ELEMENT>> indexed(ELEMENT[] array) {
+    if (array==null)
+      return empty();
+
+    return new IndexedArrayIterator<>(array);
+  }
+
+  /**
+   * Returns a cursor over the given array, reading it directly
+   */
+  public static <E> Cursor<E> cursor(E[] array) {
+    return new ArrayCursor<>(array!=null ? array : (E[]) EMPTY_ARRAY);
+  }
+
+  /**
+   * Returns a cursor over the given list: lists with {@link RandomAccess} are read by index, the others with an
+   * iterator
+   */
+  public static <E> Cursor<E> cursor(List<E> list) {
+    if (list==null)
+      return new ArrayCursor<>((E[]) EMPTY_ARRAY);
+
+    if (list instanceof RandomAccess)
+      return new ListCursor<>(list);
+
+    return new IteratorCursor<>(list.iterator());
+  }
+
+  /**
+   * Returns a cursor over the remaining elements of the given iterator, the first one having the index 0
+   */
+  public static <E> Cursor<E> cursor(Iterator<E> iterator) {
+    return new IteratorCursor<>(iterator!=null ? iterator : empty());
   }
 
   public static <E> Iterator<E> synchronizedIterator(Iterator<E> iterator) {
@@ -51,47 +113,135 @@ public class Iterators {
   }
 
   @SafeVarargs
-  public static <T> Iterator<T> of(T... values) {
+  public static <T> FunctionalIterator<T> of(T... values) {
     if (values==null)
       return empty();
 
-    return Stream.of(values).iterator();
+    return new ArrayIterator<>(values);
   }
 
+  @SafeVarargs
   public static <E> FunctionalIterator<E> append(Iterator<E> iterator, E... element) {
     if (iterator==null) return null;
     Objects.requireNonNull(element, "element is null");
-    return new IteratorChain<>(iterator, List.of(element));
+    return concat(iterator, new ArrayIterator<>(element));
   }
 
   public static <E> FunctionalIterator<E> append(Iterator<E> iterator, Iterable<E> elements) {
     if (iterator==null) return null;
     Objects.requireNonNull(elements, "elements is null");
-    return new IteratorChain<>(iterator, elements);
+    return concat(iterator, iterator(elements));
   }
 
+  @SafeVarargs
   public static <E> FunctionalIterator<E> prepend(Iterator<E> iterator, E... element) {
     if (iterator==null) return null;
     Objects.requireNonNull(element, "element is null");
-    return new IteratorChain<>(of(element), iterator);
+    return concat(new ArrayIterator<>(element), iterator);
   }
 
   public static <E> FunctionalIterator<E> prepend(Iterator<E> iterator, Iterable<E> elements) {
     if (iterator==null) return null;
     Objects.requireNonNull(elements, "elements is null");
-    return new IteratorChain<>(elements.iterator(), iterator);
+    return concat(iterator(elements), iterator);
   }
 
+  /**
+   * <p>Returns an iterator applying the function to each element of the given iterator.</p>
+   *
+   * <p>Consecutive {@code map} and {@code filter} calls are fused into a single iterator running all their functions
+   * in one loop, instead of wrapping one iterator per call.</p>
+   */
   public static <E, R> FunctionalIterator<R> map(Iterator<E> iterator, Function<? super E, ? extends R> function) {
-    return new FunctionIterator<>(iterator, function);
+    return Pipeline.of(iterator, new MapStage(function));
   }
 
+  /**
+   * <p>Returns an iterator of the elements of the given iterator matching the predicate.</p>
+   *
+   * @see #map(Iterator, Function)
+   */
   public static <E> FunctionalIterator<E> filter(Iterator<E> iterator, Predicate<? super E> predicate) {
-    return new FilterIterator<>(iterator, predicate);
+    return Pipeline.of(iterator, new FilterStage(predicate));
+  }
+
+  public static <T> FunctionalIterator<T> singleton(T value) {
+    return new SingletonIterator<>(value);
   }
 
-  public static <T> Iterator<T> singleton(T value) {
-    return Stream.of(value).iterator();
+  /**
+   * <p>Returns an iterator of the elements of the given collection that knows how many remain, with the
+   * characteristics of the collection's spliterator.</p>
+   *
+   * <p>The size is only reported when the collection's spliterator is {@code SIZED} and not {@code CONCURRENT}:
+   * concurrent collections can change size while they are iterated.</p>
+   *
+   * @see FunctionalIterator#getExactSizeIfKnown()
+   */
+  public static <E> FunctionalIterator<E> sized(Collection<E> collection) {
+    if (collection==null)
+      return empty();
+
+    int characteristics = collection.spliterator().characteristics();
+    if ((characteristics & SIZED)==0 || (characteristics & CONCURRENT)!=0)
+      return FunctionalIterator.of(collection.iterator());
+
+    characteristics &= ORDERED | NONNULL | DISTINCT | IMMUTABLE;
+    return new SizedIterator<>(collection.iterator(), collection.size(), characteristics);
+  }
+
+  /**
+   * <p>Returns an iterator of the elements of the given iterator that reports {@code size} remaining elements, and
+   * the given {@link Spliterator} characteristics; {@code SIZED} and {@code SUBSIZED} are added.</p>
+   *
+   * <p>The iterator must return exactly {@code size} elements.</p>
+   */
+  public static <E> FunctionalIterator<E> sized(Iterator<E> iterator, long size, int characteristics) {
+    Preconditions.requireArgNonNull(iterator);
+    Preconditions.checkArgument(size >= 0, "size must not be negative: %s", size);
+    return new SizedIterator<>(iterator, size, characteristics);
+  }
+
+  private static <E> Iterator<E> iterator(Iterable<E> iterable) {
+    return iterable instanceof Collection<E> collection ? sized(collection) : iterable.iterator();
+  }
+
+  /**
+   * Returns the spliterator of the given iterator, which then must not be used anymore
+   */
+  static <E> Spliterator<E> spliterator(Iterator<E> iterator) {
+    if (iterator instanceof FunctionalIterator<E> functional)
+      return functional.spliterator();
+
+    return java.util.Spliterators.spliteratorUnknownSize(iterator, 0);
+  }
+
+  private static long size(Iterator<?> iterator) {
+    return iterator instanceof FunctionalIterator<?> functional ? functional.getExactSizeIfKnown() : -1;
+  }
+
+  private static int characteristics(Iterator<?> iterator) {
+    return iterator instanceof FunctionalIterator<?> functional ? functional.characteristics() : 0;
+  }
+
+  /**
+   * Chains the iterators, flattening the chains that were not read yet
+   */
+  private static <E> FunctionalIterator<E> concat(Iterator<? extends E> first, Iterator<? extends E> second) {
+    var parts = new ArrayList<Iterator<? extends E>>();
+    for (var iterator : List.of(first, second)) {
+      if (iterator instanceof Concat<? extends E> chain && chain.part==0)
+        parts.addAll(java.util.Arrays.asList(chain.parts));
+      else
+        parts.add(iterator);
+    }
+    return new Concat<>(toArray(parts));
+  }
+
+  private static <E> Iterator<? extends E>[] toArray(List<Iterator<? extends E>> parts) {
+    @SuppressWarnings("unchecked")
+    Iterator<? extends E>[] array = (Iterator<? extends E>[]) parts.toArray(new Iterator<?>[0]);
+    return array;
   }
 
   // -------------------------------------------------------------------------------------------------------------------
@@ -114,7 +264,168 @@ public class Iterators {
 
     @Override
     public Map.Entry<Integer, E> next() {
-      return Map.entry(index++, iterator.next());
+      return new IndexedEntry<>(index++, iterator.next());
+    }
+  }
+
+  private static final class IndexedArrayIterator<E>
+      implements FunctionalIterator<Map.Entry<Integer, E>> {
+
+    private final E[] array;
+    private int index;
+
+    private IndexedArrayIterator(E[] array) {
+      this.array = array;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return index < array.length;
+    }
+
+    @Override
+    public Map.Entry<Integer, E> next() {
+      if (index >= array.length)
+        throw new NoSuchElementException();
+
+      int i = index++;
+      return new IndexedEntry<>(i, array[i]);
+    }
+  }
+
+  /**
+   * Immutable entry keeping the index unboxed, equal to any {@link Map.Entry} with the same key and value
+   */
+  private record IndexedEntry<E>(int index, E value) implements Map.Entry<Integer, E> {
+
+    @Override
+    public Integer getKey() {
+      return index;
+    }
+
+    @Override
+    public E getValue() {
+      return value;
+    }
+
+    @Override
+    public E setValue(E value) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Map.Entry<?, ?> entry
+             && entry.getKey() instanceof Integer key && key==index
+             && Objects.equals(value, entry.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return index ^ Objects.hashCode(value);
+    }
+
+    @Override
+    public String toString() {
+      return index + "=" + value;
+    }
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  private static final class ArrayCursor<E> implements Cursor<E> {
+
+    private final E[] array;
+    private int index = -1;
+    private E value;
+
+    private ArrayCursor(E[] array) {
+      this.array = array;
+    }
+
+    @Override
+    public boolean next() {
+      int next = index + 1;
+      if (next >= array.length) {
+        value = null;
+        return false;
+      }
+      value = array[next];
+      index = next;
+      return true;
+    }
+
+    @Override
+    public int index() {
+      return index;
+    }
+
+    @Override
+    public E value() {
+      return value;
+    }
+  }
+
+  private static final class ListCursor<E> implements Cursor<E> {
+
+    private final List<E> list;
+    private int index = -1;
+    private E value;
+
+    private ListCursor(List<E> list) {
+      this.list = list;
+    }
+
+    @Override
+    public boolean next() {
+      if (index + 1 >= list.size()) {
+        value = null;
+        return false;
+      }
+      value = list.get(++index);
+      return true;
+    }
+
+    @Override
+    public int index() {
+      return index;
+    }
+
+    @Override
+    public E value() {
+      return value;
+    }
+  }
+
+  private static final class IteratorCursor<E> implements Cursor<E> {
+
+    private final Iterator<E> iterator;
+    private int index = -1;
+    private E value;
+
+    private IteratorCursor(Iterator<E> iterator) {
+      this.iterator = iterator;
+    }
+
+    @Override
+    public boolean next() {
+      if (!iterator.hasNext()) {
+        value = null;
+        return false;
+      }
+      value = iterator.next();
+      index++;
+      return true;
+    }
+
+    @Override
+    public int index() {
+      return index;
+    }
+
+    @Override
+    public E value() {
+      return value;
     }
   }
 
@@ -136,81 +447,425 @@ public class Iterators {
     }
   }
 
-  private record IteratorChain<E>(Iterator<E> before, Iterator<E> after)
-      implements FunctionalIterator<E> {
+  private static final class ArrayIterator<E> implements FunctionalIterator<E> {
+
+    private final E[] array;
+    private int index;
 
-    IteratorChain(Iterator<E> before, Iterable<E> after) {
-      this(before, after.iterator());
+    private ArrayIterator(E[] array) {
+      this.array = array;
     }
 
     @Override
     public boolean hasNext() {
-      return before.hasNext() || after.hasNext();
+      return index < array.length;
     }
 
     @Override
     public E next() {
-      return before.hasNext() ? before.next() : after.next();
+      if (index >= array.length)
+        throw new NoSuchElementException();
+      return array[index++];
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+      Objects.requireNonNull(action);
+      var elements = array;
+      for (int i=index; i<elements.length; i++) {
+        index = i + 1;
+        action.accept(elements[i]);
+      }
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+      return array.length - index;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | SIZED | SUBSIZED;
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+      Spliterator<E> result = java.util.Spliterators.spliterator(array, index, array.length, ORDERED);
+      index = array.length;
+      return result;
     }
   }
 
-  private record FunctionIterator<E, R>(Iterator<E> iterator, Function<? super E, ? extends R> function)
-      implements FunctionalIterator<R> {
+  private static final class SingletonIterator<E> implements FunctionalIterator<E> {
+
+    private final E value;
+    private boolean read;
+
+    private SingletonIterator(E value) {
+      this.value = value;
+    }
 
     @Override
     public boolean hasNext() {
-      return iterator.hasNext();
+      return !read;
+    }
+
+    @Override
+    public E next() {
+      if (read)
+        throw new NoSuchElementException();
+      read = true;
+      return value;
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+      return read ? 0 : 1;
     }
 
     @Override
-    public R next() {
-      return function.apply(iterator.next());
+    public int characteristics() {
+      return ORDERED | SIZED | SUBSIZED | (value!=null ? NONNULL : 0);
     }
   }
 
-  private static final class FilterIterator<E>
-      implements FunctionalIterator<E> {
+  private static final class SizedIterator<E> implements FunctionalIterator<E> {
 
     private final Iterator<E> iterator;
-    private final Predicate<? super E> predicate;
-    private boolean isNextReady;
-    private boolean hasNext;
-    private E next;
+    private final int characteristics;
+    private long remaining;
 
-    private FilterIterator(@Nonnull Iterator<E> iterator, @Nonnull Predicate<? super E> predicate) {
+    private SizedIterator(Iterator<E> iterator, long size, int characteristics) {
       this.iterator = iterator;
-      this.predicate = predicate;
+      this.remaining = size;
+      this.characteristics = characteristics | SIZED | SUBSIZED;
     }
 
     @Override
     public boolean hasNext() {
-      if (!isNextReady) readNext();
-      return hasNext;
+      return iterator.hasNext();
     }
 
     @Override
     public E next() {
-      if (!isNextReady) readNext();
+      var next = iterator.next();
+      remaining--;
+      return next;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+      Objects.requireNonNull(action);
+      iterator.forEachRemaining(element -> {
+        remaining--;
+        action.accept(element);
+      });
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+      return Math.max(0, remaining);
+    }
+
+    @Override
+    public int characteristics() {
+      return characteristics;
+    }
+  }
+
+  private static final class Concat<E> implements FunctionalIterator<E> {
+
+    private final Iterator<? extends E>[] parts;
+    private int part;
 
-      if (!hasNext)
+    private Concat(Iterator<? extends E>[] parts) {
+      this.parts = parts;
+    }
+
+    @Override
+    public boolean hasNext() {
+      for (; part < parts.length; part++) {
+        if (parts[part].hasNext())
+          return true;
+      }
+      return false;
+    }
+
+    @Override
+    public E next() {
+      if (!hasNext())
         throw new NoSuchElementException();
+      return parts[part].next();
+    }
 
-      isNextReady = false;
-      return next;
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+      Objects.requireNonNull(action);
+      for (; part < parts.length; part++) {
+        parts[part].forEachRemaining(action);
+      }
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+      long size = 0;
+      for (int i=part; i<parts.length; i++) {
+        long partSize = Iterators.size(parts[i]);
+        if (partSize < 0)
+          return -1;
+        size += partSize;
+        if (size < 0)
+          return -1;
+      }
+      return size;
+    }
+
+    @Override
+    public int characteristics() {
+      int characteristics = ORDERED | SIZED | SUBSIZED | NONNULL;
+      for (int i=part; i<parts.length; i++) {
+        characteristics &= Iterators.characteristics(parts[i]);
+      }
+      return getExactSizeIfKnown() >= 0 ? characteristics : characteristics & ~(SIZED | SUBSIZED);
+    }
+
+    /**
+     * Concatenates the spliterators of the parts in a balanced tree, which splits at the boundaries of the parts
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+      var result = spliterator(part, parts.length);
+      part = parts.length;
+      return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Spliterator<E> spliterator(int from, int to) {
+      if (from >= to)
+        return java.util.Spliterators.emptySpliterator();
+      if (to - from==1)
+        return (Spliterator<E>) Iterators.spliterator(parts[from]);
+
+      int mid = (from + to) >>> 1;
+      return Stream.concat(StreamSupport.stream(spliterator(from, mid), false),
+                           StreamSupport.stream(spliterator(mid, to), false)).spliterator();
+    }
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Fused map/filter pipelines
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Returned by a stage for an element that was filtered out
+   */
+  private static final Object SKIP = new Object();
+
+  /**
+   * <p>A step of a pipeline. There are only two kinds of stages, so that the JIT can inline the calls to them where
+   * it couldn't inline the {@code hasNext()}/{@code next()} calls of a chain of iterators.</p>
+   */
+  private interface Stage {
+    Object apply(Object value);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private record MapStage(Function function) implements Stage {
+
+    @Override
+    public Object apply(Object value) {
+      return function.apply(value);
+    }
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private record FilterStage(Predicate predicate) implements Stage {
+
+    @Override
+    public Object apply(Object value) {
+      return predicate.test(value) ? value : SKIP;
+    }
+  }
+
+  /**
+   * <p>Iterates a source through a list of map and filter stages. Mapping or filtering a pipeline that was not read
+   * yet returns a pipeline with one more stage over the same source.</p>
+   *
+   * <p>Without filters, elements are mapped in {@link #next()}; with filters, {@link #hasNext()} reads ahead to the
+   * next element that passes them. {@link #forEachRemaining(Consumer)} pushes the elements through the stages from
+   * the source's own {@code forEachRemaining}.</p>
+   */
+  private static final class Pipeline<S, E> implements FunctionalIterator<E> {
+
+    private final Iterator<S> source;
+    private final Stage[] stages;
+    private final boolean filtering;
+
+    /**
+     * The characteristics of the source that the stages keep
+     */
+    private final int mask;
+
+    /**
+     * The element read ahead, or {@link #SKIP}
+     */
+    private Object next = SKIP;
+
+    private Pipeline(Iterator<S> source, Stage[] stages) {
+      this.source = Preconditions.requireArgNonNull(source);
+      this.stages = stages;
+      this.filtering = java.util.Arrays.stream(stages).anyMatch(FilterStage.class::isInstance);
+      boolean mapping = java.util.Arrays.stream(stages).anyMatch(MapStage.class::isInstance);
+      // maps keep the count and the order of the elements, filters keep the elements themselves
+      this.mask = ~((filtering ? SIZED | SUBSIZED : 0) | (mapping ? NONNULL | DISTINCT | SORTED | IMMUTABLE : 0));
+    }
+
+    @SuppressWarnings("unchecked")
+    static <S, E> Pipeline<S, E> of(Iterator<?> iterator, Stage stage) {
+      if (iterator instanceof Pipeline<?, ?> pipeline && pipeline.next==SKIP) {
+        var stages = java.util.Arrays.copyOf(pipeline.stages, pipeline.stages.length + 1);
+        stages[pipeline.stages.length] = stage;
+        return new Pipeline<>((Iterator<S>) pipeline.source, stages);
+      }
+      return new Pipeline<>((Iterator<S>) iterator, new Stage[]{stage});
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (!filtering)
+        return source.hasNext();
+
+      while (next==SKIP) {
+        if (!source.hasNext())
+          return false;
+        next = apply(source.next());
+      }
+      return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E next() {
+      if (!filtering)
+        return (E) apply(source.next());
+
+      if (!hasNext())
+        throw new NoSuchElementException();
+      var result = next;
+      next = SKIP;
+      return (E) result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachRemaining(Consumer<? super E> action) {
+      Objects.requireNonNull(action);
+      if (next!=SKIP) {
+        var pending = next;
+        next = SKIP;
+        action.accept((E) pending);
+      }
+      source.forEachRemaining(element -> {
+        var result = apply(element);
+        if (result!=SKIP)
+          action.accept((E) result);
+      });
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+      return filtering ? -1 : Iterators.size(source);
+    }
+
+    @Override
+    public int characteristics() {
+      return Iterators.characteristics(source) & mask;
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+      if (next!=SKIP)
+        return FunctionalIterator.super.spliterator();
+
+      return new StagedSpliterator<>(Iterators.spliterator(source), stages, mask);
+    }
+
+    private Object apply(Object value) {
+      for (Stage stage : stages) {
+        value = stage.apply(value);
+        if (value==SKIP)
+          return SKIP;
+      }
+      return value;
+    }
+  }
+
+  /**
+   * Runs the elements of a source spliterator through the stages of a pipeline; splits with the source
+   */
+  private static final class StagedSpliterator<S, E> implements Spliterator<E> {
+
+    private final Spliterator<S> source;
+    private final Stage[] stages;
+    private final int mask;
+
+    private Object current;
+
+    private StagedSpliterator(Spliterator<S> source, Stage[] stages, int mask) {
+      this.source = source;
+      this.stages = stages;
+      this.mask = mask;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean tryAdvance(Consumer<? super E> action) {
+      Objects.requireNonNull(action);
+      current = SKIP;
+      while (current==SKIP) {
+        if (!source.tryAdvance(element -> current = apply(element)))
+          return false;
+      }
+      var result = current;
+      current = null;
+      action.accept((E) result);
+      return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachRemaining(Consumer<? super E> action) {
+      Objects.requireNonNull(action);
+      source.forEachRemaining(element -> {
+        var result = apply(element);
+        if (result!=SKIP)
+          action.accept((E) result);
+      });
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+      var prefix = source.trySplit();
+      return prefix!=null ? new StagedSpliterator<>(prefix, stages, mask) : null;
+    }
+
+    @Override
+    public long estimateSize() {
+      return source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+      return source.characteristics() & mask;
     }
 
-    private void readNext() {
-      hasNext = false;
-      next = null;
-      while(iterator.hasNext()) {
-        var next = iterator.next();
-        if (predicate.test(next)) {
-          this.hasNext = true;
-          this.next = next;
-          this.isNextReady = true;
-          return;
-        }
+    private Object apply(Object value) {
+      for (Stage stage : stages) {
+        value = stage.apply(value);
+        if (value==SKIP)
+          return SKIP;
       }
+      return value;
     }
   }
 }
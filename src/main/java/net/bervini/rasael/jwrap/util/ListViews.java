@@ -0,0 +1,433 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bervini.rasael.jwrap.util;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * <p>Lazy, read-only views over lists.</p>
+ *
+ * <p>The views never copy the lists they are built on: functions and predicates are applied when the elements are
+ * read, and changes to the underlying lists are visible through the views (except for memoized views). Views
+ * compose without copying; a list is built only when a view is copied, for example by {@link List#copyOf}.</p>
+ *
+ * <p>Views keep the {@link RandomAccess} marker of the lists they are built on.</p>
+ */
+public final class ListViews {
+
+  private ListViews(){}
+
+  /**
+   * <p>Returns a view of the given list with the function applied to each element, each time it is read.</p>
+   */
+  @Nonnull
+  public static <E, R> List<R> map(List<? extends E> list, @Nonnull Function<? super E, ? extends R> function) {
+    Preconditions.requireArgNonNull(function);
+    if (list==null)
+      return List.of();
+
+    return list instanceof RandomAccess ? new RandomAccessMappedView<>(list, function)
+                                        : new MappedView<>(list, function);
+  }
+
+  /**
+   * <p>Returns a random-access view of the given list with the function applied to each element the first time it
+   * is read, and then remembered.</p>
+   *
+   * <p>The view has the size of the list at the time it is created, and doesn't see the later changes of the list;
+   * it is meant for expensive functions over lists that don't change.</p>
+   */
+  @Nonnull
+  public static <E, R> List<R> memoize(List<? extends E> list, @Nonnull Function<? super E, ? extends R> function) {
+    Preconditions.requireArgNonNull(function);
+    if (list==null)
+      return List.of();
+
+    return new MemoizedView<>(list, function);
+  }
+
+  /**
+   * <p>Returns a view of the elements of the given list matching the predicate.</p>
+   *
+   * <p>The predicate is tested each time the elements are read, so the view follows the changes of the list:
+   * iterating is linear, but {@link List#size()} and {@link List#get(int)} scan the list up to the match they need.
+   * Copy the view, for example with {@link List#copyOf}, to read it by index repeatedly.</p>
+   */
+  @Nonnull
+  public static <E> List<E> filter(List<E> list, @Nonnull Predicate<? super E> predicate) {
+    Preconditions.requireArgNonNull(predicate);
+    if (list==null)
+      return List.of();
+
+    return new FilteredView<>(list, predicate);
+  }
+
+  /**
+   * <p>Returns a view of the given lists one after the other. {@code null} lists are skipped.</p>
+   */
+  @SafeVarargs
+  @Nonnull
+  public static <E> List<E> concat(List<? extends E>... lists) {
+    if (lists==null)
+      return List.of();
+
+    List<? extends E>[] parts = nonNull(lists);
+    for (var part : parts) {
+      if (!(part instanceof RandomAccess))
+        return new ConcatView<>(parts);
+    }
+    return new RandomAccessConcatView<>(parts);
+  }
+
+  private static <E> List<? extends E>[] nonNull(List<? extends E>[] lists) {
+    @SuppressWarnings("unchecked")
+    List<? extends E>[] parts = (List<? extends E>[]) java.util.Arrays.stream(lists)
+        .filter(Objects::nonNull)
+        .toArray(List<?>[]::new);
+    return parts;
+  }
+
+  /**
+   * <p>Returns the given list cut into consecutive chunks of {@code size} elements; the last chunk may be smaller.</p>
+   *
+   * <p>The chunks of a {@link RandomAccess} list are {@link List#subList} views computed when they are read, so no
+   * element is copied and the chunks follow the changes of the list. The chunks of a sequential list are copied in
+   * a single pass.</p>
+   *
+   * @throws IllegalArgumentException if {@code size} is not positive
+   */
+  @Nonnull
+  public static <E> List<List<E>> chunked(List<E> list, int size) {
+    return windowed(list, size, size, true);
+  }
+
+  /**
+   * <p>Returns the windows of {@code size} elements of the given list, starting every {@code step} elements. Windows
+   * overlap when {@code step < size}, skip elements when {@code step > size}, and the windows shorter than
+   * {@code size} at the end of the list are dropped.</p>
+   *
+   * <p>Like {@link #chunked}, the windows are {@link List#subList} views of a {@link RandomAccess} list.</p>
+   *
+   * @throws IllegalArgumentException if {@code size} or {@code step} is not positive
+   */
+  @Nonnull
+  public static <E> List<List<E>> windowed(List<E> list, int size, int step) {
+    return windowed(list, size, step, false);
+  }
+
+  private static <E> List<List<E>> windowed(List<E> list, int size, int step, boolean partial) {
+    Preconditions.checkArgument(size > 0, "size must be positive: %s", size);
+    Preconditions.checkArgument(step > 0, "step must be positive: %s", step);
+    if (list==null)
+      return List.of();
+
+    var windows = new WindowedView<>(list, size, step, partial);
+    return list instanceof RandomAccess ? windows : windows.copy();
+  }
+
+  /**
+   * <p>Returns the given list cut into runs of consecutive elements for which the predicate gives the same
+   * result.</p>
+   *
+   * <p>The runs are found once, when this method is called. The runs of a {@link RandomAccess} list are
+   * {@link List#subList} views; the runs of a sequential list are copied.</p>
+   */
+  @Nonnull
+  public static <E> List<List<E>> partitionBy(List<E> list, @Nonnull Predicate<? super E> predicate) {
+    Preconditions.requireArgNonNull(predicate);
+    if (list==null || list.isEmpty())
+      return List.of();
+
+    var runs = new ArrayList<List<E>>();
+    if (list instanceof RandomAccess) {
+      int start = 0;
+      boolean current = predicate.test(list.get(0));
+      for (int i=1, size=list.size(); i<size; i++) {
+        boolean matches = predicate.test(list.get(i));
+        if (matches!=current) {
+          runs.add(list.subList(start, i));
+          start = i;
+          current = matches;
+        }
+      }
+      runs.add(list.subList(start, list.size()));
+    }
+    else {
+      var run = new ArrayList<E>();
+      boolean current = false;
+      for (E element : list) {
+        boolean matches = predicate.test(element);
+        if (matches!=current && !run.isEmpty()) {
+          runs.add(run);
+          run = new ArrayList<>();
+        }
+        current = matches;
+        run.add(element);
+      }
+      runs.add(run);
+    }
+    return runs;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  private static class MappedView<E, R> extends AbstractList<R> {
+
+    private final List<? extends E> list;
+    private final Function<? super E, ? extends R> function;
+
+    private MappedView(List<? extends E> list, Function<? super E, ? extends R> function) {
+      this.list = list;
+      this.function = function;
+    }
+
+    @Override
+    public R get(int index) {
+      return function.apply(list.get(index));
+    }
+
+    @Override
+    public int size() {
+      return list.size();
+    }
+
+    @Override
+    public Iterator<R> iterator() {
+      return Iterators.map(list.iterator(), function);
+    }
+  }
+
+  private static final class RandomAccessMappedView<E, R> extends MappedView<E, R> implements RandomAccess {
+
+    private RandomAccessMappedView(List<? extends E> list, Function<? super E, ? extends R> function) {
+      super(list, function);
+    }
+  }
+
+  private static final class MemoizedView<E, R> extends AbstractList<R> implements RandomAccess {
+
+    private static final Object UNSET = new Object();
+
+    private final List<? extends E> list;
+    private final Function<? super E, ? extends R> function;
+    private final Object[] values;
+
+    private MemoizedView(List<? extends E> list, Function<? super E, ? extends R> function) {
+      this.list = list;
+      this.function = function;
+      this.values = new Object[list.size()];
+      java.util.Arrays.fill(values, UNSET);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public R get(int index) {
+      Objects.checkIndex(index, values.length);
+      Object value = values[index];
+      if (value==UNSET) {
+        value = function.apply(list.get(index));
+        values[index] = value;
+      }
+      return (R) value;
+    }
+
+    @Override
+    public int size() {
+      return values.length;
+    }
+  }
+
+  private static final class FilteredView<E> extends AbstractList<E> {
+
+    private final List<E> list;
+    private final Predicate<? super E> predicate;
+
+    private FilteredView(List<E> list, Predicate<? super E> predicate) {
+      this.list = list;
+      this.predicate = predicate;
+    }
+
+    @Override
+    public E get(int index) {
+      if (index >= 0) {
+        var iterator = iterator();
+        for (int i=0; iterator.hasNext(); i++) {
+          var element = iterator.next();
+          if (i==index)
+            return element;
+        }
+      }
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+    }
+
+    @Override
+    public int size() {
+      int size = 0;
+      for (var iterator = iterator(); iterator.hasNext(); iterator.next()) {
+        size++;
+      }
+      return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return !iterator().hasNext();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+      return Iterators.filter(list.iterator(), predicate);
+    }
+  }
+
+  private static class ConcatView<E> extends AbstractList<E> {
+
+    private final List<? extends E>[] lists;
+
+    private ConcatView(List<? extends E>[] lists) {
+      this.lists = lists;
+    }
+
+    @Override
+    public E get(int index) {
+      if (index>=0) {
+        int offset = index;
+        for (var list : lists) {
+          int size = list.size();
+          if (offset < size)
+            return list.get(offset);
+          offset -= size;
+        }
+      }
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+    }
+
+    @Override
+    public int size() {
+      long size = 0;
+      for (var list : lists) {
+        size += list.size();
+      }
+      return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+      return new Iterator<>() {
+        private int part;
+        private Iterator<? extends E> current = lists.length > 0 ? lists[0].iterator() : Iterators.empty();
+
+        @Override
+        public boolean hasNext() {
+          while (!current.hasNext()) {
+            if (++part >= lists.length)
+              return false;
+            current = lists[part].iterator();
+          }
+          return true;
+        }
+
+        @Override
+        public E next() {
+          if (!hasNext())
+            throw new NoSuchElementException();
+          return current.next();
+        }
+      };
+    }
+  }
+
+  private static final class RandomAccessConcatView<E> extends ConcatView<E> implements RandomAccess {
+
+    private RandomAccessConcatView(List<? extends E>[] lists) {
+      super(lists);
+    }
+  }
+
+  /**
+   * Windows of a random-access list, as {@code subList} views
+   */
+  private static final class WindowedView<E> extends AbstractList<List<E>> implements RandomAccess {
+
+    private final List<E> list;
+    private final int size;
+    private final int step;
+    private final boolean partial;
+
+    private WindowedView(List<E> list, int size, int step, boolean partial) {
+      this.list = list;
+      this.size = size;
+      this.step = step;
+      this.partial = partial;
+    }
+
+    @Override
+    public List<E> get(int index) {
+      int length = list.size();
+      Objects.checkIndex(index, size(length));
+      int from = index * step;
+      return list.subList(from, Math.min(length, from + size));
+    }
+
+    @Override
+    public int size() {
+      return size(list.size());
+    }
+
+    private int size(int length) {
+      if (partial)
+        return (int) (((long) length + step - 1) / step);
+
+      return length < size ? 0 : (length - size) / step + 1;
+    }
+
+    /**
+     * Copies the windows of a sequential list in one pass
+     */
+    private List<List<E>> copy() {
+      var windows = new ArrayList<List<E>>(size());
+      // a list, as elements may be null
+      var window = new ArrayList<E>(Math.min(size, list.size()));
+      int skip = 0;
+      for (E element : list) {
+        if (skip > 0) {
+          skip--;
+          continue;
+        }
+        window.add(element);
+        if (window.size()==size) {
+          windows.add(new ArrayList<>(window));
+          window.subList(0, Math.min(step, window.size())).clear();
+          skip = Math.max(0, step - size);
+        }
+      }
+      if (partial && !window.isEmpty())
+        windows.add(new ArrayList<>(window));
+      return windows;
+    }
+  }
+}
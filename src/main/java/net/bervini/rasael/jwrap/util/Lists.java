@@ -196,6 +196,9 @@ public class Lists {
     if (value==null)
       return null;
 
+    if (value instanceof PersistentList<E> persistent)
+      return persistent.clone();
+
     List<E> clone = createClone(value);
     if (Unmodifiables.isUnmodifiableCollection(value)) {
       return java.util.Collections.unmodifiableList(value);
@@ -297,6 +300,10 @@ public class Lists {
     dest.addAll(destPos, src.subList(srcPos, srcPos + length));
   }
 
+  /**
+   * <p>Splits the list at the elements matching the condition, which are dropped. The parts are immutable
+   * copies; {@link ListViews#partitionBy(List, Predicate)} groups the elements without copying them.</p>
+   */
   public static <E> List<List<E>> split(List<E> list, Predicate<? super E> splitCondition) {
     Preconditions.requireArgNonNull(list);
     Preconditions.requireArgNonNull(splitCondition);
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bervini.rasael.jwrap.util;
+
+import javax.annotation.Nonnull;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/**
+ * <p>Fork/join versions of the {@link Arrays} operations.</p>
+ *
+ * <p>Every operation takes the {@link ForkJoinPool} to run in, and a size threshold: arrays smaller than the
+ * threshold are processed by the sequential {@link Arrays} version, on the calling thread. The results are always
+ * the same as the sequential version, in the same order.</p>
+ */
+public final class ParallelArrays {
+
+  /**
+   * Default size below which the operations fall back to the sequential path
+   */
+  public static final int DEFAULT_THRESHOLD = 1 << 13;
+
+  /**
+   * Smallest range processed by a single task; a multiple of 64, so that tasks never share a word of a bit mask
+   */
+  private static final int MIN_LEAF_SIZE = 1 << 10;
+
+  private ParallelArrays(){}
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Sorts the given array in the given pool, like {@link java.util.Arrays#parallelSort(Object[], Comparator)}.
+   * The sort is stable, and a {@code null} comparator sorts the elements in their natural order.
+   */
+  public static <E> void sort(E[] array, Comparator<? super E> comparator, @Nonnull ForkJoinPool pool, int threshold) {
+    if (array==null || array.length<2)
+      return;
+
+    if (array.length < threshold) {
+      Arrays.sort(array, comparator);
+      return;
+    }
+
+    // parallelSort forks its tasks in the pool of the worker thread running it
+    pool.invoke(ForkJoinTask.adapt(() -> java.util.Arrays.parallelSort(array, comparator)));
+  }
+
+  /**
+   * Returns a new array with the elements matching the given predicate, in their original order.
+   * The predicate may be invoked concurrently from several threads.
+   */
+  public static <E> E[] filter(E[] array, Predicate<? super E> predicate, @Nonnull ForkJoinPool pool, int threshold) {
+    if (array==null || predicate==null || array.length < threshold)
+      return Arrays.filter(array, predicate);
+
+    int size = array.length;
+    var mask = new long[(size + 63) >>> 6];
+    invoke(pool, size, (from, to) -> {
+      for (int i=from; i<to; i++) {
+        if (predicate.test(array[i]))
+          mask[i >>> 6] |= 1L << i;
+      }
+    });
+
+    // offsets[w] is the position in the result of the first element of the word w
+    var offsets = new int[mask.length];
+    int count = 0;
+    for (int w=0; w<mask.length; w++) {
+      offsets[w] = count;
+      count += Long.bitCount(mask[w]);
+    }
+
+    var result = Arrays.newArrayLike(array, count);
+    invoke(pool, size, (from, to) -> {
+      for (int w=from >>> 6, end=(to + 63) >>> 6; w<end; w++) {
+        int position = offsets[w];
+        for (long bits=mask[w]; bits!=0; bits&=bits - 1) {
+          result[position++] = array[(w << 6) + Long.numberOfTrailingZeros(bits)];
+        }
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Returns a new array, created with {@code generator}, with the given function applied to each element.
+   * The function may be invoked concurrently from several threads.
+   */
+  public static <E, R> R[] map(E[] array, @Nonnull Function<? super E, ? extends R> function,
+                               @Nonnull IntFunction<R[]> generator, @Nonnull ForkJoinPool pool, int threshold) {
+    if (array==null || array.length < threshold)
+      return Arrays.map(array, function, generator);
+
+    var result = generator.apply(array.length);
+    invoke(pool, array.length, (from, to) -> {
+      for (int i=from; i<to; i++) {
+        result[i] = function.apply(array[i]);
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Invokes the consumer with the index and the value of each element. Above the threshold the consumer is invoked
+   * concurrently from several threads, in no particular order.
+   */
+  public static <E> void forEachEntry(E[] array, IntObjConsumer<? super E> consumer, @Nonnull ForkJoinPool pool,
+                                      int threshold) {
+    if (array==null || consumer==null)
+      return;
+
+    if (array.length < threshold) {
+      for (int i=0; i<array.length; i++) {
+        consumer.accept(i, array[i]);
+      }
+      return;
+    }
+
+    invoke(pool, array.length, (from, to) -> {
+      for (int i=from; i<to; i++) {
+        consumer.accept(i, array[i]);
+      }
+    });
+  }
+
+  /**
+   * Invokes the consumer with the index and the current value of each element, read with volatile semantics.
+   * Above the threshold the consumer is invoked concurrently from several threads, in no particular order.
+   */
+  public static <E> void forEachEntry(AtomicReferenceArray<E> array, IntObjConsumer<? super E> consumer,
+                                      @Nonnull ForkJoinPool pool, int threshold) {
+    if (array==null || consumer==null)
+      return;
+
+    int length = array.length();
+    if (length < threshold) {
+      for (int i=0; i<length; i++) {
+        consumer.accept(i, array.get(i));
+      }
+      return;
+    }
+
+    invoke(pool, length, (from, to) -> {
+      for (int i=from; i<to; i++) {
+        consumer.accept(i, array.get(i));
+      }
+    });
+  }
+
+  /**
+   * <p>Shuffles the array in place, in the given pool.</p>
+   *
+   * <p>Both halves of the array are shuffled in parallel, with generators split from the given one, and then merged
+   * by randomly interleaving them (MergeShuffle), which keeps every permutation equally likely.</p>
+   */
+  public static void shuffle(Object[] array, @Nonnull SplittableGenerator generator, @Nonnull ForkJoinPool pool,
+                             int threshold) {
+    if (array==null)
+      return;
+
+    shuffle(array, generator, pool, threshold, Math.max(MIN_LEAF_SIZE, array.length / (pool.getParallelism() << 2)));
+  }
+
+  static void shuffle(Object[] array, SplittableGenerator generator, ForkJoinPool pool, int threshold, int leafSize) {
+    if (array==null || array.length<2)
+      return;
+
+    if (array.length < threshold) {
+      Sampling.shuffle(array, generator);
+      return;
+    }
+
+    pool.invoke(new ShuffleTask(array, 0, array.length, leafSize, generator));
+  }
+
+    // -------------------------------------------------------------------------------------------------------------------
+
+  private static void invoke(ForkJoinPool pool, int size, RangeAction action) {
+    // about four tasks per worker, to balance uneven work
+    int leafSize = Math.max(MIN_LEAF_SIZE, size / (pool.getParallelism() << 2));
+    leafSize = (leafSize + 63) & ~63;
+
+    pool.invoke(new RangeTask(action, 0, size, leafSize));
+  }
+
+  @FunctionalInterface
+  private interface RangeAction {
+    void run(int from, int to);
+  }
+
+  private static final class RangeTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient RangeAction action;
+    private final int from;
+    private final int to;
+    private final int leafSize;
+
+    private RangeTask(RangeAction action, int from, int to, int leafSize) {
+      this.action = action;
+      this.from = from;
+      this.to = to;
+      this.leafSize = leafSize;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= leafSize) {
+        action.run(from, to);
+        return;
+      }
+
+      // split on a multiple of 64, 'from' always being one
+      int middle = from + (((to - from) >>> 1) & ~63);
+      invokeAll(new RangeTask(action, from, middle, leafSize),
+                new RangeTask(action, middle, to, leafSize));
+    }
+  }
+
+  private static final class ShuffleTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Object[] array;
+    private final int from;
+    private final int to;
+    private final int leafSize;
+    private final transient SplittableGenerator generator;
+
+    private ShuffleTask(Object[] array, int from, int to, int leafSize, SplittableGenerator generator) {
+      this.array = array;
+      this.from = from;
+      this.to = to;
+      this.leafSize = leafSize;
+      this.generator = generator;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= leafSize) {
+        Sampling.shuffle(array, from, to, generator);
+        return;
+      }
+
+      int middle = (from + to) >>> 1;
+      invokeAll(new ShuffleTask(array, from, middle, leafSize, generator.split()),
+                new ShuffleTask(array, middle, to, leafSize, generator.split()));
+      merge(middle);
+    }
+
+    /**
+     * Interleaves the shuffled halves [from, middle) and [middle, to) at random, so that [from, to) is shuffled
+     */
+    private void merge(int middle) {
+      int i = from;
+      int j = middle;
+      long bits = 0;
+      int available = 0;
+      while (true) {
+        if (available==0) {
+          bits = generator.nextLong();
+          available = 64;
+        }
+        boolean takeRight = (bits & 1)!=0;
+        bits >>>= 1;
+        available--;
+
+        if (takeRight) {
+          if (j==to)
+            break;
+          Sampling.swap(array, i, j++);
+        }
+        else if (i==j) {
+          break;
+        }
+        i++;
+      }
+
+      // one half ran out: insert each remaining element at a random position of the merged prefix
+      for (; i<to; i++) {
+        Sampling.swap(array, i, from + generator.nextInt(i - from + 1));
+      }
+    }
+  }
+}
@@ -0,0 +1,437 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bervini.rasael.jwrap.util;
+
+import javax.annotation.Nullable;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * <p>A {@link java.util.List} over a persistent vector: a 32-way trie of the elements with a separate tail leaf,
+ * like the vectors of Clojure or Scala.</p>
+ *
+ * <p>{@link #clone()} runs in constant time: the clone and this list share all their nodes, and both copy a node
+ * before their first write to it, so that neither sees the changes of the other. Reading or writing by index, adding
+ * or removing at the end, and cutting the list at an index run in {@code O(log32 n)}, which is at most 7 levels for
+ * an {@code int} size. Inserting or removing in the middle rebuilds the part of the list after the index, while the
+ * part before it stays shared.</p>
+ *
+ * <p>This makes it a good list to keep many versions of, such as an undo history or snapshots for readers:</p>
+ * <pre>
+ *   var document = new PersistentList&lt;Line&gt;(lines);
+ *   var snapshot = document.clone(); // O(1)
+ *   document.set(10, edited);        // copies at most one path of the trie
+ * </pre>
+ *
+ * <p>{@code null} elements are allowed. This class is not thread-safe, but a clone can be handed to another thread
+ * and read there while this list is modified; its iterators are fail-fast.</p>
+ */
+public final class PersistentList<E> extends AbstractList<E> implements RandomAccess, Cloneable {
+
+  private static final int BITS = 5;
+  private static final int WIDTH = 1 << BITS;
+  private static final int MASK = WIDTH - 1;
+
+  /**
+   * <p>A node of the trie. A list writes in place only to the nodes created with its current owner token; the other
+   * nodes may be shared with clones, and are copied first.</p>
+   */
+  private static final class Node {
+
+    private final Object owner;
+    private final Object[] array;
+
+    private Node(Object owner, Object[] array) {
+      this.owner = owner;
+      this.array = array;
+    }
+  }
+
+  private static final Node EMPTY = new Node(null, new Object[WIDTH]);
+
+  private Object owner = new Object();
+  private int size;
+  private int shift = BITS;
+  private Node root = EMPTY;
+  private Node tail = EMPTY;
+
+  public PersistentList() {
+  }
+
+  public PersistentList(@Nullable Collection<? extends E> collection) {
+    if (collection!=null) {
+      for (E element : collection) {
+        add(element);
+      }
+    }
+  }
+
+  private PersistentList(PersistentList<E> list) {
+    this.size = list.size;
+    this.shift = list.shift;
+    this.root = list.root;
+    this.tail = list.tail;
+  }
+
+  /**
+   * <p>Returns an independent copy of this list, in constant time.</p>
+   */
+  @Override
+  public PersistentList<E> clone() {
+    // from now on, this list doesn't own the nodes it shares with the clone either
+    owner = new Object();
+    return new PersistentList<>(this);
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public E get(int index) {
+    Objects.checkIndex(index, size);
+    return element(leaf(index), index);
+  }
+
+  @Override
+  public E set(int index, E element) {
+    Objects.checkIndex(index, size);
+    E previous;
+    if (index >= tailOffset()) {
+      tail = editable(tail);
+      previous = element(tail.array, index);
+      tail.array[index & MASK] = element;
+    }
+    else {
+      previous = get(index);
+      root = set(shift, root, index, element);
+    }
+    return previous;
+  }
+
+  private Node set(int level, Node node, int index, E element) {
+    var result = editable(node);
+    if (level==0) {
+      result.array[index & MASK] = element;
+    }
+    else {
+      int child = (index >>> level) & MASK;
+      result.array[child] = set(level - BITS, (Node) node.array[child], index, element);
+    }
+    return result;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Override
+  public boolean add(E element) {
+    modCount++;
+    if (size - tailOffset() < WIDTH) {
+      tail = editable(tail);
+      tail.array[size & MASK] = element;
+      size++;
+      return true;
+    }
+
+    // the tail is full: it moves into the trie, which grows a level when its root is full
+    var full = tail;
+    tail = new Node(owner, new Object[WIDTH]);
+    tail.array[0] = element;
+    if ((size >>> BITS) > (1 << shift)) {
+      var grown = new Node(owner, new Object[WIDTH]);
+      grown.array[0] = root;
+      grown.array[1] = path(shift, full);
+      root = grown;
+      shift += BITS;
+    }
+    else {
+      root = pushTail(shift, root, full);
+    }
+    size++;
+    return true;
+  }
+
+  @Override
+  public void add(int index, E element) {
+    Objects.checkIndex(index, size + 1);
+    if (index==size) {
+      add(element);
+      return;
+    }
+
+    var suffix = copy(index, size);
+    truncate(index);
+    add(element);
+    addAll(suffix);
+  }
+
+  @Override
+  public E remove(int index) {
+    Objects.checkIndex(index, size);
+    E removed = get(index);
+    if (index==size - 1) {
+      truncate(index);
+    }
+    else {
+      removeRange(index, index + 1);
+    }
+    return removed;
+  }
+
+  /**
+   * <p>Removes and returns the last element, or returns {@code null} if this list is empty.</p>
+   */
+  public E pollLast() {
+    return size > 0 ? remove(size - 1) : null;
+  }
+
+  @Override
+  public void clear() {
+    truncate(0);
+  }
+
+  @Override
+  protected void removeRange(int fromIndex, int toIndex) {
+    Objects.checkFromToIndex(fromIndex, toIndex, size);
+    if (fromIndex==toIndex)
+      return;
+
+    var suffix = copy(toIndex, size);
+    truncate(fromIndex);
+    addAll(suffix);
+  }
+
+  /**
+   * <p>Cuts this list to its first {@code length} elements. The trie before the cut stays shared with the clones of
+   * this list.</p>
+   */
+  public void truncate(int length) {
+    Objects.checkIndex(length, size + 1);
+    if (length==size)
+      return;
+
+    modCount++;
+    if (length==0) {
+      size = 0;
+      shift = BITS;
+      root = EMPTY;
+      tail = EMPTY;
+      return;
+    }
+
+    int tailOffset = tailOffset(length);
+    if (tailOffset==tailOffset()) {
+      // the cut falls in the tail
+      tail = editable(tail);
+      java.util.Arrays.fill(tail.array, length - tailOffset, WIDTH, null);
+      size = length;
+      return;
+    }
+
+    var leaf = new Node(owner, leaf(tailOffset).clone());
+    java.util.Arrays.fill(leaf.array, length - tailOffset, WIDTH, null);
+    if (tailOffset==0) {
+      root = EMPTY;
+      shift = BITS;
+    }
+    else {
+      root = trim(shift, root, tailOffset - 1);
+      while (shift > BITS && root.array[1]==null) {
+        root = (Node) root.array[0];
+        shift -= BITS;
+      }
+    }
+    tail = leaf;
+    size = length;
+  }
+
+  /**
+   * Returns the node keeping the elements up to {@code last} included, which ends a leaf
+   */
+  private Node trim(int level, Node node, int last) {
+    int child = (last >>> level) & MASK;
+    var result = editable(node);
+    java.util.Arrays.fill(result.array, child + 1, WIDTH, null);
+    if (level > BITS) {
+      result.array[child] = trim(level - BITS, (Node) node.array[child], last);
+    }
+    return result;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  @Override
+  public Iterator<E> iterator() {
+    return new Itr();
+  }
+
+  @Override
+  public void forEach(Consumer<? super E> action) {
+    Objects.requireNonNull(action);
+    int expectedModCount = modCount;
+    for (int i=0; i<size; ) {
+      var leaf = leaf(i);
+      for (int end = Math.min(size, i + WIDTH); i<end; i++) {
+        action.accept(element(leaf, i));
+      }
+      if (modCount!=expectedModCount)
+        throw new ConcurrentModificationException();
+    }
+  }
+
+  @Override
+  public Object[] toArray() {
+    var result = new Object[size];
+    for (int i=0; i<size; i+=WIDTH) {
+      System.arraycopy(leaf(i), 0, result, i, Math.min(WIDTH, size - i));
+    }
+    return result;
+  }
+
+  private final class Itr implements Iterator<E> {
+
+    private int cursor;
+    private int last = -1;
+    private Object[] leaf;
+    private int expectedModCount = modCount;
+
+    /**
+     * A write copies the path to the written element, so a new root or tail means the leaf may be stale
+     */
+    private Node root;
+    private Node tail;
+
+    @Override
+    public boolean hasNext() {
+      return cursor < size;
+    }
+
+    @Override
+    public E next() {
+      if (modCount!=expectedModCount)
+        throw new ConcurrentModificationException();
+      if (cursor >= size)
+        throw new NoSuchElementException();
+
+      if (leaf==null || (cursor & MASK)==0 || root!=PersistentList.this.root || tail!=PersistentList.this.tail) {
+        leaf = leaf(cursor);
+        root = PersistentList.this.root;
+        tail = PersistentList.this.tail;
+      }
+      last = cursor++;
+      return element(leaf, last);
+    }
+
+    @Override
+    public void remove() {
+      if (last < 0)
+        throw new IllegalStateException();
+      if (modCount!=expectedModCount)
+        throw new ConcurrentModificationException();
+
+      PersistentList.this.remove(last);
+      cursor = last;
+      last = -1;
+      leaf = null;
+      expectedModCount = modCount;
+    }
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  private int tailOffset() {
+    return tailOffset(size);
+  }
+
+  private static int tailOffset(int size) {
+    return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+  }
+
+  /**
+   * Returns the leaf holding the given index
+   */
+  private Object[] leaf(int index) {
+    if (index >= tailOffset())
+      return tail.array;
+
+    var node = root;
+    for (int level=shift; level>0; level-=BITS) {
+      node = (Node) node.array[(index >>> level) & MASK];
+    }
+    return node.array;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <E> E element(Object[] leaf, int index) {
+    return (E) leaf[index & MASK];
+  }
+
+  private Node editable(Node node) {
+    return node.owner==owner ? node : new Node(owner, node.array.clone());
+  }
+
+  private Node pushTail(int level, Node parent, Node leaf) {
+    int child = ((size - 1) >>> level) & MASK;
+    var result = editable(parent);
+    if (level==BITS) {
+      result.array[child] = leaf;
+    }
+    else {
+      var next = (Node) parent.array[child];
+      result.array[child] = next!=null ? pushTail(level - BITS, next, leaf) : path(level - BITS, leaf);
+    }
+    return result;
+  }
+
+  private Node path(int level, Node leaf) {
+    if (level==0)
+      return leaf;
+
+    var node = new Node(owner, new Object[WIDTH]);
+    node.array[0] = path(level - BITS, leaf);
+    return node;
+  }
+
+  private Object[] copy(int from, int to) {
+    var result = new Object[to - from];
+    for (int i=from; i<to; ) {
+      var leaf = leaf(i);
+      int offset = i & MASK;
+      int length = Math.min(WIDTH - offset, to - i);
+      System.arraycopy(leaf, offset, result, i - from, length);
+      i += length;
+    }
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void addAll(Object[] elements) {
+    for (Object element : elements) {
+      add((E) element);
+    }
+  }
+}
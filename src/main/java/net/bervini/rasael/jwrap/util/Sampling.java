@@ -0,0 +1,338 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bervini.rasael.jwrap.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToDoubleFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * <p>Shuffling and random sampling.</p>
+ *
+ * <p>Every operation takes the {@link RandomGenerator} to draw from; a {@code null} generator stands for
+ * {@link #defaultGenerator()}, which is fast and never shared between threads. Pass a
+ * {@link java.security.SecureRandom} only when the draws must be unpredictable, and a seeded generator, like a
+ * {@link java.util.SplittableRandom}, to reproduce them.</p>
+ */
+public final class Sampling {
+
+  /**
+   * Number of elements, relative to the sample size, above which {@link #sample(Object[], int, RandomGenerator)}
+   * tracks its swaps in a map instead of copying all the indexes
+   */
+  private static final int SPARSE_RATIO = 4;
+
+  private Sampling(){}
+
+  /**
+   * Returns the generator of the current thread: not cryptographically secure, and not to be shared with other threads
+   */
+  public static RandomGenerator defaultGenerator() {
+    return ThreadLocalRandom.current();
+  }
+
+  private static RandomGenerator orDefault(RandomGenerator generator) {
+    return generator!=null ? generator : defaultGenerator();
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Shuffle
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Shuffles the array in place (Fisher-Yates)
+   */
+  public static void shuffle(Object[] array, RandomGenerator generator) {
+    if (array==null || array.length<2)
+      return;
+
+    shuffle(array, 0, array.length, orDefault(generator));
+  }
+
+  static void shuffle(Object[] array, int from, int to, RandomGenerator generator) {
+    for (int i=to - 1; i>from; i--) {
+      swap(array, i, from + generator.nextInt(i - from + 1));
+    }
+  }
+
+  /**
+   * Shuffles the list in place. Lists without {@link RandomAccess} are copied to an array, shuffled and written back.
+   */
+  @SuppressWarnings("unchecked")
+  public static <E> void shuffle(List<E> list, RandomGenerator generator) {
+    if (list==null || list.size()<2)
+      return;
+
+    var random = orDefault(generator);
+    if (list instanceof RandomAccess) {
+      for (int i=list.size() - 1; i>0; i--) {
+        list.set(i, list.set(random.nextInt(i + 1), list.get(i)));
+      }
+      return;
+    }
+
+    var array = list.toArray();
+    shuffle(array, 0, array.length, random);
+    ListIterator<E> iterator = list.listIterator();
+    for (Object element : array) {
+      iterator.next();
+      iterator.set((E) element);
+    }
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Sample
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>Returns a new array with {@code k} distinct elements of the given array (or all of them if there are fewer),
+   * drawn uniformly, in the order they were drawn. The array is not modified.</p>
+   *
+   * <p>The draw is a partial Fisher-Yates shuffle, that stops after {@code k} swaps: {@code O(k)} when the sample is
+   * small compared to the array, since the swaps are then tracked in a map.</p>
+   */
+  public static <E> E[] sample(E[] array, int k, RandomGenerator generator) {
+    if (array==null)
+      return null;
+
+    var indexes = sampleIndexes(array.length, k, orDefault(generator));
+    var result = Arrays.newArrayLike(array, indexes.length);
+    for (int i=0; i<indexes.length; i++) {
+      result[i] = array[indexes[i]];
+    }
+    return result;
+  }
+
+  /**
+   * <p>Returns a new list with {@code k} distinct elements of the given list (or all of them if there are fewer),
+   * drawn uniformly, in the order they were drawn. The list is not modified.</p>
+   *
+   * <p>Lists without {@link RandomAccess} are read once, with {@link #reservoir(Iterator, int, RandomGenerator)}.</p>
+   */
+  public static <E> List<E> sample(List<E> list, int k, RandomGenerator generator) {
+    if (list==null)
+      return null;
+
+    if (!(list instanceof RandomAccess))
+      return reservoir(list.iterator(), k, generator);
+
+    var indexes = sampleIndexes(list.size(), k, orDefault(generator));
+    var result = new ArrayList<E>(indexes.length);
+    for (int index : indexes) {
+      result.add(list.get(index));
+    }
+    return result;
+  }
+
+  /**
+   * Returns {@code min(k, size)} distinct indexes in {@code [0, size)}, drawn uniformly, in the order they were drawn
+   */
+  static int[] sampleIndexes(int size, int k, RandomGenerator generator) {
+    int count = Math.max(0, Math.min(k, size));
+    var result = new int[count];
+
+    if ((long) count * SPARSE_RATIO < size) {
+      // sparse Fisher-Yates: only the swapped positions are stored, position i being read once at step i
+      var swapped = new HashMap<Integer, Integer>(count * 2);
+      for (int i=0; i<count; i++) {
+        int j = i + generator.nextInt(size - i);
+        Integer atJ = swapped.get(j);
+        Integer atI = swapped.remove(i);
+        result[i] = atJ!=null ? atJ : j;
+        if (j!=i)
+          swapped.put(j, atI!=null ? atI : i);
+      }
+      return result;
+    }
+
+    var permutation = new int[size];
+    for (int i=0; i<size; i++) {
+      permutation[i] = i;
+    }
+    for (int i=0; i<count; i++) {
+      int j = i + generator.nextInt(size - i);
+      int index = permutation[j];
+      permutation[j] = permutation[i];
+      result[i] = index;
+    }
+    return result;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Reservoir
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>Returns {@code k} distinct elements (or all of them if there are fewer) drawn uniformly from the remaining
+   * elements of the iterator, in random order, reading the iterator once and keeping only {@code k} elements.</p>
+   *
+   * <p>The sampling skips ahead between the replacements of the reservoir (algorithm L), so that it draws
+   * {@code O(k log(n/k))} random numbers instead of one per element.</p>
+   */
+  public static <E> List<E> reservoir(Iterator<? extends E> iterator, int k, RandomGenerator generator) {
+    var reservoir = new ArrayList<E>(Math.max(0, Math.min(k, 1 << 10)));
+    if (iterator==null || k<=0)
+      return reservoir;
+
+    while (reservoir.size() < k && iterator.hasNext()) {
+      reservoir.add(iterator.next());
+    }
+
+    var random = orDefault(generator);
+    if (iterator.hasNext()) {
+      double w = Math.exp(Math.log(nextOpenDouble(random)) / k);
+      while (true) {
+        long skip = (long) Math.floor(Math.log(nextOpenDouble(random)) / Math.log1p(-w));
+        while (skip-- > 0 && iterator.hasNext()) {
+          iterator.next();
+        }
+        if (!iterator.hasNext())
+          break;
+
+        reservoir.set(random.nextInt(k), iterator.next());
+        w *= Math.exp(Math.log(nextOpenDouble(random)) / k);
+      }
+    }
+
+    shuffle(reservoir, random);
+    return reservoir;
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Weighted sample
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>Returns {@code k} distinct elements (or all the ones with a positive weight, if there are fewer) of the
+   * remaining elements of the iterator, drawn without replacement with a probability proportional to their weight,
+   * in the order they were drawn. The iterator is read once, keeping only {@code k} elements.</p>
+   *
+   * <p>Each element gets the key {@code log(u) / weight}, for a uniform {@code u}, and the {@code k} greatest keys
+   * are kept in a heap (Efraimidis-Spirakis). Elements with a weight that is not positive are never drawn.</p>
+   */
+  @SuppressWarnings("unchecked")
+  public static <E> List<E> weightedSample(Iterator<? extends E> iterator, ToDoubleFunction<? super E> weight, int k,
+                                           RandomGenerator generator) {
+    if (iterator==null || weight==null || k<=0)
+      return new ArrayList<>(0);
+
+    var random = orDefault(generator);
+    int capacity = Math.min(k, 1 << 10);
+    var keys = new double[capacity];
+    var elements = new Object[capacity];
+    int size = 0;
+
+    // min-heap on the keys: the root is the element to replace
+    while (iterator.hasNext()) {
+      E element = iterator.next();
+      double w = weight.applyAsDouble(element);
+      if (!(w > 0))
+        continue;
+
+      double key = Math.log(nextOpenDouble(random)) / w;
+      if (size < k) {
+        if (size==keys.length) {
+          int newCapacity = (int) Math.min(k, (long) size << 1);
+          keys = java.util.Arrays.copyOf(keys, newCapacity);
+          elements = java.util.Arrays.copyOf(elements, newCapacity);
+        }
+        keys[size] = key;
+        elements[size] = element;
+        siftUp(keys, elements, size++);
+      }
+      else if (key > keys[0]) {
+        keys[0] = key;
+        elements[0] = element;
+        siftDown(keys, elements, size);
+      }
+    }
+
+    // pop the smallest keys to the end: the heap ends up in decreasing key order, which is the order of the draws
+    for (int end=size - 1; end>0; end--) {
+      swap(keys, elements, 0, end);
+      siftDown(keys, elements, end);
+    }
+
+    var result = new ArrayList<E>(size);
+    for (int i=0; i<size; i++) {
+      result.add((E) elements[i]);
+    }
+    return result;
+  }
+
+  private static void siftUp(double[] keys, Object[] elements, int index) {
+    while (index > 0) {
+      int parent = (index - 1) >>> 1;
+      if (keys[parent] <= keys[index])
+        return;
+
+      swap(keys, elements, parent, index);
+      index = parent;
+    }
+  }
+
+  private static void siftDown(double[] keys, Object[] elements, int size) {
+    int index = 0;
+    while (true) {
+      int smallest = index;
+      int left = (index << 1) + 1;
+      int right = left + 1;
+      if (left < size && keys[left] < keys[smallest])
+        smallest = left;
+      if (right < size && keys[right] < keys[smallest])
+        smallest = right;
+      if (smallest==index)
+        return;
+
+      swap(keys, elements, index, smallest);
+      index = smallest;
+    }
+  }
+
+  private static void swap(double[] keys, Object[] elements, int i, int j) {
+    double key = keys[i];
+    keys[i] = keys[j];
+    keys[j] = key;
+    swap(elements, i, j);
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  static void swap(Object[] array, int i, int j) {
+    Object element = array[i];
+    array[i] = array[j];
+    array[j] = element;
+  }
+
+  /**
+   * Returns a uniform double in {@code (0, 1)}, never 0, so that its logarithm is finite
+   */
+  private static double nextOpenDouble(RandomGenerator generator) {
+    double value;
+    do {
+      value = generator.nextDouble();
+    } while (value==0);
+    return value;
+  }
+}
@@ -16,10 +16,15 @@
 
 package net.bervini.rasael.jwrap.util;
 
+import org.apache.commons.lang3.ArrayUtils;
+
 import javax.annotation.concurrent.ThreadSafe;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
 
 public class Splice {
 
@@ -30,7 +35,7 @@ public class Splice {
   // -------------------------------------------------------------------------------------------------------------------
 
   public static <E> List<E> splice(List<E> list) {
-    return Splice.<E>listSplicer().splice(list);
+    return Splice.<E>listSplicer(list).splice(list);
   }
 
   /**
@@ -50,7 +55,7 @@ public class Splice {
     if (list==null)
       return Spliced.undefined();
 
-    return Splice.<E>listSplicer().splice(list, start, true);
+    return Splice.<E>listSplicer(list).splice(list, start, true);
   }
 
   /**
@@ -64,7 +69,7 @@ public class Splice {
     if (list==null)
       return Lists.newList(0);
 
-    var spliced = Splice.<E>listSplicer().splice(list, start, removed!=null);
+    var spliced = Splice.<E>listSplicer(list).splice(list, start, removed!=null);
     if (removed!=null) {
       removed.addAll(spliced.removed());
     }
@@ -110,7 +115,53 @@ public class Splice {
     if (list==null)
       return Spliced.undefined();
 
-    return Splice.<E>listSplicer().splice(list, start, deleteCount, true, insert);
+    return Splice.<E>listSplicer(list).splice(list, start, deleteCount, true, insert);
+  }
+
+  /**
+   * <p>Splice the given list in place, removing {@code deleteCount} entries from the {@code start} index and inserting
+   * {@code insert} in the list.
+   *
+   * <p>Unlike {@link #splice(List, int, int, List)}, the given list is modified: lists without {@link RandomAccess}
+   * (like {@link LinkedList}) are edited with a single {@link ListIterator}, in one pass.
+   *
+   * <p>Negative {@code start} values are counted from the end of the list.
+   *
+   * @param list the list to splice
+   * @param start the position to splice from
+   * @param deleteCount the number of items to splice
+   * @param insert the items to insert at the start position
+   * @return the removed elements
+   */
+  public static <E> List<E> spliceInPlace(List<E> list, int start, int deleteCount, List<E> insert) {
+    if (list==null)
+      return Lists.newList(0);
+
+    int size = list.size();
+    start = Math.max(0, toSpliceStart(start, size));
+    int end = (int) Math.min(size, (long) start + Math.max(0, deleteCount));
+
+    var removed = new ArrayList<E>(end - start);
+    if (list instanceof RandomAccess) {
+      var range = list.subList(start, end);
+      removed.addAll(range);
+      range.clear();
+      if (!Lists.isEmpty(insert))
+        list.addAll(start, insert);
+    }
+    else {
+      var iterator = list.listIterator(start);
+      for (int i=start; i<end; i++) {
+        removed.add(iterator.next());
+        iterator.remove();
+      }
+      if (insert!=null) {
+        for (E element : insert) {
+          iterator.add(element);
+        }
+      }
+    }
+    return removed;
   }
 
   // -------------------------------------------------------------------------------------------------------------------
@@ -158,6 +209,77 @@ public class Splice {
     return spliced.result();
   }
 
+  /**
+   * <p>Like {@link #splice(Object[], int, int, Object[])}, but no element is copied: both the result and the removed
+   * elements are {@link ArrayView views} over the given arrays.</p>
+   *
+   * @see ArrayView#splice(int, int, Object[])
+   */
+  @SafeVarargs
+  public static <E> Spliced<ArrayView<E>> spliceView(E[] array, int start, int deleteCount, E... insert) {
+    if (array==null)
+      return Spliced.undefined();
+
+    return ArrayView.of(array).splice(start, deleteCount, insert);
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Primitive array splice
+  // -------------------------------------------------------------------------------------------------------------------
+
+  public static Spliced<int[]> splice(int[] array, int start, int deleteCount, int... insert) {
+    if (array==null)
+      return Spliced.undefined();
+
+    return PrimitiveArraySplicer.INT.splice(array, start, deleteCount, true, insert);
+  }
+
+  public static Spliced<int[]> splice(int[] array, int start) {
+    if (array==null)
+      return Spliced.undefined();
+
+    return PrimitiveArraySplicer.INT.splice(array, start, true);
+  }
+
+  public static Spliced<long[]> splice(long[] array, int start, int deleteCount, long... insert) {
+    if (array==null)
+      return Spliced.undefined();
+
+    return PrimitiveArraySplicer.LONG.splice(array, start, deleteCount, true, insert);
+  }
+
+  public static Spliced<long[]> splice(long[] array, int start) {
+    if (array==null)
+      return Spliced.undefined();
+
+    return PrimitiveArraySplicer.LONG.splice(array, start, true);
+  }
+
+  public static Spliced<double[]> splice(double[] array, int start, int deleteCount, double... insert) {
+    if (array==null)
+      return Spliced.undefined();
+
+    return PrimitiveArraySplicer.DOUBLE.splice(array, start, deleteCount, true, insert);
+  }
+
+  public static Spliced<double[]> splice(double[] array, int start) {
+    if (array==null)
+      return Spliced.undefined();
+
+    return PrimitiveArraySplicer.DOUBLE.splice(array, start, true);
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Splice plans
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>Returns a new, empty, {@link SplicePlan}, to apply several splices to an array or a list in a single pass.</p>
+   */
+  public static <E> SplicePlan<E> plan() {
+    return new SplicePlan<>();
+  }
+
   // -------------------------------------------------------------------------------------------------------------------
   // Splicers
   // -------------------------------------------------------------------------------------------------------------------
@@ -166,8 +288,15 @@ public class Splice {
     return ArraySplicer.get();
   }
 
-  private static <E> Splicer<List<E>> listSplicer() {
-    return ListSplicer.get();
+  /**
+   * Returns the splicer for the given list: lists without {@link RandomAccess} are read sequentially, since every
+   * index-based access would walk the list
+   */
+  private static <E> Splicer<List<E>> listSplicer(List<E> list) {
+    if (list==null || list instanceof RandomAccess)
+      return ListSplicer.get();
+
+    return SequentialListSplicer.get();
   }
 
 
@@ -363,6 +492,100 @@ public class Splice {
     }
   }
 
+  /**
+   * Splicer for lists without {@link RandomAccess}: every splice reads the list once, with a single iterator
+   */
+  @ThreadSafe
+  private static class SequentialListSplicer<E> implements Splicer<List<E>> {
+
+    @SuppressWarnings("unchecked")
+    public static <E> SequentialListSplicer<E> get() {
+      return (SequentialListSplicer<E>) Singleton.instance;
+    }
+
+    private static class Singleton {
+      private static final SequentialListSplicer<?> instance = new SequentialListSplicer<>();
+    }
+
+    private SequentialListSplicer(){}
+
+    @Override
+    public Spliced<List<E>> splice(List<E> value, int start, boolean returnRemoved) {
+      return splice(value, start, Integer.MAX_VALUE, returnRemoved, null);
+    }
+
+    @Override
+    public Spliced<List<E>> splice(List<E> value, int start, int deleteCount, boolean returnRemoved, List<E> items) {
+      int size = size(value);
+      if (size==0)
+        return Spliced.of(cloneOrClear(value, items), empty(value));
+
+      // If deleteCount is 0 or negative, no elements are removed.
+      if (deleteCount <= 0 && size(items)==0)
+        return Spliced.of(value, empty(value));
+
+      start = Math.max(0, Splice.toSpliceStart(start, size));
+      int end = (int) Math.min(size, (long) start + Math.max(0, deleteCount));
+
+      var result = new LinkedList<E>();
+      var removed = new LinkedList<E>();
+      var iterator = value.iterator();
+      for (int i=0; i<start; i++) {
+        result.add(iterator.next());
+      }
+      for (int i=start; i<end; i++) {
+        var element = iterator.next();
+        if (returnRemoved)
+          removed.add(element);
+      }
+      if (items!=null)
+        result.addAll(items);
+
+      iterator.forEachRemaining(result::add);
+      return Spliced.of(result, removed);
+    }
+
+    @Override
+    public List<E> clone(List<E> value) {
+      return value!=null ? new LinkedList<>(value) : new LinkedList<>();
+    }
+
+    @Override
+    public List<E> cloneOrClear(List<E> value, List<E> toClone) {
+      if (!Lists.isEmpty(toClone)) {
+        return new LinkedList<>(toClone);
+      }
+      Lists.clear(value);
+      return value;
+    }
+
+    @Override
+    public List<E> push(List<E> value, List<E> items) {
+      Lists.pushAll(value, items);
+      return value;
+    }
+
+    @Override
+    public int size(List<E> value) {
+      return Lists.size(value);
+    }
+
+    @Override
+    public List<E> empty(List<E> value) {
+      return new LinkedList<>();
+    }
+
+    @Override
+    public List<E> subset(List<E> value, int startIndexInclusive, int endIndexExclusive) {
+      return splice(value, startIndexInclusive, endIndexExclusive - startIndexInclusive, true, null).removed();
+    }
+
+    @Override
+    public List<E> remove(List<E> value, int startIndexInclusive, int endIndexExclusive, List<E> insert) {
+      return splice(value, startIndexInclusive, endIndexExclusive - startIndexInclusive, false, insert).result();
+    }
+  }
+
   private static class ArraySplicer<E> implements Splicer<E[]> {
 
     @SuppressWarnings("unchecked")
@@ -412,6 +635,58 @@ public class Splice {
     }
   }
 
+  /**
+   * Splicer of the arrays of one primitive type
+   */
+  private static final class PrimitiveArraySplicer<A> implements Splicer<A> {
+
+    private static final PrimitiveArraySplicer<int[]> INT = new PrimitiveArraySplicer<>(ArrayUtils.EMPTY_INT_ARRAY);
+    private static final PrimitiveArraySplicer<long[]> LONG = new PrimitiveArraySplicer<>(ArrayUtils.EMPTY_LONG_ARRAY);
+    private static final PrimitiveArraySplicer<double[]> DOUBLE =
+        new PrimitiveArraySplicer<>(ArrayUtils.EMPTY_DOUBLE_ARRAY);
+
+    private final A empty;
+
+    private PrimitiveArraySplicer(A empty) {
+      this.empty = empty;
+    }
+
+    @Override
+    public A clone(A value) {
+      return Arrays.clonePrimitive(value);
+    }
+
+    @Override
+    public A cloneOrClear(A array, A toClone) {
+      return size(toClone)!=0 ? Arrays.clonePrimitive(toClone) : empty;
+    }
+
+    @Override
+    public A push(A value, A items) {
+      return size(items)==0 ? value : Arrays.appendPrimitive(value, items);
+    }
+
+    @Override
+    public int size(A value) {
+      return value!=null ? java.lang.reflect.Array.getLength(value) : 0;
+    }
+
+    @Override
+    public A empty(A value) {
+      return empty;
+    }
+
+    @Override
+    public A subset(A value, int startIndexInclusive, int endIndexExclusive) {
+      return Arrays.subarrayPrimitive(value, startIndexInclusive, endIndexExclusive);
+    }
+
+    @Override
+    public A remove(A value, int startIndexInclusive, int endIndexExclusive, A insert) {
+      return Arrays.removeImplPrimitive(value, startIndexInclusive, endIndexExclusive, insert);
+    }
+  }
+
   // -------------------------------------------------------------------------------------------------------------------
   // Result
   // -------------------------------------------------------------------------------------------------------------------
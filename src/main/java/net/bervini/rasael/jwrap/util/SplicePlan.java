@@ -0,0 +1,314 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bervini.rasael.jwrap.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNullableByDefault;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * <p>A batch of splice operations, applied to an array or a list in a single linear pass.</p>
+ *
+ * <p>Applying {@code k} splices one after the other rebuilds the whole array {@code k} times. A plan records the
+ * splices first, orders them by index and then builds the result once, in {@code O(n + k)}:</p>
+ * <pre>
+ * var result = Splice.&lt;String&gt;plan()
+ *                    .remove(1, 2)
+ *                    .insert(5, "x", "y")
+ *                    .splice(-1, 1, "z")
+ *                    .apply(array)
+ *                    .result();
+ * </pre>
+ *
+ * <p>All indexes refer to the <b>original</b> array, not to the result of the previous splices; negative indexes are
+ * counted from the end, like in {@link Splice#splice(Object[], int, int, Object[])}. When the removed ranges of two
+ * splices overlap, they are merged, and the inserts of splices at the same index keep the order they were recorded
+ * in.</p>
+ *
+ * <p>A plan is not thread-safe, but it can be applied to any number of arrays or lists.</p>
+ */
+@ParametersAreNullableByDefault
+public final class SplicePlan<E> {
+
+  private final List<Operation<E>> operations = new ArrayList<>();
+
+  SplicePlan(){}
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Records the removal of {@code deleteCount} elements from {@code start}, and the insertion of {@code insert} at
+   * {@code start}
+   */
+  @SafeVarargs
+  public final SplicePlan<E> splice(int start, int deleteCount, E... insert) {
+    return splice(start, deleteCount, insert!=null ? java.util.Arrays.asList(insert) : null);
+  }
+
+  /**
+   * Records the removal of {@code deleteCount} elements from {@code start}, and the insertion of {@code insert} at
+   * {@code start}
+   */
+  public SplicePlan<E> splice(int start, int deleteCount, List<E> insert) {
+    operations.add(new Operation<>(start, Math.max(0, deleteCount), insert!=null ? insert : List.of()));
+    return this;
+  }
+
+  public SplicePlan<E> remove(int start, int deleteCount) {
+    return splice(start, deleteCount, List.of());
+  }
+
+  @SafeVarargs
+  public final SplicePlan<E> insert(int start, E... items) {
+    return splice(start, 0, items);
+  }
+
+  /**
+   * Returns the number of recorded splices
+   */
+  public int size() {
+    return operations.size();
+  }
+
+  public boolean isEmpty() {
+    return operations.isEmpty();
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>Applies this plan to the given array.</p>
+   *
+   * <p>The array is not modified: the result is a new array, with the same component type.</p>
+   */
+  @NotNull
+  public Applied<E[]> apply(E[] array) {
+    if (array==null)
+      return new Applied<>(null, null, null, 0);
+
+    int size = array.length;
+    int[] ranges = resolve(size);
+    int length = length(ranges, size);
+
+    @SuppressWarnings("unchecked")
+    E[] result = (E[]) Array.newInstance(array.getClass().getComponentType(), length);
+
+    int cursor = 0;
+    int written = 0;
+    for (int i=0; i<operations.size(); i++) {
+      int start = ranges[i*3];
+      int end = ranges[i*3 + 1];
+
+      System.arraycopy(array, cursor, result, written, start - cursor);
+      written += start - cursor;
+
+      for (E item : operation(ranges, i).insert()) {
+        result[written++] = item;
+      }
+      cursor = end;
+    }
+    System.arraycopy(array, cursor, result, written, size - cursor);
+
+    return new Applied<>(result, array, ranges, operations.size());
+  }
+
+  /**
+   * <p>Applies this plan to the given list.</p>
+   *
+   * <p>The list is not modified: the result is a new {@link ArrayList}, a new {@link CircularList} for a circular
+   * list, or a {@link PersistentList} sharing the part before the first splice for a persistent list. Lists without
+   * {@link RandomAccess} are read with a single iterator.</p>
+   */
+  @NotNull
+  public Applied<List<E>> apply(List<E> list) {
+    if (list==null)
+      return new Applied<>(null, null, null, 0);
+
+    int size = list.size();
+    int[] ranges = resolve(size);
+    int length = length(ranges, size);
+    List<E> result;
+    int cursor = 0;
+    if (list instanceof PersistentList<E> persistent) {
+      // the result shares the list up to the first splice
+      cursor = ranges.length > 0 ? ranges[0] : size;
+      var shared = persistent.clone();
+      shared.truncate(cursor);
+      result = shared;
+    }
+    else {
+      result = list instanceof CircularList ? new CircularList<>(length) : new ArrayList<>(length);
+    }
+
+    if (list instanceof RandomAccess) {
+      for (int i=0; i<operations.size(); i++) {
+        result.addAll(list.subList(cursor, ranges[i*3]));
+        result.addAll(operation(ranges, i).insert());
+        cursor = ranges[i*3 + 1];
+      }
+      result.addAll(list.subList(cursor, size));
+    }
+    else {
+      Iterator<E> iterator = list.iterator();
+      for (int i=0; i<operations.size(); i++) {
+        int start = ranges[i*3];
+        int end = ranges[i*3 + 1];
+        for (; cursor<start; cursor++) {
+          result.add(iterator.next());
+        }
+        result.addAll(operation(ranges, i).insert());
+        for (; cursor<end; cursor++) {
+          iterator.next();
+        }
+      }
+      iterator.forEachRemaining(result::add);
+    }
+
+    return new Applied<>(result, list, ranges, operations.size());
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Resolves the operations against the given size: returns the {@code (start, end, operation)} triples sorted by
+   * start, with the overlapping removed ranges merged
+   */
+  private int[] resolve(int size) {
+    int count = operations.size();
+    var order = new Integer[count];
+    var starts = new int[count];
+    for (int i=0; i<count; i++) {
+      order[i] = i;
+      starts[i] = Math.max(0, Splice.toSpliceStart(operations.get(i).start(), size));
+    }
+    // stable: splices at the same index keep the order they were recorded in
+    java.util.Arrays.sort(order, (a, b) -> Integer.compare(starts[a], starts[b]));
+
+    var ranges = new int[count * 3];
+    int cursor = 0;
+    for (int i=0; i<count; i++) {
+      int index = order[i];
+      int start = Math.max(cursor, starts[index]);
+      int end = Math.max(start, (int) Math.min(size, (long) starts[index] + operations.get(index).deleteCount()));
+
+      ranges[i*3] = start;
+      ranges[i*3 + 1] = end;
+      ranges[i*3 + 2] = index;
+      cursor = end;
+    }
+    return ranges;
+  }
+
+  private int length(int[] ranges, int size) {
+    int length = size;
+    for (int i=0; i<operations.size(); i++) {
+      length += operation(ranges, i).insert().size() - (ranges[i*3 + 1] - ranges[i*3]);
+    }
+    return length;
+  }
+
+  private Operation<E> operation(int[] ranges, int i) {
+    return operations.get(ranges[i*3 + 2]);
+  }
+
+  private record Operation<E>(int start, int deleteCount, List<E> insert) {}
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Result
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * <p>The result of a {@link SplicePlan}.</p>
+   *
+   * <p>The removed elements are only collected by {@link #removed()}, from the original array or list: they are read
+   * when first requested, so the source should not be modified in between.</p>
+   */
+  public static final class Applied<T> {
+
+    private final T result;
+    private final T source;
+    private final int[] ranges;
+    private final int operations;
+
+    private T removed;
+
+    private Applied(T result, T source, int[] ranges, int operations) {
+      this.result = result;
+      this.source = source;
+      this.ranges = ranges;
+      this.operations = operations;
+    }
+
+    @Nullable
+    public T result() {
+      return result;
+    }
+
+    /**
+     * Returns the number of elements removed by the plan
+     */
+    public int removedCount() {
+      int count = 0;
+      for (int i=0; i<operations; i++) {
+        count += ranges[i*3 + 1] - ranges[i*3];
+      }
+      return count;
+    }
+
+    /**
+     * Returns the removed elements, in index order
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public T removed() {
+      if (removed==null && source!=null) {
+        if (source instanceof Object[] array) {
+          removed = (T) removedFrom(array);
+        }
+        else {
+          removed = (T) removedFrom((List<?>) source);
+        }
+      }
+      return removed;
+    }
+
+    private Object[] removedFrom(Object[] array) {
+      var removed = (Object[]) Array.newInstance(array.getClass().getComponentType(), removedCount());
+      int written = 0;
+      for (int i=0; i<operations; i++) {
+        int length = ranges[i*3 + 1] - ranges[i*3];
+        System.arraycopy(array, ranges[i*3], removed, written, length);
+        written += length;
+      }
+      return removed;
+    }
+
+    private List<?> removedFrom(List<?> list) {
+      var removed = new ArrayList<>(removedCount());
+      for (int i=0; i<operations; i++) {
+        removed.addAll(list.subList(ranges[i*3], ranges[i*3 + 1]));
+      }
+      return removed;
+    }
+  }
+}
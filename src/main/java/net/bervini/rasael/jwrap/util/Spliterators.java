@@ -16,10 +16,13 @@
 
 package net.bervini.rasael.jwrap.util;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Spliterator;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 
@@ -47,42 +50,70 @@ public class Spliterators {
     return new FiniteSupplyingSpliterator<>(supplier, size);
   }
 
+  /**
+   * <p>Supplies the elements {@code [index, fence)} of a finite sequence. Splitting hands out the first half of the
+   * remaining count, so that a parallel stream shares the elements evenly among its workers; the supplier is then
+   * called from several threads at once.</p>
+   */
   private static class FiniteSupplyingSpliterator<T> implements Spliterator<T> {
 
     private final Supplier<T> supplier;
-    private final int size;
+    private final int fence;
 
-    private int counter;
+    private int index;
 
     public FiniteSupplyingSpliterator(Supplier<T> supplier, int size) {
-      this.supplier = Preconditions.requireArgNonNull(supplier);
-      this.size = size;
+      this(supplier, 0, size);
+    }
 
+    private FiniteSupplyingSpliterator(Supplier<T> supplier, int index, int fence) {
+      this.supplier = Preconditions.requireArgNonNull(supplier);
+      this.index = index;
+      this.fence = fence;
     }
+
     @Override
     public long estimateSize() {
-      return size;
+      return fence - index;
     }
 
     @Override
     public int characteristics() {
-      return IMMUTABLE | ORDERED | SIZED;
+      return IMMUTABLE | ORDERED | SIZED | SUBSIZED;
     }
 
     @Override
     public boolean tryAdvance(Consumer<? super T> action) {
       Objects.requireNonNull(action);
 
-      if (counter++<size) {
+      if (index<fence) {
+        index++;
         action.accept(supplier.get());
         return true;
       }
       return false;
     }
 
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+      Objects.requireNonNull(action);
+
+      int end = fence;
+      for (int i=index; i<end; i++) {
+        index = i + 1;
+        action.accept(supplier.get());
+      }
+    }
+
     @Override
     public Spliterator<T> trySplit() {
-      return null; // TODO add support
+      int mid = (index + fence) >>> 1;
+      if (mid<=index)
+        return null;
+
+      var prefix = new FiniteSupplyingSpliterator<>(supplier, index, mid);
+      index = mid;
+      return prefix;
     }
 
     @Override
@@ -90,6 +121,229 @@ public class Spliterators {
       return null; // SORTED, but naturally
     }
   }
+
+  /**
+   * <p>Returns a spliterator of the elements of the given spliterator in consecutive chunks of {@code size}; the last
+   * chunk may be smaller. Chunks are read lazily, one at a time.</p>
+   *
+   * @throws IllegalArgumentException if {@code size} is not positive
+   * @see ListViews#chunked(java.util.List, int)
+   */
+  public static <T> Spliterator<List<T>> chunked(Spliterator<T> source, int size) {
+    Preconditions.checkArgument(size > 0, "size must be positive: %s", size);
+    if (source==null)
+      return empty();
+
+    return new WindowingSpliterator<>(source, size, size, true);
+  }
+
+  /**
+   * <p>Returns a spliterator of the windows of {@code size} elements of the given spliterator, starting every
+   * {@code step} elements. The windows shorter than {@code size} at the end are dropped. Only the elements of the
+   * current window are kept.</p>
+   *
+   * @throws IllegalArgumentException if {@code size} or {@code step} is not positive
+   * @see ListViews#windowed(java.util.List, int, int)
+   */
+  public static <T> Spliterator<List<T>> windowed(Spliterator<T> source, int size, int step) {
+    Preconditions.checkArgument(size > 0, "size must be positive: %s", size);
+    Preconditions.checkArgument(step > 0, "step must be positive: %s", step);
+    if (source==null)
+      return empty();
+
+    return new WindowingSpliterator<>(source, size, step, false);
+  }
+
+  /**
+   * <p>Returns a spliterator of the runs of consecutive elements of the given spliterator for which the predicate
+   * gives the same result. Runs are read lazily, one at a time.</p>
+   *
+   * @see ListViews#partitionBy(java.util.List, Predicate)
+   */
+  public static <T> Spliterator<List<T>> partitionBy(Spliterator<T> source, Predicate<? super T> predicate) {
+    Preconditions.requireArgNonNull(predicate);
+    if (source==null)
+      return empty();
+
+    return new PartitioningSpliterator<>(source, predicate);
+  }
+
+  /**
+   * <p>Base of the spliterators grouping the elements of a source into lists. Groups are built sequentially, so
+   * {@link #trySplit()} reads a batch of groups ahead and hands it out as an array spliterator, like the JDK does for
+   * iterators: the stream can run the batches in parallel, and the batches grow so that large streams need few
+   * splits.</p>
+   */
+  private abstract static class GroupingSpliterator<T> implements Spliterator<List<T>> {
+
+    private static final int BATCH_UNIT = 1 << 6;
+    private static final int MAX_BATCH = 1 << 14;
+
+    final Spliterator<T> source;
+    private int batch;
+
+    GroupingSpliterator(Spliterator<T> source) {
+      this.source = source;
+    }
+
+    @Override
+    public Spliterator<List<T>> trySplit() {
+      if (estimateSize() <= 1)
+        return null;
+
+      int n = Math.min(batch + BATCH_UNIT, MAX_BATCH);
+      var groups = new ArrayList<List<T>>(n);
+      while (groups.size() < n && tryAdvance(groups::add)) {
+        // read ahead
+      }
+      if (groups.isEmpty())
+        return null;
+
+      batch = n;
+      return java.util.Spliterators.spliterator(groups.toArray(), characteristics());
+    }
+
+    @Override
+    public long estimateSize() {
+      return source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+      return (source.characteristics() & ORDERED) | NONNULL;
+    }
+  }
+
+  private static final class WindowingSpliterator<T> extends GroupingSpliterator<T> {
+
+    private final int size;
+    private final int step;
+    private final boolean partial;
+
+    /**
+     * The elements of the next window read so far, shared by overlapping windows; a list, as elements may be null
+     */
+    private final ArrayList<T> window;
+    private boolean done;
+
+    WindowingSpliterator(Spliterator<T> source, int size, int step, boolean partial) {
+      super(source);
+      this.size = size;
+      this.step = step;
+      this.partial = partial;
+      this.window = new ArrayList<>(Math.min(size, 1 << 10));
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super List<T>> action) {
+      Objects.requireNonNull(action);
+      if (done)
+        return false;
+
+      while (window.size() < size) {
+        if (!source.tryAdvance(window::add)) {
+          done = true;
+          if (partial && !window.isEmpty()) {
+            action.accept(new ArrayList<>(window));
+            return true;
+          }
+          return false;
+        }
+      }
+
+      var next = new ArrayList<>(window);
+      if (step >= size) {
+        window.clear();
+        for (long skip = step - size; skip > 0; skip--) {
+          if (!source.tryAdvance(element -> {})) {
+            done = true;
+            break;
+          }
+        }
+      }
+      else {
+        // copying each window already costs its size, and so does dropping its first elements
+        window.subList(0, step).clear();
+      }
+      action.accept(next);
+      return true;
+    }
+
+    @Override
+    public long estimateSize() {
+      if (done)
+        return 0;
+
+      long elements = source.estimateSize();
+      if (elements==Long.MAX_VALUE)
+        return elements;
+
+      elements += window.size();
+      if (partial)
+        return (elements + step - 1) / step;
+
+      return elements < size ? 0 : (elements - size) / step + 1;
+    }
+
+    @Override
+    public int characteristics() {
+      // the count of windows is exact as long as the count of elements is
+      return super.characteristics() | (source.characteristics() & SIZED);
+    }
+  }
+
+  private static final class PartitioningSpliterator<T> extends GroupingSpliterator<T> {
+
+    private final Predicate<? super T> predicate;
+
+    private List<T> run;
+    private List<T> ready;
+    private boolean current;
+
+    PartitioningSpliterator(Spliterator<T> source, Predicate<? super T> predicate) {
+      super(source);
+      this.predicate = predicate;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super List<T>> action) {
+      Objects.requireNonNull(action);
+
+      while (ready==null && source.tryAdvance(this::add)) {
+        // a run is ready when the first element of the next one is read
+      }
+      if (ready==null) {
+        ready = run;
+        run = null;
+      }
+      if (ready==null)
+        return false;
+
+      var next = ready;
+      ready = null;
+      action.accept(next);
+      return true;
+    }
+
+    private void add(T element) {
+      boolean matches = predicate.test(element);
+      if (run!=null && matches!=current) {
+        ready = run;
+        run = null;
+      }
+      if (run==null)
+        run = new ArrayList<>();
+      current = matches;
+      run.add(element);
+    }
+
+    @Override
+    public long estimateSize() {
+      long elements = source.estimateSize();
+      return run!=null && elements < Long.MAX_VALUE ? elements + 1 : elements;
+    }
+  }
+
   private static int createCharacteristics(int...characteristics) {
     Preconditions.requireArgNonNull(characteristics);
 
@@ -17,9 +17,13 @@
 package net.bervini.rasael.jwrap.util;
 
 import javax.annotation.ParametersAreNullableByDefault;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -57,7 +61,8 @@ public class Streams {
       return Stream.empty();
     }
 
-    return StreamSupport.stream(java.util.Spliterators.spliteratorUnknownSize(iterator, 0), false);
+    // the iterators of Iterators carry their size and characteristics
+    return StreamSupport.stream(Iterators.spliterator(iterator), false);
   }
 
   public static <T> Stream<T> stream(T[] array) {
@@ -168,4 +173,109 @@ public class Streams {
 
     return stream.limit(limit);
   }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Grouping
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @see Spliterators#chunked(Spliterator, int)
+   */
+  public static <T> Stream<List<T>> chunked(Stream<T> stream, int size) {
+    Preconditions.checkArgument(size > 0, "size must be positive: %s", size);
+    if (stream==null)
+      return empty();
+
+    return group(stream, Spliterators.chunked(stream.spliterator(), size));
+  }
+
+  /**
+   * @see Spliterators#windowed(Spliterator, int, int)
+   */
+  public static <T> Stream<List<T>> windowed(Stream<T> stream, int size, int step) {
+    Preconditions.checkArgument(size > 0, "size must be positive: %s", size);
+    Preconditions.checkArgument(step > 0, "step must be positive: %s", step);
+    if (stream==null)
+      return empty();
+
+    return group(stream, Spliterators.windowed(stream.spliterator(), size, step));
+  }
+
+  /**
+   * @see Spliterators#partitionBy(Spliterator, Predicate)
+   */
+  public static <T> Stream<List<T>> partitionBy(Stream<T> stream, Predicate<? super T> predicate) {
+    Preconditions.requireArgNonNull(predicate);
+    if (stream==null)
+      return empty();
+
+    return group(stream, Spliterators.partitionBy(stream.spliterator(), predicate));
+  }
+
+  private static <T> Stream<List<T>> group(Stream<T> stream, Spliterator<List<T>> groups) {
+    return StreamSupport.stream(groups, stream.isParallel()).onClose(stream::close);
+  }
+
+  // -------------------------------------------------------------------------------------------------------------------
+  // Concurrent mapping
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @see #mapConcurrent(Stream, Function, int, Duration)
+   */
+  public static <T, R> Stream<R> mapConcurrent(Stream<T> stream, Function<? super T, ? extends R> mapper,
+                                               int maxConcurrency) {
+    return mapConcurrent(stream, mapper, maxConcurrency, null);
+  }
+
+  /**
+   * <p>Maps the elements with blocking operations, such as lookups or file reads, running each mapping on a
+   * {@link VirtualThreads virtual thread} and at most {@code maxConcurrency} of them at the same time. The results
+   * keep the encounter order of the stream.</p>
+   *
+   * <p>The returned stream is lazy and sequential: the elements are read and mapped as its results are consumed. The
+   * first failing mapping cancels the running ones and is rethrown by the terminal operation; a mapping running
+   * longer than {@code timeout} fails with a {@link java.util.concurrent.CompletionException} caused by a
+   * {@link java.util.concurrent.TimeoutException}. Closing the returned stream cancels the running mappings.</p>
+   *
+   * @param timeout the maximum time of each mapping, or {@code null} for no limit
+   * @throws IllegalArgumentException if {@code maxConcurrency} or {@code timeout} is not positive
+   */
+  public static <T, R> Stream<R> mapConcurrent(Stream<T> stream, Function<? super T, ? extends R> mapper,
+                                               int maxConcurrency, Duration timeout) {
+    Preconditions.requireArgNonNull(mapper);
+    Preconditions.checkArgument(maxConcurrency > 0, "maxConcurrency must be positive: %s", maxConcurrency);
+    Preconditions.checkArgument(timeout==null || timeout.compareTo(Duration.ZERO) > 0,
+                                "timeout must be positive: %s", timeout);
+    if (stream==null)
+      return empty();
+
+    var source = stream.spliterator();
+    var concurrent = new ConcurrentMapper<T, R>(java.util.Spliterators.iterator(source), source.getExactSizeIfKnown(),
+                                            mapper, maxConcurrency, timeout);
+    return stream(concurrent).onClose(concurrent::close).onClose(stream::close);
+  }
+
+  /**
+   * @see #forEachConcurrent(Stream, Consumer, int, Duration)
+   */
+  public static <T> void forEachConcurrent(Stream<T> stream, Consumer<? super T> action, int maxConcurrency) {
+    forEachConcurrent(stream, action, maxConcurrency, null);
+  }
+
+  /**
+   * <p>Performs the blocking action for each element, as {@link #mapConcurrent(Stream, Function, int, Duration)},
+   * and returns when all the actions completed.</p>
+   */
+  public static <T> void forEachConcurrent(Stream<T> stream, Consumer<? super T> action, int maxConcurrency,
+                                           Duration timeout) {
+    Preconditions.requireArgNonNull(action);
+    Function<T, Object> mapper = element -> {
+      action.accept(element);
+      return null;
+    };
+    try (var completions = mapConcurrent(stream, mapper, maxConcurrency, timeout)) {
+      completions.forEach(Consumers.nullConsumer());
+    }
+  }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bervini.rasael.jwrap.util;
+
+import javax.annotation.Nonnull;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Executors for blocking tasks, running each task on a virtual thread when the runtime has them (Java 21+), and
+ * on cached daemon platform threads otherwise.</p>
+ */
+public final class VirtualThreads {
+
+  private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = lookupVirtualThreadPerTaskExecutor();
+
+  private VirtualThreads(){}
+
+  // -------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Returns true when the runtime supports virtual threads
+   */
+  public static boolean isAvailable() {
+    return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR!=null;
+  }
+
+  /**
+   * <p>Returns an executor starting a new virtual thread for each task, or, when virtual threads are not available,
+   * a cached pool of daemon threads named {@code jwrap-concurrent-<n>}.</p>
+   *
+   * <p>The executor doesn't bound the number of running tasks, and should be {@link ExecutorService#shutdown() shut
+   * down} after use.</p>
+   */
+  @Nonnull
+  public static ExecutorService newTaskExecutor() {
+    if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR!=null) {
+      try {
+        return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invokeExact();
+      }
+      catch (RuntimeException | Error e) {
+        throw e;
+      }
+      catch (Throwable e) {
+        throw new IllegalStateException(e);
+      }
+    }
+    return Executors.newCachedThreadPool(new DaemonThreadFactory());
+  }
+
+  private static MethodHandle lookupVirtualThreadPerTaskExecutor() {
+    try {
+      return MethodHandles.publicLookup()
+          .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+    }
+    catch (NoSuchMethodException | IllegalAccessException e) {
+      return null;
+    }
+  }
+
+  private static final class DaemonThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    @Override
+    public Thread newThread(@Nonnull Runnable task) {
+      var thread = new Thread(task, "jwrap-concurrent-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bervini.rasael.jwrap.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static net.bervini.rasael.jwrap.api.JWrap.$live;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AtomicReferenceArrayWrapTest {
+
+  private static final AtomicReferenceArray<String> NULL_ARRAY = null;
+
+  private static AtomicReferenceArray<String> abc() {
+    return new AtomicReferenceArray<>(new String[]{"a", "b", "c"});
+  }
+
+  @Test
+  void live() {
+    var array = abc();
+    var wrap = $live(array);
+
+    array.set(0, "x");
+    assertThat(wrap.get(0)).isEqualTo("x");
+
+    wrap.set(1, "y");
+    assertThat(array.get(1)).isEqualTo("y");
+
+    assertThat(wrap.get(3)).isNull();
+    assertThat(wrap.at(-1)).isEqualTo("c");
+    assertThat(wrap.size()).isEqualTo(3);
+    assertThat(wrap.indexOf("c")).isEqualTo(2);
+    assertThat(wrap.contains("x", "y")).isTrue();
+    assertThat(wrap.contains("c", 2)).isTrue();
+    assertThat(wrap).hasToString("[x, y, c]");
+    assertThat(wrap.toList()).containsExactly("x", "y", "c");
+
+    assertThatThrownBy(() -> wrap.set(3, "z")).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void atomic() {
+    var wrap = $live(abc());
+
+    assertThat(wrap.compareAndSet(0, "a", "A")).isTrue();
+    assertThat(wrap.compareAndSet(0, "a", "B")).isFalse();
+    assertThat(wrap.getAndSet(0, "a")).isEqualTo("A");
+    assertThat(wrap.getAndUpdate(1, String::toUpperCase)).isEqualTo("b");
+    assertThat(wrap.updateAndGet(1, s -> s + "!")).isEqualTo("B!");
+    assertThat(wrap.getAndAccumulate(2, "d", String::concat)).isEqualTo("c");
+    assertThat(wrap.accumulateAndGet(2, "e", String::concat)).isEqualTo("cde");
+  }
+
+  @Test
+  void nullArray() {
+    var wrap = $live(NULL_ARRAY);
+    assertThat(wrap.get(0)).isNull();
+    assertThat(wrap.size()).isZero();
+    assertThat(wrap.compareAndSet(0, null, "a")).isFalse();
+    assertThat(wrap.updateAndGet(0, s -> s)).isNull();
+    assertThat(wrap.snapshot().get()).isNull();
+    assertThat($live(abc()).snapshot().toList()).containsExactly("a", "b", "c");
+    assertThat(wrap.toList()).isEmpty();
+  }
+
+  @Test
+  void forEachEntry() {
+    var size = 10_000;
+    var array = new AtomicReferenceArray<Integer>(size);
+    var wrap = $live(array).parallel(ForkJoinPool.commonPool(), 100);
+    assertThat(wrap.isParallel()).isTrue();
+
+    var calls = new AtomicInteger();
+    wrap.forEachEntry((index, value) -> {
+      calls.incrementAndGet();
+      array.set(index, index);
+    });
+    assertThat(calls).hasValue(size);
+
+    wrap.sequential()
+        .forEachEntry((index, value) -> assertThat(value).isEqualTo(index));
+  }
+
+  @Test
+  void snapshot() throws InterruptedException {
+    var size = 1_000;
+    var array = new AtomicReferenceArray<Integer>(size);
+    for (int i = 0; i < size; i++) {
+      array.set(i, 0);
+    }
+
+    // the writer sets the first and then the last element to the same round number
+    var stop = new AtomicBoolean();
+    var started = new CountDownLatch(1);
+    var writer = new Thread(() -> {
+      for (int round = 1; !stop.get(); round++) {
+        array.set(0, round);
+        array.set(size - 1, round);
+        started.countDown();
+      }
+    });
+    writer.start();
+    started.await();
+
+    try {
+      var wrap = $live(array);
+      for (int i = 0; i < 100; i++) {
+        var snapshot = wrap.snapshot(Integer[]::new).get();
+        assertThat(snapshot).hasSize(size);
+        // the elements are read in index order, each at least as recent as the previous ones
+        assertThat(snapshot[size - 1]).isGreaterThanOrEqualTo(snapshot[0] - 1);
+      }
+    }
+    finally {
+      stop.set(true);
+      writer.join();
+    }
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bervini.rasael.jwrap.api;
+
+import org.junit.jupiter.api.Test;
+
+import static net.bervini.rasael.jwrap.api.JWrap.$;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DoubleArrayWrapTest {
+
+  @Test
+  void operations() {
+    var wrap = $(new double[]{3.0, 1.0, 2.0});
+
+    assertThat(wrap.push(4.0).sort().get()).containsExactly(1.0, 2.0, 3.0, 4.0);
+    assertThat(wrap.shift()).isEqualTo(1.0);
+    assertThat(wrap.pop()).isEqualTo(4.0);
+    assertThat(wrap.splice(1, 0, 9.0).get()).containsExactly(2.0, 9.0, 3.0);
+    assertThat(wrap.filter(d -> d > 2.0).get()).containsExactly(9.0, 3.0);
+    assertThat(wrap.reverse().get()).containsExactly(3.0, 9.0);
+    assertThat(wrap.doubleStream().sum()).isEqualTo(12.0);
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bervini.rasael.jwrap.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+
+import static net.bervini.rasael.jwrap.api.JWrap.$;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IntArrayWrapTest {
+
+  private static final int[] NULL_ARRAY = null;
+
+  private static int[] newArray() {
+    return new int[]{3, 1, 2};
+  }
+
+  @Test
+  void size() {
+    assertThat($(newArray()).size()).isEqualTo(3);
+    assertThat($(new int[0]).isEmpty()).isTrue();
+    assertThat($(NULL_ARRAY).size()).isZero();
+    assertThat($(NULL_ARRAY).isNullOrEmpty()).isTrue();
+  }
+
+  @Test
+  void pushPop() {
+    var wrap = $(newArray()).push(4, 5);
+    assertThat(wrap.get()).containsExactly(3, 1, 2, 4, 5);
+    assertThat(wrap.pop()).isEqualTo(5);
+    assertThat(wrap.get()).containsExactly(3, 1, 2, 4);
+
+    assertThat($(NULL_ARRAY).push(1).get()).isNull();
+    assertThatThrownBy(() -> $(new int[0]).pop()).isInstanceOf(NoSuchElementException.class);
+  }
+
+  @Test
+  void shiftUnshift() {
+    var wrap = $(newArray());
+    assertThat(wrap.shift()).isEqualTo(3);
+    assertThat(wrap.unshift(0).get()).containsExactly(0, 1, 2);
+
+    assertThatThrownBy(() -> $(NULL_ARRAY).shift()).isInstanceOf(NoSuchElementException.class);
+    assertThat($(NULL_ARRAY).unshift(1).get()).isNull();
+    assertThat($(new int[0]).unshift(1).get()).containsExactly(1);
+    assertThat($(new int[]{1}).shift()).isEqualTo(1);
+  }
+
+  @Test
+  void splice() {
+    assertThat($(newArray()).splice(1).get()).containsExactly(3);
+    assertThat($(newArray()).splice(-1).get()).containsExactly(3, 1);
+    assertThat($(newArray()).splice(1, 1).get()).containsExactly(3, 2);
+    assertThat($(newArray()).splice(1, 1, 7, 8).get()).containsExactly(3, 7, 8, 2);
+    assertThat($(newArray()).splice(1, 0, 7).get()).containsExactly(3, 7, 1, 2);
+    assertThat($(newArray()).splice(3, 0, 7).get()).containsExactly(3, 1, 2, 7);
+    assertThat($(newArray()).splice(0, 10).get()).isEmpty();
+    assertThat($(NULL_ARRAY).splice(0, 1).get()).isNull();
+  }
+
+  @Test
+  void filter() {
+    assertThat($(newArray()).filter(i -> i > 1).get()).containsExactly(3, 2);
+    assertThat($(newArray()).removeIf(i -> i > 1).get()).containsExactly(1);
+    assertThat($(NULL_ARRAY).filter(i -> i > 1).get()).isNull();
+  }
+
+  @Test
+  void sortReverse() {
+    assertThat($(newArray()).sort().get()).containsExactly(1, 2, 3);
+    assertThat($(newArray()).reverse().get()).containsExactly(2, 1, 3);
+    assertThat($(newArray()).swap(0, 2).get()).containsExactly(2, 1, 3);
+    assertThat($(newArray()).shuffle().get()).containsExactlyInAnyOrder(1, 2, 3);
+  }
+
+  @Test
+  void indexOf() {
+    assertThat($(newArray()).indexOf(2)).isEqualTo(2);
+    assertThat($(newArray()).indexOf(9)).isEqualTo(-1);
+    assertThat($(NULL_ARRAY).indexOf(9)).isEqualTo(-1);
+
+    assertThat($(newArray()).contains(1)).isTrue();
+    assertThat($(newArray()).contains(1, 3)).isTrue();
+    assertThat($(newArray()).contains(1, 4)).isFalse();
+  }
+
+  @Test
+  void getAndAt() {
+    assertThat($(newArray()).get(1)).isEqualTo(1);
+    assertThat($(newArray()).at(-1)).isEqualTo(2);
+    assertThat($(newArray()).set(0, 9).get()).containsExactly(9, 1, 2);
+
+    assertThatThrownBy(() -> $(newArray()).at(-4)).isInstanceOf(ArrayIndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> $(NULL_ARRAY).get(0)).isInstanceOf(ArrayIndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void concat() {
+    assertThat($(newArray()).concat(new int[]{4}, null, new int[]{5, 6}).get())
+        .containsExactly(3, 1, 2, 4, 5, 6);
+  }
+
+  @Test
+  void forEachEntry() {
+    var entries = new ArrayList<String>();
+    $(newArray()).forEachEntry((i, e) -> entries.add(i + "=" + e));
+    assertThat(entries).containsExactly("0=3", "1=1", "2=2");
+  }
+
+  @Test
+  void streams() {
+    assertThat($(newArray()).intStream().sum()).isEqualTo(6);
+    assertThat($(NULL_ARRAY).intStream().count()).isZero();
+    assertThat($(newArray()).toList()).containsExactly(3, 1, 2);
+    assertThat($(newArray()).iterator().nextInt()).isEqualTo(3);
+    assertThat($(newArray()).first()).isEqualTo(3);
+  }
+
+  @Test
+  void arrayToString() {
+    assertThat($(newArray())).hasToString("[3, 1, 2]");
+    assertThat($(NULL_ARRAY)).hasToString("null");
+  }
+}
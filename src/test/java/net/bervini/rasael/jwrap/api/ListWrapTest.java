@@ -16,11 +16,20 @@
 
 package net.bervini.rasael.jwrap.api;
 
+import net.bervini.rasael.jwrap.util.CircularList;
 import net.bervini.rasael.jwrap.util.Lists;
+import net.bervini.rasael.jwrap.util.Splice;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static net.bervini.rasael.jwrap.api.JWrap.$;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class ListWrapTest {
 
@@ -50,4 +59,134 @@ class ListWrapTest {
     $(list).shift();
     assertThat(list).isEmpty();
   }
-}
\ No newline at end of file
+
+  @Test
+  void splicePlan() {
+    var plan = Splice.<String>plan()
+        .splice(0, 1, "x")
+        .remove(-1, 1);
+
+    assertThat($(Lists.newList("a", "b", "c")).splice(plan).get()).containsExactly("x", "b");
+  }
+
+  @Test
+  void sampling() {
+    var list = Lists.newList(1, 2, 3, 4, 5);
+
+    assertThat($(list).sample(2).get()).hasSize(2).doesNotHaveDuplicates().isSubsetOf(list);
+    assertThat($(list).weightedSample(5, n -> n % 2).get()).containsExactlyInAnyOrder(1, 3, 5);
+    assertThat($(list).shuffle(new SplittableRandom(3)).get()).containsExactlyInAnyOrder(1, 2, 3, 4, 5);
+    assertThat($(new LinkedList<>(list)).shuffle().get()).containsExactlyInAnyOrder(1, 2, 3, 4, 5);
+  }
+
+  @Test
+  void indexedIteration() {
+    var builder = new StringBuilder();
+    $(Lists.newList("a", "b")).forEachEntry((i, e) -> builder.append(i).append(e));
+    $(new LinkedList<>(Lists.newList("c"))).forEachEntry((i, e) -> builder.append(i).append(e));
+    assertThat(builder).hasToString("0a1b0c");
+
+    var cursor = $(Lists.newList("a", "b")).cursor();
+    assertThat(cursor.next()).isTrue();
+    assertThat(cursor.next()).isTrue();
+    assertThat(cursor.index()).isEqualTo(1);
+    assertThat(cursor.value()).isEqualTo("b");
+    assertThat(cursor.next()).isFalse();
+
+    assertThat($(Lists.newList("a")).entries()).containsExactly(java.util.Map.entry(0, "a"));
+  }
+
+  @Test
+  void buffered() {
+    var list = Lists.newList("a", "b");
+    var queue = $(list).buffered();
+
+    assertThat(queue.isBuffered()).isTrue();
+    assertThat(queue.get()).isInstanceOf(CircularList.class);
+
+    queue.push("c").unshift("z");
+    assertThat(queue.shift()).isEqualTo("z");
+    assertThat(queue.shift()).isEqualTo("a");
+    assertThat(queue.pop()).isEqualTo("c");
+    assertThat(queue.get()).containsExactly("b");
+    assertThat(list).containsExactly("a", "b");
+
+    assertThat(queue.splice(Splice.<String>plan().insert(0, "y")).get())
+        .isInstanceOf(CircularList.class)
+        .containsExactly("y", "b");
+    assertThat(queue.unbuffered().isBuffered()).isFalse();
+    assertThat(queue.get()).containsExactly("y", "b");
+    assertThat($((List<String>) null).buffered().get()).isNull();
+  }
+
+  @Test
+  void views() {
+    var calls = new java.util.concurrent.atomic.AtomicInteger();
+    var rows = Lists.newList("a:1", "b:2", "c:3");
+
+    var view = $(rows).mapView(row -> {
+                        calls.incrementAndGet();
+                        return row.split(":");
+                      })
+                      .filterView(parts -> !parts[0].equals("b"))
+                      .mapView(parts -> Integer.parseInt(parts[1]));
+    assertThat(calls).hasValue(0);
+    assertThat(view.toList()).containsExactly(1, 3);
+
+    assertThat($(rows).mapView(String::length, true).get()).containsExactly(3, 3, 3);
+    assertThat($(rows).concatView(List.of("d:4"), null).get()).containsExactly("a:1", "b:2", "c:3", "d:4");
+    assertThat($((List<String>) null).mapView(String::length).size()).isZero();
+  }
+
+  @Test
+  void grouping() {
+    var rows = Lists.newList(1, 2, 3, 4, 5);
+
+    assertThat($(rows).chunked(2).get()).containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+    assertThat($(rows).windowed(3, 1).get()).containsExactly(List.of(1, 2, 3), List.of(2, 3, 4), List.of(3, 4, 5));
+    assertThat($(rows).partitionBy(n -> n < 3).get()).containsExactly(List.of(1, 2), List.of(3, 4, 5));
+    assertThat($((List<Integer>) null).chunked(2).get()).isEmpty();
+  }
+
+  @Test
+  void mapConcurrent() {
+    var ids = Lists.newList(3, 1, 2);
+
+    assertThat($(ids).mapConcurrent(id -> "#" + id, 2).get()).containsExactly("#3", "#1", "#2");
+    assertThat($((List<Integer>) null).mapConcurrent(id -> id, 2, Duration.ofSeconds(1)).get()).isEmpty();
+
+    var sum = new AtomicInteger();
+    $(ids).forEachConcurrent(sum::addAndGet, 2);
+    assertThat(sum.get()).isEqualTo(6);
+  }
+
+  @Test
+  void persistent() {
+    var source = Lists.newList("a", "b", "c");
+    var wrap = $(source).persistent();
+    assertThat(wrap.isPersistent()).isTrue();
+
+    var snapshot = wrap.snapshot();
+    wrap.push("d");
+    wrap.set(0, "z");
+    assertThat(wrap.get()).containsExactly("z", "b", "c", "d");
+    assertThat(snapshot).containsExactly("a", "b", "c");
+    assertThat(source).containsExactly("a", "b", "c");
+
+    assertThat(wrap.splice(Splice.<String>plan().splice(1, 1)).get())
+        .isInstanceOf(net.bervini.rasael.jwrap.util.PersistentList.class)
+        .containsExactly("z", "c", "d");
+    assertThat($((List<String>) null).persistent().isPersistent()).isFalse();
+  }
+
+  @Test
+  void concurrent() {
+    var wrap = $(new java.util.ArrayList<>(List.of(-1))).concurrent();
+    assertThat(wrap.isConcurrent()).isTrue();
+
+    java.util.stream.IntStream.range(0, 10_000).parallel().forEach(wrap::push);
+    assertThat(wrap.size()).isEqualTo(10_001);
+    assertThat(wrap.get(0)).isEqualTo(-1);
+    assertThatThrownBy(wrap::pop).isInstanceOf(UnsupportedOperationException.class);
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bervini.rasael.jwrap.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static net.bervini.rasael.jwrap.api.JWrap.$;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongArrayWrapTest {
+
+  @Test
+  void operations() {
+    var wrap = $(new long[]{3L, 1L, 2L});
+
+    assertThat(wrap.push(4L).sort().get()).containsExactly(1L, 2L, 3L, 4L);
+    assertThat(wrap.shift()).isEqualTo(1L);
+    assertThat(wrap.pop()).isEqualTo(4L);
+    assertThat(wrap.splice(1, 0, 9L).get()).containsExactly(2L, 9L, 3L);
+    assertThat(wrap.filter(l -> l > 2L).get()).containsExactly(9L, 3L);
+    assertThat(wrap.indexOf(3L)).isEqualTo(1);
+    assertThat(wrap.longStream().sum()).isEqualTo(12L);
+  }
+
+  @Test
+  void filterRuns() {
+    var values = LongStream.range(0, 200).toArray();
+
+    // runs of kept elements crossing the 64 elements words of the filter mask
+    assertThat($(values.clone()).filter(l -> l % 50 < 40).get())
+        .isEqualTo(LongStream.range(0, 200).filter(l -> l % 50 < 40).toArray());
+    assertThat($(values.clone()).filter(l -> l >= 60 && l < 130).get())
+        .isEqualTo(LongStream.range(60, 130).toArray());
+    assertThat($(values).removeIf(l -> true).get()).isEmpty();
+  }
+}
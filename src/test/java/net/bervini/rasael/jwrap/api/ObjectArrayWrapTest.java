@@ -16,13 +16,20 @@
 
 package net.bervini.rasael.jwrap.api;
 
+import net.bervini.rasael.jwrap.util.ArrayFormat;
 import net.bervini.rasael.jwrap.util.Lists;
+import net.bervini.rasael.jwrap.util.Splice;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.SplittableRandom;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static net.bervini.rasael.jwrap.api.JWrap.$;
@@ -225,6 +232,18 @@ class ObjectArrayWrapTest {
         );
   }
 
+  @Test
+  void cursor() {
+    var cursor = $(newAbcArray()).cursor();
+    var builder = new StringBuilder();
+    while (cursor.next()) {
+      builder.append(cursor.index()).append(cursor.value());
+    }
+    assertThat(builder).hasToString("0a1b2c");
+    assertThat($(NULL_ARRAY).cursor().next()).isFalse();
+    assertThat($(newAbcArray()).slice(1).cursor().next()).isTrue();
+  }
+
   @Test
   void removeIf() {
     assertThat($(NULL_ARRAY).removeIf(String::isBlank).get())
@@ -385,4 +404,248 @@ class ObjectArrayWrapTest {
     assertThat($(NULL_ARRAY).deepCopy().get())
         .isNull();
   }
-}
\ No newline at end of file
+
+  @Test
+  void buffered() {
+    var queue = $(new String[0]).buffered();
+    assertThat(queue.isBuffered()).isTrue();
+
+    queue.push("b", "c");
+    queue.unshift("a");
+    queue.push("d");
+    assertThat(queue.size()).isEqualTo(4);
+    assertThat(queue.get(0)).isEqualTo("a");
+    assertThat(queue.get()).containsExactly("a", "b", "c", "d");
+
+    assertThat(queue.shift()).isEqualTo("a");
+    assertThat(queue.pop()).isEqualTo("d");
+    assertThat(queue.get()).containsExactly("b", "c")
+                           .isInstanceOf(String[].class);
+
+    queue.reverse().push("a");
+    assertThat(queue.toString()).isEqualTo("[c, b, a]");
+
+    assertThat(queue.unbuffered().isBuffered()).isFalse();
+    assertThat(queue.get()).containsExactly("c", "b", "a");
+  }
+
+  @Test
+  void bufferedNull() {
+    var wrap = $(NULL_ARRAY).buffered();
+    assertThat(wrap.push("a").get()).isNull();
+    assertThat(wrap.pop()).isNull();
+    assertThat(wrap.shift()).isNull();
+    assertThat(wrap.unshift("a").get()).isNull();
+  }
+
+  @Test
+  void bufferedWorkQueue() {
+    var queue = $(new Integer[0]).buffered();
+    for (int i = 0; i < 1000; i++) {
+      queue.push(i);
+    }
+    for (int i = 0; i < 500; i++) {
+      assertThat(queue.shift()).isEqualTo(i);
+      queue.push(i);
+    }
+    assertThat(queue.size()).isEqualTo(1000);
+    assertThat(queue.at(0)).isEqualTo(500);
+    assertThat(queue.at(-1)).isEqualTo(499);
+  }
+
+  @Test
+  void bufferedReadsInPlace() {
+    var queue = $(new String[0]).buffered().push("a", "b", "c");
+    queue.shift();
+    int hashCode = queue.hashCode();
+
+    assertThat(queue.at(-1)).isEqualTo("c");
+    assertThat(queue.at(5)).isNull();
+    assertThat(queue.indexOf("c")).isEqualTo(1);
+    assertThat(queue.contains("b")).isTrue();
+    assertThat(queue.contains("c", 1)).isTrue();
+    assertThat(queue.contains(List.of("b", "c"))).isTrue();
+    assertThat(queue.toString()).isEqualTo("[b, c]");
+    assertThat(queue.hashCode()).isEqualTo(hashCode);
+
+    // equality follows the elements, whatever the mode of the wraps
+    var plain = $(new String[]{"b", "c"});
+    assertThat(queue).isEqualTo(plain).hasSameHashCodeAs(plain);
+    assertThat(queue.get()).containsExactly("b", "c");
+    assertThat(queue).isEqualTo(plain).hasSameHashCodeAs(plain);
+    assertThat(queue.hashCode()).isEqualTo(hashCode);
+    assertThat(queue).isNotEqualTo($(new String[]{"c", "b"}));
+
+    var view = $(newAbcArray()).slice(1);
+    hashCode = view.hashCode();
+    assertThat(view.at(0)).isEqualTo("b");
+    assertThat(view.indexOf("c")).isEqualTo(1);
+    assertThat(view.toString()).isEqualTo("[b, c]");
+    assertThat(view).isEqualTo($(newAbcArray()).slice(1)).isEqualTo(plain).hasSameHashCodeAs(plain);
+    assertThat(view.hashCode()).isEqualTo(hashCode);
+  }
+
+  @Test
+  void slice() {
+    assertThat($(newAbcArray()).slice(1).get()).containsExactly("b", "c");
+    assertThat($(newAbcArray()).slice(-2, -1).get()).containsExactly("b");
+    assertThat($(newAbcArray()).slice(2, 1).get()).isEmpty();
+    assertThat($(NULL_ARRAY).slice(1).get()).isNull();
+  }
+
+  @Test
+  void chainedViews() {
+    var wrap = $(newAbcArray())
+        .concat(newAbcArray(), newAbcArray())
+        .splice(1, 2, "x")
+        .slice(0, 5);
+
+    assertThat(wrap.size()).isEqualTo(5);
+    assertThat(wrap.get(1)).isEqualTo("x");
+    assertThat(wrap.view()).containsExactly("a", "x", "a", "b", "c");
+    assertThat(wrap.get()).containsExactly("a", "x", "a", "b", "c")
+                          .isInstanceOf(String[].class);
+
+    assertThat($(NULL_ARRAY).view()).isNull();
+  }
+
+  @Test
+  void viewsCopyTheCallerItems() {
+    // the wrapped array is read in place until the view is materialized
+    var base = newAbcArray();
+    var sliced = $(base).slice(1);
+    base[2] = "Z";
+    assertThat(sliced.get()).containsExactly("b", "Z");
+    base[1] = "Y";
+    assertThat(sliced.get()).containsExactly("b", "Z");
+
+    var source = newAbcArray();
+    var extra = new String[]{"x", "y"};
+    var concatenated = $(source).concat(extra);
+    extra[0] = "MUT";
+    assertThat(concatenated.get()).containsExactly("a", "b", "c", "x", "y");
+
+    var items = new String[]{"x"};
+    var spliced = $(newAbcArray()).splice(1, 1, items);
+    items[0] = "MUT";
+    assertThat(spliced.get()).containsExactly("a", "x", "c");
+  }
+
+  @Test
+  void splicePlan() {
+    var removed = new ArrayList<String>();
+    var plan = Splice.<String>plan()
+        .remove(0, 1)
+        .insert(2, "x");
+
+    assertThat($(newAbcArray()).spliceTo(removed, plan).get()).containsExactly("b", "x", "c");
+    assertThat(removed).containsExactly("a");
+    assertThat($(newAbcArray()).splice(Splice.<String>plan()).get()).containsExactly("a", "b", "c");
+    assertThat($(NULL_ARRAY).splice(plan).get()).isNull();
+  }
+
+  @Test
+  void parallel() {
+    var array = new Integer[50_000];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = array.length - i;
+    }
+
+    var wrap = $(array.clone()).parallel(null, 1_000);
+    assertThat(wrap.isParallel()).isTrue();
+
+    wrap.removeIf(n -> n % 2==0)
+        .sort();
+    assertThat(wrap.size()).isEqualTo(25_000);
+    assertThat(wrap.get(0)).isEqualTo(1);
+    assertThat(wrap.at(-1)).isEqualTo(49_999);
+
+    var mapped = wrap.map(n -> "#" + n, String[]::new);
+    assertThat(mapped.isParallel()).isTrue();
+    assertThat(mapped.get(1)).isEqualTo("#3");
+
+    assertThat(wrap.sequential().isParallel()).isFalse();
+    assertThat($(NULL_ARRAY).parallel().filter(Objects::nonNull).get()).isNull();
+  }
+
+  @Test
+  void indexed() {
+    var wrap = $(newAbcArray()).indexed();
+    assertThat(wrap.isIndexed()).isTrue();
+    assertThat(wrap.contains("a")).isTrue();
+    assertThat(wrap.contains("a", "c")).isTrue();
+    assertThat(wrap.contains("d")).isFalse();
+
+    // the index follows the modifications made through the wrap
+    wrap.set(0, "d");
+    assertThat(wrap.contains("d")).isTrue();
+    assertThat(wrap.contains("a")).isFalse();
+
+    wrap.push("e");
+    assertThat(wrap.contains(Lists.newList("b", "e"))).isTrue();
+
+    wrap.buffered().shift();
+    assertThat(wrap.contains("d")).isFalse();
+
+    wrap.splice(0, 1);
+    assertThat(wrap.contains("b")).isFalse();
+
+    assertThat(wrap.unindexed().isIndexed()).isFalse();
+    assertThat(wrap.contains("c", "e")).isTrue();
+    assertThat($(NULL_ARRAY).indexed().contains("a")).isFalse();
+
+    // both modes compare with equals, so arrays by identity
+    var array = new int[]{1};
+    var arrays = $(new Object[]{array});
+    for (var indexed : List.of(false, true)) {
+      if (indexed)
+        arrays.indexed();
+      assertThat(arrays.contains((Object) array)).isTrue();
+      assertThat(arrays.contains((Object) new int[]{1})).isFalse();
+      assertThat(arrays.contains(List.<Object>of(new int[]{1}))).isFalse();
+      assertThat(arrays.contains(List.<Object>of(array))).isTrue();
+    }
+  }
+
+  @Test
+  void selection() {
+    Integer[] array = {5, 3, 9, 1, 7};
+
+    assertThat($(array.clone()).nthElement(2, null).get(2)).isEqualTo(5);
+    assertThat($(array.clone()).partialSort(2, Comparator.reverseOrder()).get()).startsWith(9, 7);
+    assertThat($(array).topK(3, null).get()).containsExactly(1, 3, 5);
+    assertThat(array).containsExactly(5, 3, 9, 1, 7);
+  }
+
+  @Test
+  void sampling() {
+    var array = new Integer[]{1, 2, 3, 4, 5, 6, 7, 8};
+
+    assertThat($(array).sample(3).get()).isInstanceOf(Integer[].class).hasSize(3).doesNotHaveDuplicates();
+    assertThat($(array).sample(3, new SplittableRandom(7)).get())
+        .containsExactly($(array).sample(3, new SplittableRandom(7)).get());
+    assertThat($(array).weightedSample(2, n -> n > 6 ? 1 : 0).get()).containsExactlyInAnyOrder(7, 8);
+    assertThat(array).containsExactly(1, 2, 3, 4, 5, 6, 7, 8);
+
+    var large = new Integer[10_000];
+    Arrays.setAll(large, i -> i);
+    assertThat($(large.clone()).parallel(null, 1).shuffle(new SplittableRandom(1)).get())
+        .isNotEqualTo(large)
+        .containsExactlyInAnyOrder(large);
+  }
+
+  @Test
+  void representation() throws IOException {
+    var huge = new Integer[1_000_000];
+    Arrays.fill(huge, 123456);
+
+    assertThat($(huge).toString()).hasSize(ArrayFormat.DEFAULT_MAX_CHARS).startsWith("[123456, ").endsWith("...");
+    assertThat($(new Object[]{new int[]{1}}).deepToString()).isEqualTo("[[1]]");
+    assertThat($(huge).toString(ArrayFormat.FULL.maxElements(1))).isEqualTo("[123456, ...]");
+
+    var writer = new StringWriter();
+    $(huge).appendTo(writer, ArrayFormat.FULL.maxChars(12));
+    assertThat(writer).hasToString("[123456, ...");
+    assertThat($(new int[]{1, 2}).toString(ArrayFormat.FULL.maxElements(1))).isEqualTo("[1, ...]");
+  }
+}
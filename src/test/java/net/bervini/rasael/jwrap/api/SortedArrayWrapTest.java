@@ -0,0 +1,121 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bervini.rasael.jwrap.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+
+import static net.bervini.rasael.jwrap.api.JWrap.$;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SortedArrayWrapTest {
+
+  private static final Integer[] NULL_ARRAY = null;
+
+  @Test
+  void sorted() {
+    var array = new Integer[]{5, 1, 4, 2, 3};
+    var sorted = $(array).sorted(null);
+
+    assertThat(array).containsExactly(1, 2, 3, 4, 5);
+    assertThat(sorted.get()).isSameAs(array);
+    assertThat(sorted.comparator()).isNull();
+    assertThat($(new Integer[]{1, 2, 3}).sorted(Comparator.reverseOrder()).toList()).containsExactly(3, 2, 1);
+    assertThat($(NULL_ARRAY).sorted(null).size()).isZero();
+  }
+
+  @Test
+  void lookups() {
+    var sorted = $(new Integer[]{1, 3, 3, 3, 5, 7}).asSorted(null);
+
+    assertThat(sorted.indexOf(3)).isEqualTo(1);
+    assertThat(sorted.indexOf(4)).isEqualTo(-1);
+    assertThat(sorted.indexOf(8)).isEqualTo(-1);
+    assertThat(sorted.contains(7)).isTrue();
+    assertThat(sorted.contains(0)).isFalse();
+    assertThat(sorted.contains(List.of(1, 5, 7))).isTrue();
+    assertThat(sorted.contains(List.of(1, 2))).isFalse();
+    assertThat(sorted.contains(3, 2)).isTrue();
+    assertThat(sorted.doesNotContain(3, 4)).isTrue();
+
+    assertThat(sorted.floor(4)).isEqualTo(3);
+    assertThat(sorted.floor(3)).isEqualTo(3);
+    assertThat(sorted.floor(0)).isNull();
+    assertThat(sorted.ceiling(4)).isEqualTo(5);
+    assertThat(sorted.ceiling(8)).isNull();
+
+    var nulls = $(NULL_ARRAY).asSorted(null);
+    assertThat(nulls.indexOf(1)).isEqualTo(-1);
+    assertThat(nulls.floor(1)).isNull();
+    assertThat(nulls.ceiling(1)).isNull();
+  }
+
+  @Test
+  void range() {
+    var sorted = $(new Integer[]{1, 3, 3, 5, 7, 9}).asSorted(null);
+
+    assertThat(sorted.range(3, 7).toList()).containsExactly(3, 3, 5);
+    assertThat(sorted.range(null, 5).toList()).containsExactly(1, 3, 3);
+    assertThat(sorted.range(6, null).toList()).containsExactly(7, 9);
+    assertThat(sorted.range(7, 3).toList()).isEmpty();
+    assertThat(sorted.range(3, 7).get()).isInstanceOf(Integer[].class);
+    assertThat(sorted.toList()).containsExactly(1, 3, 3, 5, 7, 9);
+  }
+
+  @Test
+  void insert() {
+    var sorted = $(new String[]{"b", "d"}).sorted(Comparator.reverseOrder());
+
+    assertThat(sorted.insert("c").toList()).containsExactly("d", "c", "b");
+    assertThat(sorted.insert("e").insert("a").toList()).containsExactly("e", "d", "c", "b", "a");
+    assertThat(sorted.insertAll("f", "a", "c").toList()).containsExactly("f", "e", "d", "c", "c", "b", "a", "a");
+    assertThat(sorted.insertAll().size()).isEqualTo(8);
+    assertThat(sorted.get()).isInstanceOf(String[].class);
+  }
+
+  @Test
+  void merge() {
+    var first = new Holder(1, "first");
+    var second = new Holder(1, "second");
+    Comparator<Holder> byKey = Comparator.comparingInt(Holder::key);
+
+    var sorted = $(new Holder[]{first, new Holder(4, "")}).asSorted(byKey);
+    sorted.merge($(new Holder[]{new Holder(0, ""), second, new Holder(5, "")}).asSorted(byKey));
+
+    assertThat(sorted.toList()).extracting(Holder::key).containsExactly(0, 1, 1, 4, 5);
+    assertThat(sorted.get(1)).isSameAs(first);
+    assertThat(sorted.get(2)).isSameAs(second);
+    assertThat(sorted.merge(null).size()).isEqualTo(5);
+  }
+
+  @Test
+  void spliterator() {
+    var sorted = $(new Integer[]{3, 1, 2}).sorted(null);
+
+    assertThat(sorted.spliterator().hasCharacteristics(Spliterator.SORTED)).isTrue();
+    assertThat(sorted.spliterator().getComparator()).isNull();
+    assertThat(sorted.stream().toList()).containsExactly(1, 2, 3);
+    assertThat(sorted.unsorted().reverse().toList()).containsExactly(3, 2, 1);
+  }
+
+  private record Holder(int key, String name) {
+  }
+}
@@ -20,8 +20,15 @@ import net.bervini.rasael.jwrap.util.Arrays;
 import net.bervini.rasael.jwrap.util.Consumers;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static net.bervini.rasael.jwrap.api.JWrap.$;
@@ -145,4 +152,85 @@ class StreamWrapTest {
     assertThat($(source).stream().sortReversed(comparator).toList())
         .containsExactly("a","b","c");
   }
-}
\ No newline at end of file
+
+  @Test
+  void sampling() {
+    assertThat($(IntStream.range(0, 1_000).boxed()).sample(10).get()).hasSize(10).doesNotHaveDuplicates();
+    assertThat($(Stream.of("a", "b")).sample(5).get()).containsExactlyInAnyOrder("a", "b");
+    assertThat($(Stream.of("a", "bb", "")).weightedSample(5, String::length).get()).containsExactlyInAnyOrder("a", "bb");
+  }
+
+  @Test
+  void grouping() {
+    assertThat($(Stream.of(1, 2, 3, 4, 5)).chunked(2).toList())
+        .containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+    assertThat($(Stream.of(1, 2, 3)).windowed(2, 1).toList()).containsExactly(List.of(1, 2), List.of(2, 3));
+    assertThat($(Stream.of("a", "b", "", "c")).partitionBy(String::isEmpty).toList())
+        .containsExactly(List.of("a", "b"), List.of(""), List.of("c"));
+    assertThat($((Stream<String>) null).chunked(3).toList()).isEmpty();
+  }
+
+  @Test
+  void parallelIn() {
+    var pool = new ForkJoinPool(2);
+    try {
+      var threads = ConcurrentHashMap.<Thread>newKeySet();
+      var squares = $(IntStream.range(0, 10_000).boxed()).parallelIn(pool)
+          .map(i -> {
+            threads.add(Thread.currentThread());
+            return i * i;
+          })
+          .toList();
+
+      assertThat(squares).hasSize(10_000).startsWith(0, 1, 4, 9);
+      assertThat(threads).allMatch(thread -> thread instanceof ForkJoinWorkerThread worker && worker.getPool()==pool);
+      assertThat($(Stream.of(1, 2, 3)).parallelIn(pool).collect(Collectors.summingInt(i -> i))).isEqualTo(6);
+      assertThat($(Stream.of(1, 2, 3)).parallelIn(pool).isParallel()).isTrue();
+      assertThat($(Stream.of(1, 2, 3)).parallelIn(pool).sequential().isParallel()).isFalse();
+    }
+    finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void boundedParallelism() {
+    var threads = ConcurrentHashMap.<String>newKeySet();
+    var count = $(IntStream.range(0, 10_000).boxed()).parallel(2)
+        .filter(i -> i % 2==0)
+        .map(i -> {
+          threads.add(Thread.currentThread().getName());
+          return i;
+        })
+        .count();
+
+    assertThat(count).isEqualTo(5_000);
+    assertThat(threads).isNotEmpty().allMatch(name -> name.startsWith("jwrap-parallel-2-"));
+    assertThatCode(() -> $(Stream.of(1)).parallel(0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void mapConcurrent() {
+    assertThat($(Stream.of(1, 2, 3)).mapConcurrent(i -> i * 10, 2).toList()).containsExactly(10, 20, 30);
+    assertThat($(Stream.of("a", "b")).mapConcurrent(String::toUpperCase, 1, Duration.ofSeconds(5)).toList())
+        .containsExactly("A", "B");
+
+    var seen = ConcurrentHashMap.<Integer>newKeySet();
+    $(IntStream.range(0, 50).boxed()).forEachConcurrent(seen::add, 4);
+    assertThat(seen).hasSize(50);
+
+    var pool = new ForkJoinPool(2);
+    try {
+      // the terminal operation still runs in the pool
+      assertThat($(Stream.of(1, 2, 3)).parallelIn(pool).mapConcurrent(i -> i, 2)
+                     .map(i -> Thread.currentThread()).toList())
+          .allMatch(thread -> thread instanceof ForkJoinWorkerThread worker && worker.getPool()==pool);
+      assertThat($(Stream.of(1, 2, 3)).parallelIn(pool).mapConcurrent(i -> i, 2, Duration.ofSeconds(5))
+                     .map(i -> Thread.currentThread()).toList())
+          .allMatch(thread -> thread instanceof ForkJoinWorkerThread worker && worker.getPool()==pool);
+    }
+    finally {
+      pool.shutdown();
+    }
+  }
+}
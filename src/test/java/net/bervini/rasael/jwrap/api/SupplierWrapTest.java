@@ -65,4 +65,17 @@ class SupplierWrapTest {
     assertThat($(counter::incrementAndGet).infiniteIterator()).hasNext();
   }
 
-}
\ No newline at end of file
+  @Test
+  void parallelStream() {
+    AtomicInteger counter = new AtomicInteger();
+
+    var values = $(counter::incrementAndGet).parallelStream(100_000).toList();
+    assertThat(values).hasSize(100_000);
+    assertThat(counter).hasValue(100_000);
+    assertThat(values.stream().sorted().toList())
+        .isEqualTo(java.util.stream.IntStream.rangeClosed(1, 100_000).boxed().toList());
+
+    assertThat($(() -> "x").parallelStream(10).get().isParallel()).isTrue();
+    assertThat($(NULL_SUPPLIER).parallelStream(10).count()).isZero();
+  }
+}
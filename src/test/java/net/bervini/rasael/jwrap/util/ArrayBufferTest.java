@@ -0,0 +1,82 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bervini.rasael.jwrap.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArrayBufferTest {
+
+  @Test
+  void of() {
+    var buffer = ArrayBuffer.of(new String[]{"a", "b"});
+    assertThat(buffer.size()).isEqualTo(2);
+    assertThat(buffer.toArray()).containsExactly("a", "b")
+                                .isInstanceOf(String[].class);
+
+    assertThat(ArrayBuffer.of(new String[0]).isEmpty()).isTrue();
+    assertThatThrownBy(() -> ArrayBuffer.of(null)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void bothEnds() {
+    var buffer = ArrayBuffer.of(new String[0]);
+    buffer.addLast("b");
+    buffer.addFirst("a");
+    buffer.addAll(List.of("c", "d"));
+    buffer.addFirst(null);
+
+    assertThat(buffer.toArray()).containsExactly(null, "a", "b", "c", "d");
+    assertThat(buffer.pollFirst()).isNull();
+    assertThat(buffer.pollLast()).isEqualTo("d");
+    assertThat(buffer.get(0)).isEqualTo("a");
+    assertThat(buffer.get(3)).isNull();
+    assertThat(buffer.set(1, "x")).isEqualTo("b");
+    assertThat(buffer.toArray()).containsExactly("a", "x", "c");
+  }
+
+  @Test
+  void growWhileWrapped() {
+    var buffer = ArrayBuffer.of(new Integer[0]);
+    for (int i = 0; i < 5; i++) {
+      buffer.addLast(i);
+    }
+    for (int i = 0; i < 3; i++) {
+      buffer.addLast(buffer.pollFirst());
+    }
+    // head is now in the middle of the backing array, force a resize
+    for (int i = 5; i < 100; i++) {
+      buffer.addLast(i);
+    }
+
+    assertThat(buffer.size()).isEqualTo(100);
+    assertThat(buffer.toArray()).startsWith(3, 4, 0, 1, 2, 5)
+                                .endsWith(99);
+    assertThat(buffer.pollFirst()).isEqualTo(3);
+    assertThat(buffer.pollLast()).isEqualTo(99);
+
+    while (!buffer.isEmpty()) {
+      buffer.pollLast();
+    }
+    assertThat(buffer.pollFirst()).isNull();
+    assertThat(buffer.pollLast()).isNull();
+  }
+}
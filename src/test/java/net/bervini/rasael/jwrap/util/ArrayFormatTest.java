@@ -0,0 +1,120 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bervini.rasael.jwrap.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArrayFormatTest {
+
+  @Test
+  void full() {
+    var array = new Object[]{1, "a", null, new int[]{1, 2}};
+
+    assertThat(ArrayFormat.FULL.format(array)).isEqualTo(java.util.Arrays.toString(array));
+    assertThat(ArrayFormat.FULL.deep(true).format(array)).isEqualTo(java.util.Arrays.deepToString(array));
+    assertThat(ArrayFormat.FULL.format(new int[]{1, 2})).isEqualTo("[1, 2]");
+    assertThat(ArrayFormat.FULL.format(new long[]{3L})).isEqualTo("[3]");
+    assertThat(ArrayFormat.FULL.format(new double[]{0.5, -1})).isEqualTo("[0.5, -1.0]");
+    assertThat(ArrayFormat.FULL.format(new char[]{'x', 'y'})).isEqualTo("[x, y]");
+    assertThat(ArrayFormat.FULL.format(new AtomicReferenceArray<>(new String[]{"a"}))).isEqualTo("[a]");
+    assertThat(ArrayFormat.FULL.format(new Object[0])).isEqualTo("[]");
+    assertThat(ArrayFormat.FULL.format(null)).isEqualTo("null");
+  }
+
+  @Test
+  void cycles() {
+    var array = new Object[2];
+    array[0] = "a";
+    array[1] = array;
+
+    assertThat(ArrayFormat.FULL.deep(true).format(array)).isEqualTo(java.util.Arrays.deepToString(array));
+  }
+
+  @Test
+  void maxElements() {
+    var format = ArrayFormat.FULL.maxElements(3);
+
+    assertThat(format.format(new Integer[]{1, 2, 3, 4, 5})).isEqualTo("[1, 2, 3, ...]");
+    assertThat(format.format(new Integer[]{1, 2, 3})).isEqualTo("[1, 2, 3]");
+    assertThat(format.ellipsis("<more>").format(new int[]{1, 2, 3, 4})).isEqualTo("[1, 2, 3, <more>]");
+    assertThat(format.deep(true).format(new Object[]{new int[]{1, 2, 3, 4}, 2, 3, 4}))
+        .isEqualTo("[[1, 2, 3, ...], 2, 3, ...]");
+    assertThat(ArrayFormat.FULL.maxElements(0).format(new int[]{1})).isEqualTo("[...]");
+  }
+
+  @Test
+  void maxChars() {
+    var format = ArrayFormat.FULL.maxChars(10);
+
+    assertThat(format.format(new int[]{1, 2, 3, 4, 5, 6})).isEqualTo("[1, 2, ...").hasSize(10);
+    // fits exactly
+    assertThat(format.format(new int[]{1, 2, 34})).isEqualTo("[1, 2, 34]");
+    assertThat(format.format(new int[]{1, 2, 345})).isEqualTo("[1, 2, ...");
+    assertThat(format.format(new String[]{"x".repeat(1_000_000)})).isEqualTo("[xxxxxx...");
+    assertThat(format.ellipsis("").format(new int[]{1, 2, 3, 4, 5, 6})).isEqualTo("[1, 2, 3, ");
+    // never less than the ellipsis
+    assertThat(ArrayFormat.FULL.maxChars(2).format(new int[]{12})).isEqualTo("...");
+  }
+
+  @Test
+  void lists() throws IOException {
+    var read = new AtomicInteger();
+    var list = new AbstractList<Integer>() {
+      @Override
+      public Integer get(int index) {
+        read.incrementAndGet();
+        return index;
+      }
+
+      @Override
+      public int size() {
+        return 10_000_000;
+      }
+    };
+
+    assertThat(ArrayFormat.FULL.maxChars(10).format(list)).isEqualTo("[0, 1, ...");
+    assertThat(read).hasValueLessThan(10);
+    assertThat(ArrayFormat.FULL.format(Arrays.asList("a", null))).isEqualTo("[a, null]");
+    assertThat(ArrayFormat.FULL.deep(true).format(List.of(new int[]{1}, "b"))).isEqualTo("[[1], b]");
+    assertThat(ArrayFormat.FULL.maxElements(1).appendTo(new StringWriter(), List.of(1, 2))).hasToString("[1, ...]");
+    assertThat(ArrayFormat.FULL.format((List<?>) null)).isEqualTo("null");
+  }
+
+  @Test
+  void appendTo() throws IOException {
+    var array = IntStream.range(0, 1_000_000).boxed().toArray();
+    var writer = new StringWriter();
+
+    assertThat(ArrayFormat.FULL.maxElements(2).appendTo(writer, array)).isSameAs(writer);
+    assertThat(writer).hasToString("[0, 1, ...]");
+
+    var builder = new StringBuilder("array=");
+    ArrayFormat.DEFAULT.appendTo(builder, array);
+    assertThat(builder).hasSize("array=".length() + ArrayFormat.DEFAULT_MAX_CHARS).endsWith("...");
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bervini.rasael.jwrap.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArrayViewTest {
+
+  private static String[] abc() {
+    return new String[]{"a", "b", "c"};
+  }
+
+  @Test
+  void of() {
+    var view = ArrayView.of(abc(), 1, 3);
+    assertThat(view).containsExactly("b", "c");
+    assertThat(view.get(0)).isEqualTo("b");
+    assertThat(view.toArray()).isInstanceOf(String[].class)
+                              .containsExactly("b", "c");
+
+    assertThatThrownBy(() -> ArrayView.of(abc(), 2, 4)).isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> view.get(2)).isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> view.set(0, "x")).isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void concatAndSlice() {
+    var view = ArrayView.of(abc()).concat(new String[]{"d", "e"}, null, new String[0], new String[]{"f"});
+    assertThat(view).containsExactly("a", "b", "c", "d", "e", "f");
+    assertThat(view.get(3)).isEqualTo("d");
+    assertThat(view.get(5)).isEqualTo("f");
+
+    assertThat(view.slice(2, 5)).containsExactly("c", "d", "e");
+    assertThat(view.slice(-1, 100)).containsExactly("a", "b", "c", "d", "e", "f");
+    assertThat(view.slice(4, 2)).isEmpty();
+    assertThat(view.slice(2, 5).concat(view.slice(0, 1))).containsExactly("c", "d", "e", "a");
+
+    assertThat(Arrays.concat(abc(), abc(), abc())).containsExactly("a", "b", "c", "a", "b", "c", "a", "b", "c");
+  }
+
+  @Test
+  void splice() {
+    var source = abc();
+    var spliced = ArrayView.of(source).splice(1, 1, "x", "y");
+    assertThat(spliced.result()).containsExactly("a", "x", "y", "c");
+    assertThat(spliced.removed()).containsExactly("b");
+
+    assertThat(ArrayView.of(source).splice(-1, 5).result()).containsExactly("a", "b");
+    assertThat(ArrayView.of(source).splice(1, -1, "x").result()).containsExactly("a", "x", "b", "c");
+    assertThat(ArrayView.of(source).splice(5, 0, "x").result()).containsExactly("a", "b", "c", "x");
+
+    assertThat(Splice.spliceView(source, 0, 2).result()).containsExactly("c");
+    assertThat(Splice.spliceView((String[]) null, 0, 2).result()).isNull();
+  }
+
+  @Test
+  void noCopyUntilMaterialized() {
+    var source = abc();
+    var view = ArrayView.of(source).slice(1, 3);
+    source[1] = "B";
+    assertThat(view).containsExactly("B", "c");
+
+    var array = view.toArray();
+    source[2] = "C";
+    assertThat(array).containsExactly("B", "c");
+  }
+
+  @Test
+  void iteration() {
+    var view = ArrayView.of(abc()).concat(abc()).slice(1, 5);
+
+    var forEach = new ArrayList<String>();
+    view.forEach(forEach::add);
+    assertThat(forEach).containsExactly("b", "c", "a", "b");
+    assertThat(new ArrayList<>(view)).containsExactly("b", "c", "a", "b");
+    assertThat(view.toArray(new String[0])).containsExactly("b", "c", "a", "b");
+    assertThat(view).isEqualTo(java.util.List.of("b", "c", "a", "b"));
+  }
+}
@@ -82,4 +82,170 @@ class ArraysTest {
         .isNull();
   }
 
-}
\ No newline at end of file
+  @Test
+  void filter() {
+    var array = new String[200];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = i % 3==0 ? null : "e" + i;
+    }
+
+    var filtered = Arrays.filter(array, java.util.Objects::nonNull);
+    assertThat(filtered).isInstanceOf(String[].class)
+                        .hasSize(133)
+                        .doesNotContainNull()
+                        .startsWith("e1", "e2", "e4")
+                        .endsWith("e197", "e199");
+    assertThat(Arrays.removeIf(array, java.util.Objects::nonNull)).hasSize(67)
+                                                                  .containsOnlyNulls();
+
+    // a predicate filtering another array doesn't share the mask
+    assertThat(Arrays.filter(array, e -> e!=null && Arrays.filter(array, java.util.Objects::isNull).length==67))
+        .containsExactly(filtered);
+
+    assertThat(Arrays.filter(new String[]{"a"}, "b"::equals)).isEmpty();
+    assertThat(Arrays.removeIf(new String[]{"a"}, "b"::equals)).containsExactly("a");
+    assertThat(Arrays.filter(nullArray(), e -> true)).isNull();
+  }
+
+  @Test
+  void filterPrimitives() {
+    int[] ints = {1, 2, 3, 4, 5};
+    assertThat(Arrays.filter(ints, i -> i % 2==0)).containsExactly(2, 4);
+    assertThat(Arrays.removeIf(ints, i -> i % 2==0)).containsExactly(1, 3, 5);
+    assertThat(Arrays.filter(ints, i -> true)).isSameAs(ints);
+
+    assertThat(Arrays.removeIf(new long[]{1, 2, 3}, l -> l > 1)).containsExactly(1L);
+    assertThat(Arrays.removeIf(new double[]{1, 2, 3}, d -> d < 3)).containsExactly(3d);
+  }
+
+  @Test
+  void compact() {
+    String[] array = {"a", null, "b", null, "c"};
+    assertThat(Arrays.compact(array, java.util.Objects::nonNull)).isEqualTo(3);
+    assertThat(array).containsExactly("a", "b", "c", null, null);
+
+    assertThat(Arrays.compact(array, 3, "b"::equals)).isEqualTo(1);
+    assertThat(array).containsExactly("b", null, null, null, null);
+
+    assertThat(Arrays.compact(array, 10, null)).isEqualTo(5);
+    assertThat(Arrays.compact(nullArray(), e -> true)).isZero();
+
+    int[] ints = {1, 2, 3, 4, 5};
+    assertThat(Arrays.compact(ints, 4, i -> i > 1)).isEqualTo(3);
+    assertThat(ints).containsExactly(2, 3, 4, 4, 5);
+  }
+
+  private static Integer[] shuffled(int size, long seed) {
+    var list = new java.util.ArrayList<Integer>();
+    for (int i = 0; i < size; i++) {
+      list.add(i % (size / 3 + 1));
+    }
+    java.util.Collections.shuffle(list, new java.util.Random(seed));
+    return list.toArray(Integer[]::new);
+  }
+
+  @Test
+  void nthElement() {
+    for (int seed = 0; seed < 20; seed++) {
+      var array = shuffled(1_000, seed);
+      var sorted = array.clone();
+      java.util.Arrays.sort(sorted);
+
+      int k = seed * 50;
+      Arrays.nthElement(array, k, null);
+      assertThat(array[k]).isEqualTo(sorted[k]);
+      for (int i = 0; i < k; i++) {
+        assertThat(array[i]).isLessThanOrEqualTo(array[k]);
+      }
+      for (int i = k + 1; i < array.length; i++) {
+        assertThat(array[i]).isGreaterThanOrEqualTo(array[k]);
+      }
+    }
+
+    Integer[] small = {3, 1, 2};
+    Arrays.nthElement(small, 5, null);
+    assertThat(small).containsExactly(3, 1, 2);
+    Arrays.nthElement(small, 0, java.util.Comparator.reverseOrder());
+    assertThat(small[0]).isEqualTo(3);
+  }
+
+  @Test
+  void nthElementWithFewDistinctValues() {
+    int size = 100_000;
+    var random = new java.util.Random(3);
+    var array = new Integer[size];
+    for (int i = 0; i < size; i++) {
+      array[i] = random.nextInt(3);
+    }
+    var sorted = array.clone();
+    java.util.Arrays.sort(sorted);
+
+    var comparisons = new java.util.concurrent.atomic.AtomicLong();
+    java.util.Comparator<Integer> counting = (a, b) -> {
+      comparisons.incrementAndGet();
+      return Integer.compare(a, b);
+    };
+    Arrays.nthElement(array, size / 2, counting);
+
+    assertThat(array[size / 2]).isEqualTo(sorted[size / 2]);
+    // the equal elements are grouped in one pass, instead of unbalancing every partition
+    assertThat(comparisons.get()).isLessThan(4L * size);
+
+    var equal = new Integer[size];
+    java.util.Arrays.fill(equal, 7);
+    comparisons.set(0);
+    Arrays.partialSort(equal, 10, counting);
+    assertThat(equal).containsOnly(7);
+    assertThat(comparisons.get()).isLessThan(2L * size);
+  }
+
+  @Test
+  void partialSort() {
+    var array = shuffled(1_000, 42);
+    var sorted = array.clone();
+    java.util.Arrays.sort(sorted);
+
+    Arrays.partialSort(array, 100, null);
+    assertThat(java.util.Arrays.copyOf(array, 100)).containsExactly(java.util.Arrays.copyOf(sorted, 100));
+    assertThat(array).containsExactlyInAnyOrder(sorted);
+
+    Integer[] small = {3, 1, 2};
+    Arrays.partialSort(small, 10, null);
+    assertThat(small).containsExactly(1, 2, 3);
+  }
+
+  @Test
+  void topK() {
+    var array = shuffled(1_000, 7);
+    var copy = array.clone();
+    var sorted = array.clone();
+    java.util.Arrays.sort(sorted, java.util.Comparator.reverseOrder());
+
+    assertThat(Arrays.topK(array, 10, java.util.Comparator.reverseOrder()))
+        .isInstanceOf(Integer[].class)
+        .containsExactly(java.util.Arrays.copyOf(sorted, 10));
+    assertThat(array).containsExactly(copy);
+
+    assertThat(Arrays.topK(new Integer[]{2, 3, 1}, 5, null)).containsExactly(1, 2, 3);
+    assertThat(Arrays.topK(new Integer[]{2, 3, 1}, 0, null)).isEmpty();
+    assertThat(Arrays.topK((Integer[]) null, 1, null)).isNull();
+  }
+
+  @Test
+  void sortedArrays() {
+    var sorted = new Integer[]{1, 3, 3, 3, 5};
+
+    assertThat(Arrays.lowerBound(sorted, 3, null)).isEqualTo(1);
+    assertThat(Arrays.upperBound(sorted, 3, null)).isEqualTo(4);
+    assertThat(Arrays.lowerBound(sorted, 0, null)).isZero();
+    assertThat(Arrays.upperBound(sorted, 9, null)).isEqualTo(5);
+    assertThat(Arrays.lowerBound((Integer[]) null, 1, null)).isZero();
+
+    assertThat(Arrays.mergeSorted(sorted, new Integer[]{0, 3, 4, 6}, null))
+        .isInstanceOf(Integer[].class)
+        .containsExactly(0, 1, 3, 3, 3, 3, 4, 5, 6);
+    assertThat(Arrays.mergeSorted(new Integer[]{2, 1}, new Integer[]{3, 0}, java.util.Comparator.reverseOrder()))
+        .containsExactly(3, 2, 1, 0);
+    assertThat(Arrays.mergeSorted(null, sorted, null)).containsExactly(sorted).isNotSameAs(sorted);
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bervini.rasael.jwrap.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircularListTest {
+
+  @Test
+  void queue() {
+    var list = new CircularList<Integer>();
+    for (int i=0; i<100; i++) {
+      list.add(i);
+      list.add(0, -i);
+    }
+    assertThat(list).hasSize(200).startsWith(-99, -98).endsWith(98, 99);
+
+    for (int i=0; i<99; i++) {
+      assertThat(list.remove(0)).isEqualTo(-99 + i);
+      assertThat(list.remove(list.size() - 1)).isEqualTo(99 - i);
+    }
+    assertThat(list).containsExactly(0, 0);
+    assertThat(list.pollFirst()).isZero();
+    assertThat(list.pollLast()).isZero();
+    assertThat(list.pollFirst()).isNull();
+  }
+
+  @Test
+  void sameAsArrayList() {
+    var random = new Random(42);
+    var expected = new ArrayList<Integer>();
+    var actual = new CircularList<Integer>();
+
+    for (int step=0; step<20_000; step++) {
+      int size = expected.size();
+      switch (random.nextInt(8)) {
+        case 0, 1 -> {
+          int index = random.nextInt(size + 1);
+          expected.add(index, step);
+          actual.add(index, step);
+        }
+        case 2 -> {
+          if (size > 0) {
+            int index = random.nextInt(size);
+            assertThat(actual.remove(index)).isEqualTo(expected.remove(index));
+          }
+        }
+        case 3 -> {
+          int index = random.nextInt(size + 1);
+          var items = List.of(step, step + 1, step + 2);
+          expected.addAll(index, items);
+          actual.addAll(index, items);
+        }
+        case 4 -> {
+          int from = random.nextInt(size + 1);
+          int to = from + random.nextInt(Math.min(4, size - from) + 1);
+          expected.subList(from, to).clear();
+          actual.subList(from, to).clear();
+        }
+        case 5 -> {
+          if (size > 0) {
+            int index = random.nextInt(size);
+            assertThat(actual.set(index, -step)).isEqualTo(expected.set(index, -step));
+          }
+        }
+        case 6 -> {
+          expected.add(step);
+          actual.add(step);
+        }
+        default -> {
+          if (size > 0) {
+            assertThat(actual.remove(0)).isEqualTo(expected.remove(0));
+          }
+        }
+      }
+      assertThat(actual.size()).isEqualTo(expected.size());
+    }
+    assertThat(actual).containsExactlyElementsOf(expected);
+    assertThat(actual.toArray()).containsExactly(expected.toArray());
+    assertThat(actual.toArray(new Integer[0])).containsExactly(expected.toArray(new Integer[0]));
+    assertThat(actual).isEqualTo(expected).hasSameHashCodeAs(expected);
+  }
+
+  @Test
+  void splice() {
+    var list = new CircularList<>(List.of("a", "b", "c", "d"));
+    list.add(0, "z");
+
+    assertThat(Splice.spliceInPlace(list, 1, 2, List.of("x"))).containsExactly("a", "b");
+    assertThat(list).containsExactly("z", "x", "c", "d");
+
+    var result = Splice.<String>plan().remove(0, 1).insert(4, "e").apply(list).result();
+    assertThat(result).isInstanceOf(CircularList.class).containsExactly("x", "c", "d", "e");
+  }
+
+  @Test
+  void nullsAndBounds() {
+    var list = new CircularList<String>(null);
+    list.add(null);
+    list.addFirst("a");
+    list.addLast("b");
+
+    assertThat(list).containsExactly("a", null, "b");
+    assertThat(list.indexOf(null)).isEqualTo(1);
+    assertThatThrownBy(() -> list.get(3)).isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> list.add(4, "x")).isInstanceOf(IndexOutOfBoundsException.class);
+
+    list.clear();
+    assertThat(list).isEmpty();
+  }
+
+  @Test
+  void failFast() {
+    var list = new CircularList<>(List.of(1, 2, 3));
+
+    assertThatThrownBy(() -> list.forEach(list::add)).isInstanceOf(ConcurrentModificationException.class);
+    assertThatThrownBy(() -> {
+      for (Integer element : list) {
+        list.remove(0);
+      }
+    }).isInstanceOf(ConcurrentModificationException.class);
+  }
+}
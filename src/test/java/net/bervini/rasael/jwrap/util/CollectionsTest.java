@@ -19,6 +19,7 @@ package net.bervini.rasael.jwrap.util;
 import org.junit.jupiter.api.Test;
 
 import java.util.Collection;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -75,6 +76,25 @@ class CollectionsTest {
         .hasSize(1);
   }
 
+  @Test
+  void containsAll() {
+    var array = new int[]{1};
+    var haystack = new java.util.ArrayList<Object>(List.of(array));
+    for (int i = 0; i < 1_000; i++) {
+      haystack.add(i);
+    }
+
+    assertThat(Collections.containsAll(haystack, List.of(array, 1, 999))).isTrue();
+    assertThat(Collections.containsAll(haystack, List.of(1, 2, 3, 4, 5, 6))).isTrue();
+    // arrays are compared by identity, like Collection.containsAll
+    assertThat(Collections.containsAll(haystack, List.of(new int[]{1}))).isFalse();
+    assertThat(Collections.containsAll(haystack, List.of(new int[]{1}, 1, 2, 3, 4, 5))).isFalse();
+    assertThat(Collections.containsAll(haystack, List.of(1_000))).isFalse();
+
+    assertThat(Collections.containsAll(null, List.of())).isFalse();
+    assertThat(Collections.containsAll(List.of(), null)).isTrue();
+  }
+
   @Test
   void toCollection() {
     assertThat(Collections.toCollection(null)).isNotNull().isEmpty();
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bervini.rasael.jwrap.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrentAppendListTest {
+
+  @Test
+  void appendAndRead() {
+    var list = new ConcurrentAppendList<Integer>();
+    assertThat(list).isEmpty();
+
+    // crosses several segments
+    for (int i=0; i<1000; i++) {
+      list.add(i);
+    }
+    list.addAll(List.of(1000, 1001));
+    list.add(null);
+
+    assertThat(list).hasSize(1003).startsWith(0, 1, 2).endsWith(1000, 1001, null);
+    for (int i=0; i<1002; i++) {
+      assertThat(list.get(i)).isEqualTo(i);
+    }
+    assertThat(list.set(5, -5)).isEqualTo(5);
+    assertThat(list.get(5)).isEqualTo(-5);
+    assertThat(list).isEqualTo(new ArrayList<>(list));
+    assertThat(new ConcurrentAppendList<>(List.of("a", "b"))).containsExactly("a", "b");
+  }
+
+  @Test
+  void appendOnly() {
+    var list = new ConcurrentAppendList<>(List.of("a", "b"));
+
+    assertThatThrownBy(() -> list.remove(0)).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> list.add(0, "c")).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(list::clear).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> list.get(2)).isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> list.get(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void concurrentAppends() throws InterruptedException {
+    int threads = 4;
+    int perThread = 50_000;
+    var list = new ConcurrentAppendList<Integer>();
+    var start = new CountDownLatch(1);
+    var done = new AtomicBoolean();
+    var failures = new ArrayList<Throwable>();
+
+    var executor = Executors.newFixedThreadPool(threads + 1);
+    for (int t=0; t<threads; t++) {
+      int base = t * perThread;
+      executor.execute(() -> {
+        try {
+          start.await();
+          for (int i=0; i<perThread; i+=2) {
+            if (i % 100==0)
+              list.addAll(List.of(base + i, base + i + 1));
+            else {
+              list.add(base + i);
+              list.add(base + i + 1);
+            }
+          }
+        }
+        catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+    }
+    // a reader checks that every index below a size it read can be read, and iterates during the appends
+    executor.execute(() -> {
+      try {
+        start.await();
+        while (!done.get()) {
+          int size = list.size();
+          if (size > 0)
+            assertThat(list.get(size - 1)).isNotNull();
+          int count = 0;
+          for (var element : list) {
+            assertThat(element).isNotNull();
+            count++;
+          }
+          assertThat(count).isGreaterThanOrEqualTo(size);
+        }
+      }
+      catch (Throwable e) {
+        synchronized (failures) {
+          failures.add(e);
+        }
+      }
+    });
+    start.countDown();
+    executor.shutdown();
+    while (!executor.awaitTermination(10, TimeUnit.MILLISECONDS)) {
+      if (list.size()==threads * perThread)
+        done.set(true);
+    }
+
+    assertThat(failures).isEmpty();
+    var sorted = new ArrayList<>(list);
+    sorted.sort(null);
+    assertThat(sorted).isEqualTo(IntStream.range(0, threads * perThread).boxed().toList());
+  }
+}
@@ -185,4 +185,45 @@ class IterablesTest {
     assertThat(Iterables.contains(asList("a","b","c"), asList("d"))).isFalse();
     assertThat(Iterables.contains(asList("a","b","c"), asList("a","b","c","d"))).isFalse();
   }
-}
\ No newline at end of file
+
+  @Test
+  void containsAll() {
+    var haystack = new java.util.ArrayList<Object>();
+    for (int i = 0; i < 1_000; i++) {
+      haystack.add("id" + i);
+    }
+    haystack.add(null);
+    haystack.add(new int[]{1, 2});
+
+    var probes = new java.util.ArrayList<Object>();
+    for (int i = 0; i < 1_000; i += 7) {
+      probes.add("id" + i);
+    }
+
+    assertThat(Iterables.containsAll(haystack, probes)).isTrue();
+    probes.add(null);
+    assertThat(Iterables.containsAll(haystack, probes)).isTrue();
+
+    // arrays are still compared by content
+    probes.add(new int[]{1, 2});
+    assertThat(Iterables.containsAll(haystack, probes)).isTrue();
+
+    probes.add("id1000");
+    assertThat(Iterables.containsAll(haystack, probes)).isFalse();
+
+    // not a collection: the size is not known
+    Iterable<Object> iterable = haystack::iterator;
+    assertThat(Iterables.containsAll(iterable, List.of("id1", "id2", "id3", "id4", "id5"))).isTrue();
+    assertThat(Iterables.containsAll(iterable, List.of("id1", "id2", "id3", "id4", "x"))).isFalse();
+
+    assertThat(Iterables.containsAll(new HashSet<>(haystack), List.of("id1", "id999"))).isTrue();
+    assertThat(Iterables.containsAll(haystack, null)).isTrue();
+    assertThat(Iterables.containsAll(null, probes)).isFalse();
+    assertThat(Iterables.contains(null, List.of())).isFalse();
+
+    // a hash set haystack still compares arrays by content
+    var arrays = new HashSet<Object>(List.of(new int[]{1}, new int[]{2}));
+    assertThat(Iterables.contains(arrays, (Object) new int[]{1})).isTrue();
+    assertThat(Iterables.containsAll(arrays, List.of(new int[]{1}, new int[]{2}))).isTrue();
+  }
+}
@@ -18,9 +18,17 @@ package net.bervini.rasael.jwrap.util;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class IteratorsTest {
 
@@ -120,4 +128,175 @@ class IteratorsTest {
     // THEN
     assertThat(actual).toIterable().containsExactly("c","a","b");
   }
+
+  @Test
+  void indexed() {
+    var entries = new ArrayList<Map.Entry<Integer, String>>();
+    Iterators.indexed(List.of("a", "b").iterator()).forEachRemaining(entries::add);
+
+    assertThat(entries).containsExactly(Map.entry(0, "a"), Map.entry(1, "b"));
+    assertThat(entries.get(1)).hasToString("1=b").hasSameHashCodeAs(Map.entry(1, "b"));
+    assertThat(Map.entry(1, "b")).isEqualTo(entries.get(1));
+    assertThat(entries.get(1)).isNotEqualTo(Map.entry(1L, "b"));
+
+    var arrayEntries = Iterators.indexed(new String[]{"x", null});
+    assertThat(arrayEntries.next()).isEqualTo(Map.entry(0, "x"));
+    assertThat(arrayEntries.next().getValue()).isNull();
+    assertThat(arrayEntries.hasNext()).isFalse();
+    assertThat(Iterators.indexed((String[]) null).hasNext()).isFalse();
+  }
+
+  @Test
+  void cursor() {
+    assertThat(read(Iterators.cursor(new String[]{"a", "b"}))).containsExactly("0=a", "1=b");
+    assertThat(read(Iterators.cursor(List.of("a", "b")))).containsExactly("0=a", "1=b");
+    assertThat(read(Iterators.cursor(new LinkedList<>(List.of("a", "b"))))).containsExactly("0=a", "1=b");
+    assertThat(read(Iterators.cursor(List.of("a", "b").iterator()))).containsExactly("0=a", "1=b");
+    assertThat(read(Iterators.cursor((String[]) null))).isEmpty();
+    assertThat(read(Iterators.cursor((List<String>) null))).isEmpty();
+
+    var cursor = Iterators.cursor(new String[]{"a"});
+    assertThat(cursor.index()).isEqualTo(-1);
+    assertThat(cursor.next()).isTrue();
+    assertThat(cursor.next()).isFalse();
+    assertThat(cursor.next()).isFalse();
+  }
+
+  private static List<String> read(Cursor<String> cursor) {
+    var result = new ArrayList<String>();
+    while (cursor.next()) {
+      result.add(cursor.index() + "=" + cursor.value());
+    }
+    return result;
+  }
+
+  @Test
+  void fusedPipeline() {
+    var calls = new ArrayList<String>();
+    var iterator = Iterators.of(1, 2, 3, 4, 5, 6)
+                            .map(n -> {
+                              calls.add("map " + n);
+                              return n * 10;
+                            })
+                            .filter(n -> n % 20==0)
+                            .map(n -> n + 1)
+                            .filter(n -> n > 30);
+
+    assertThat(calls).isEmpty();
+    assertThat(iterator.hasNext()).isTrue();
+    assertThat(calls).containsExactly("map 1", "map 2", "map 3", "map 4");
+    assertThat(iterator.next()).isEqualTo(41);
+
+    // reading the rest pushes it through the same stages
+    var rest = new ArrayList<Integer>();
+    iterator.forEachRemaining(rest::add);
+    assertThat(rest).containsExactly(61);
+    assertThat(iterator.hasNext()).isFalse();
+    assertThatThrownBy(iterator::next).isInstanceOf(NoSuchElementException.class);
+
+    // a pipeline with a value read ahead is wrapped, not fused
+    var filtered = Iterators.of(1, 2, 3).filter(n -> n > 1);
+    assertThat(filtered.hasNext()).isTrue();
+    assertThat(filtered.map(n -> -n).toList()).containsExactly(-2, -3);
+  }
+
+  @Test
+  void fusedChain() {
+    var iterator = Iterators.prepend(Iterators.append(Iterators.of("b"), "c", null), "a")
+                            .append("d");
+
+    var values = new ArrayList<String>();
+    assertThat(iterator.next()).isEqualTo("a");
+    iterator.forEachRemaining(values::add);
+    assertThat(values).containsExactly("b", "c", null, "d");
+    assertThat(iterator.hasNext()).isFalse();
+  }
+
+  @Test
+  void ofAndSingleton() {
+    var array = Iterators.of("a", null);
+    assertThat(array.next()).isEqualTo("a");
+    assertThat(array.next()).isNull();
+    assertThat(array.hasNext()).isFalse();
+    assertThatThrownBy(array::next).isInstanceOf(NoSuchElementException.class);
+    assertThat(Iterators.of((Object[]) null)).isExhausted();
+
+    var singleton = Iterators.singleton(null);
+    assertThat(singleton.hasNext()).isTrue();
+    assertThat(singleton.next()).isNull();
+    assertThat(singleton).isExhausted();
+    assertThatThrownBy(singleton::next).isInstanceOf(NoSuchElementException.class);
+  }
+
+  @Test
+  void sizes() {
+    var array = Iterators.of(1, 2, 3);
+    assertThat(array.getExactSizeIfKnown()).isEqualTo(3);
+    array.next();
+    assertThat(array.getExactSizeIfKnown()).isEqualTo(2);
+
+    var mapped = Iterators.of(1, 2, 3).map(n -> n * 2);
+    assertThat(mapped.getExactSizeIfKnown()).isEqualTo(3);
+    assertThat(mapped.characteristics() & Spliterator.SIZED).isNotZero();
+    assertThat(mapped.filter(n -> n > 2).getExactSizeIfKnown()).isEqualTo(-1);
+
+    var chain = Iterators.append(Iterators.sized(List.of("b", "c")).prepend("a"), List.of("d"));
+    assertThat(chain.getExactSizeIfKnown()).isEqualTo(4);
+    assertThat(chain.characteristics() & (Spliterator.ORDERED | Spliterator.SIZED))
+        .isEqualTo(Spliterator.ORDERED | Spliterator.SIZED);
+    assertThat(Iterators.append(List.of("a").iterator(), "b").getExactSizeIfKnown()).isEqualTo(-1);
+
+    var sized = Iterators.sized(new ArrayList<>(List.of("a", "b")));
+    assertThat(sized.getExactSizeIfKnown()).isEqualTo(2);
+    sized.forEachRemaining(e -> {});
+    assertThat(sized.getExactSizeIfKnown()).isZero();
+    assertThat(Iterators.singleton("a").characteristics() & Spliterator.NONNULL).isNotZero();
+  }
+
+  @Test
+  void concurrentCollectionsAreNotSized() {
+    var queue = new ConcurrentLinkedQueue<>(List.of("b", "c", "d"));
+    var appended = Iterators.append(Iterators.of("a"), queue);
+    assertThat(appended.getExactSizeIfKnown()).isEqualTo(-1);
+    queue.add("e");
+    assertThat(Streams.stream(appended).toArray()).containsExactly("a", "b", "c", "d", "e");
+
+    var polled = Iterators.append(Iterators.of("a"), queue);
+    queue.poll();
+    // the queue's iterator is weakly consistent: it may still return the polled head
+    assertThat(Streams.stream(polled).toArray()).startsWith("a").endsWith("c", "d", "e");
+
+    var list = new ConcurrentAppendList<>(List.of("b"));
+    var growing = Iterators.prepend(Iterators.sized(list), "a");
+    list.add("c");
+    assertThat(Streams.stream(growing).toList()).containsExactly("a", "b", "c");
+  }
+
+  @Test
+  void spliterators() {
+    var values = IntStream.range(0, 10_000).boxed().toArray(Integer[]::new);
+
+    var spliterator = Iterators.of(values).map(n -> n + 1).spliterator();
+    assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(10_000);
+    var prefix = spliterator.trySplit();
+    assertThat(prefix).isNotNull();
+    assertThat(prefix.estimateSize()).isEqualTo(5_000);
+    assertThat(prefix.hasCharacteristics(Spliterator.SUBSIZED)).isTrue();
+
+    var chain = Iterators.of(values).append(values).spliterator();
+    assertThat(chain.getExactSizeIfKnown()).isEqualTo(20_000);
+    assertThat(chain.trySplit().estimateSize()).isEqualTo(10_000);
+
+    assertThat(Streams.stream(Iterators.of(values).map(n -> n * 2).filter(n -> n % 3==0)).parallel().count())
+        .isEqualTo(3_334);
+    assertThat(Streams.stream(Iterators.of(values).map(n -> n * 2)).parallel().toList())
+        .isEqualTo(IntStream.range(0, 10_000).map(n -> n * 2).boxed().toList());
+    assertThat(Streams.stream(Iterators.sized(List.of(values))).spliterator().getExactSizeIfKnown())
+        .isEqualTo(10_000);
+
+    // a value read ahead by a filter is kept
+    var filtered = Iterators.of(1, 2, 3).filter(n -> n > 1);
+    assertThat(filtered.hasNext()).isTrue();
+    assertThat(Streams.stream(filtered).toList()).containsExactly(2, 3);
+  }
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bervini.rasael.jwrap.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ListViewsTest {
+
+  @Test
+  void map() {
+    var calls = new AtomicInteger();
+    var list = new ArrayList<>(List.of("a", "bb", "ccc"));
+    var view = ListViews.map(list, s -> {
+      calls.incrementAndGet();
+      return s.length();
+    });
+
+    assertThat(calls).hasValue(0);
+    assertThat(view.get(2)).isEqualTo(3);
+    assertThat(calls).hasValue(1);
+    assertThat(view).isInstanceOf(RandomAccess.class).containsExactly(1, 2, 3);
+
+    list.add("dddd");
+    assertThat(view).hasSize(4).endsWith(4);
+    assertThatThrownBy(() -> view.add(5)).isInstanceOf(UnsupportedOperationException.class);
+
+    var sequential = ListViews.map(new LinkedList<>(list), String::length);
+    assertThat(sequential).isNotInstanceOf(RandomAccess.class).containsExactly(1, 2, 3, 4);
+    assertThat(ListViews.map(null, String::length)).isEmpty();
+  }
+
+  @Test
+  void memoize() {
+    var calls = new AtomicInteger();
+    var view = ListViews.memoize(new LinkedList<>(List.of("a", "bb")), s -> {
+      calls.incrementAndGet();
+      return s.length();
+    });
+
+    assertThat(view.get(1)).isEqualTo(2);
+    assertThat(view.get(1)).isEqualTo(2);
+    assertThat(calls).hasValue(1);
+    assertThat(view).isInstanceOf(RandomAccess.class).containsExactly(1, 2);
+    assertThat(calls).hasValue(2);
+    assertThatThrownBy(() -> view.get(2)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void filter() {
+    var list = new ArrayList<>(List.of(1, 2, 3, 4, 5, 6));
+    var view = ListViews.filter(list, n -> n % 2==0);
+
+    assertThat(view).containsExactly(2, 4, 6);
+    assertThat(view.get(1)).isEqualTo(4);
+    assertThat(view).hasSize(3);
+    assertThatThrownBy(() -> view.get(3)).isInstanceOf(IndexOutOfBoundsException.class);
+
+    var sequential = ListViews.filter(new LinkedList<>(list), n -> n > 4);
+    assertThat(sequential.get(1)).isEqualTo(6);
+    assertThat(sequential).containsExactly(5, 6);
+    assertThat(ListViews.filter(list, n -> false)).isEmpty();
+
+    // the view follows the changes of the list, after being read by index too
+    list.set(0, 8);
+    list.add(10);
+    assertThat(view).hasSize(5);
+    assertThat(view.get(0)).isEqualTo(8);
+    assertThat(view.get(4)).isEqualTo(10);
+    assertThat(view).containsExactly(8, 2, 4, 6, 10);
+    assertThatThrownBy(() -> view.get(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void concat() {
+    var first = new ArrayList<>(List.of(1, 2));
+    var view = ListViews.concat(first, List.of(), null, List.of(3));
+
+    assertThat(view).isInstanceOf(RandomAccess.class).containsExactly(1, 2, 3);
+    assertThat(view.get(2)).isEqualTo(3);
+    assertThatThrownBy(() -> view.get(3)).isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> view.get(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+
+    first.add(9);
+    assertThat(view).containsExactly(1, 2, 9, 3);
+
+    var mixed = ListViews.concat(new LinkedList<>(List.of(1)), List.of(2));
+    assertThat(mixed).isNotInstanceOf(RandomAccess.class).containsExactly(1, 2);
+    assertThat(ListViews.concat()).isEmpty();
+  }
+
+  @Test
+  void compose() {
+    var source = List.of("x1", "y2", "x3", "x4");
+    var view = ListViews.map(ListViews.filter(ListViews.concat(source, List.of("x5")), s -> s.startsWith("x")),
+                             s -> Integer.parseInt(s.substring(1)));
+
+    assertThat(view).containsExactly(1, 3, 4, 5);
+    assertThat(List.copyOf(view)).containsExactly(1, 3, 4, 5);
+  }
+
+  @Test
+  void chunked() {
+    var list = new ArrayList<>(List.of(1, 2, 3, 4, 5));
+    var chunks = ListViews.chunked(list, 2);
+
+    assertThat(chunks).isInstanceOf(RandomAccess.class).containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+    chunks.get(1).set(0, 9);
+    assertThat(list).containsExactly(1, 2, 9, 4, 5);
+
+    assertThat(ListViews.chunked(new LinkedList<>(list), 2)).containsExactly(List.of(1, 2), List.of(9, 4), List.of(5));
+    assertThat(ListViews.chunked(List.of(), 2)).isEmpty();
+    assertThat(ListViews.chunked(null, 2)).isEmpty();
+    assertThatThrownBy(() -> ListViews.chunked(list, 0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> chunks.get(3)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void windowed() {
+    var list = List.of(1, 2, 3, 4, 5, 6, 7);
+
+    for (var source : List.of(list, new LinkedList<>(list))) {
+      assertThat(ListViews.windowed(source, 3, 2)).containsExactly(List.of(1, 2, 3), List.of(3, 4, 5), List.of(5, 6, 7));
+      assertThat(ListViews.windowed(source, 2, 3)).containsExactly(List.of(1, 2), List.of(4, 5));
+      assertThat(ListViews.windowed(source, 7, 1)).containsExactly(list);
+      assertThat(ListViews.windowed(source, 8, 1)).isEmpty();
+    }
+  }
+
+  @Test
+  void groupingNullElements() {
+    var list = Arrays.asList("a", null, "b");
+
+    for (var source : List.of(list, new LinkedList<>(list))) {
+      assertThat(ListViews.chunked(source, 2)).containsExactly(Arrays.asList("a", null), Arrays.asList("b"));
+      assertThat(ListViews.windowed(source, 2, 1)).containsExactly(Arrays.asList("a", null), Arrays.asList(null, "b"));
+    }
+  }
+
+  @Test
+  void partitionBy() {
+    var list = List.of(1, 3, 2, 4, 6, 5);
+
+    for (var source : List.of(list, new LinkedList<>(list))) {
+      assertThat(ListViews.partitionBy(source, n -> n % 2==0))
+          .containsExactly(List.of(1, 3), List.of(2, 4, 6), List.of(5));
+      assertThat(ListViews.partitionBy(source, n -> true)).containsExactly(list);
+    }
+    assertThat(ListViews.partitionBy(List.<Integer>of(), n -> true)).isEmpty();
+  }
+}
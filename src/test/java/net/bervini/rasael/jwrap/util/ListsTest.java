@@ -25,6 +25,7 @@ import java.util.function.Predicate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class ListsTest {
 
@@ -331,5 +332,14 @@ class ListsTest {
 
     assertThat(Lists.split(List.of("a","b","|","c","d","|"), Predicate.isEqual("|")))
         .containsExactly(List.of("a","b"), List.of("c","d"));
+
+    assertThat(Lists.split(new java.util.LinkedList<>(List.of("a","|","b")), Predicate.isEqual("|")))
+        .containsExactly(List.of("a"), List.of("b"));
+
+    var source = Lists.newList("a","|","b");
+    var parts = Lists.split(source, Predicate.isEqual("|"));
+    source.set(2, "c");
+    assertThat(parts).containsExactly(List.of("a"), List.of("b"));
+    assertThatThrownBy(() -> parts.get(1).set(0, "c")).isInstanceOf(UnsupportedOperationException.class);
   }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bervini.rasael.jwrap.util;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelArraysTest {
+
+  private static final int SIZE = 100_003;
+
+  private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+  @AfterAll
+  static void shutdown() {
+    POOL.shutdown();
+  }
+
+  private static Integer[] numbers() {
+    // a fixed permutation of [0, SIZE)
+    return IntStream.range(0, SIZE)
+        .map(i -> (int) ((i * 7919L) % SIZE))
+        .boxed()
+        .toArray(Integer[]::new);
+  }
+
+  @Test
+  void sort() {
+    var expected = numbers();
+    java.util.Arrays.sort(expected, Comparator.reverseOrder());
+
+    var array = numbers();
+    ParallelArrays.sort(array, Comparator.reverseOrder(), POOL, 1);
+    assertThat(array).containsExactly(expected);
+
+    array = numbers();
+    ParallelArrays.sort(array, null, POOL, 1);
+    assertThat(array[0]).isZero();
+    assertThat(array[SIZE - 1]).isEqualTo(SIZE - 1);
+  }
+
+  @Test
+  void filter() {
+    var array = numbers();
+    var expected = Arrays.filter(array, n -> n % 3==0);
+
+    assertThat(ParallelArrays.filter(array, n -> n % 3==0, POOL, 1))
+        .isInstanceOf(Integer[].class)
+        .containsExactly(expected);
+    assertThat(ParallelArrays.filter(array, n -> false, POOL, 1)).isEmpty();
+    assertThat(ParallelArrays.filter(array, n -> true, POOL, 1)).containsExactly(array);
+    assertThat(ParallelArrays.filter(new Integer[]{1, 2, 3}, n -> n > 1, POOL, 10)).containsExactly(2, 3);
+    assertThat(ParallelArrays.filter((Integer[]) null, n -> true, POOL, 1)).isNull();
+  }
+
+  @Test
+  void map() {
+    var array = numbers();
+    var mapped = ParallelArrays.map(array, String::valueOf, String[]::new, POOL, 1);
+    assertThat(mapped).hasSize(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      assertThat(mapped[i]).isEqualTo(String.valueOf(array[i]));
+    }
+    assertThat(ParallelArrays.map((Integer[]) null, String::valueOf, String[]::new, POOL, 1)).isNull();
+  }
+
+  @Test
+  void forEachEntry() {
+    var array = numbers();
+    var seen = new AtomicIntegerArray(SIZE);
+    var inPool = new AtomicBoolean();
+
+    ParallelArrays.forEachEntry(array, (index, value) -> {
+      seen.set(index, value);
+      if (Thread.currentThread() instanceof ForkJoinWorkerThread worker && worker.getPool()==POOL)
+        inPool.set(true);
+    }, POOL, 1);
+
+    for (int i = 0; i < SIZE; i++) {
+      assertThat(seen.get(i)).isEqualTo(array[i]);
+    }
+    assertThat(inPool).isTrue();
+  }
+
+  @Test
+  void shuffle() {
+    var array = numbers();
+    ParallelArrays.shuffle(array, new SplittableRandom(1), POOL, 1);
+    assertThat(array).isNotEqualTo(numbers());
+    java.util.Arrays.sort(array);
+    assertThat(array[0]).isZero();
+    assertThat(array).isSorted().doesNotHaveDuplicates().hasSize(SIZE);
+
+    // leaves of one element: every permutation comes from the merges
+    var random = new SplittableRandom(2);
+    SamplingTest.assertUniform(() -> {
+      var small = new Integer[]{0, 1, 2, 3};
+      ParallelArrays.shuffle(small, random, POOL, 1, 1);
+      return List.of(small);
+    }, 24);
+    SamplingTest.assertUniform(() -> {
+      var odd = new Integer[]{0, 1, 2, 3, 4};
+      ParallelArrays.shuffle(odd, random, POOL, 1, 2);
+      return odd[4];
+    }, 5);
+  }
+}
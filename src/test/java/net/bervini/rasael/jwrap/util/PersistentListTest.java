@@ -0,0 +1,187 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bervini.rasael.jwrap.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PersistentListTest {
+
+  @Test
+  void pushAndPop() {
+    // 40000 elements need a trie of three levels
+    int size = 40_000;
+    var list = new PersistentList<Integer>();
+    for (int i=0; i<size; i++) {
+      list.add(i);
+    }
+    assertThat(list).hasSize(size);
+    for (int i=0; i<size; i++) {
+      assertThat(list.get(i)).isEqualTo(i);
+    }
+    assertThat(list.toArray()).containsExactly(IntStream.range(0, size).boxed().toArray());
+
+    for (int i=size - 1; i>=0; i--) {
+      assertThat(list.pollLast()).isEqualTo(i);
+    }
+    assertThat(list).isEmpty();
+    assertThat(list.pollLast()).isNull();
+  }
+
+  @Test
+  void truncate() {
+    for (int length : new int[]{0, 1, 31, 32, 33, 64, 1024, 1025, 1056, 1057, 5000}) {
+      var list = new PersistentList<>(IntStream.range(0, 5000).boxed().toList());
+      list.truncate(length);
+      assertThat(list).containsExactlyElementsOf(IntStream.range(0, length).boxed().toList());
+
+      list.add(-1);
+      assertThat(list).hasSize(length + 1).endsWith(-1);
+    }
+  }
+
+  @Test
+  void clonesAreIndependent() {
+    var list = new PersistentList<>(IntStream.range(0, 2000).boxed().toList());
+    var snapshot = list.clone();
+
+    list.set(0, -1);
+    list.set(1500, -1);
+    list.add(2000);
+    snapshot.set(1999, -2);
+    snapshot.remove(10);
+
+    assertThat(list).hasSize(2001).startsWith(-1, 1).endsWith(1998, 1999, 2000);
+    assertThat(list.get(1500)).isEqualTo(-1);
+    assertThat(snapshot).hasSize(1999).startsWith(0, 1).endsWith(1998, -2);
+    assertThat(snapshot.get(10)).isEqualTo(11);
+    assertThat(snapshot.get(1499)).isEqualTo(1500);
+  }
+
+  @Test
+  void sameAsArrayList() {
+    var random = new Random(42);
+    var expected = new ArrayList<Integer>();
+    var actual = new PersistentList<Integer>();
+    var versions = new ArrayList<List<Integer>>();
+    var snapshots = new ArrayList<PersistentList<Integer>>();
+
+    for (int step=0; step<20_000; step++) {
+      int size = expected.size();
+      switch (random.nextInt(10)) {
+        case 0, 1, 2, 3 -> {
+          expected.add(step);
+          actual.add(step);
+        }
+        case 4 -> {
+          int index = random.nextInt(size + 1);
+          expected.add(index, step);
+          actual.add(index, step);
+        }
+        case 5 -> {
+          if (size > 0) {
+            int index = random.nextInt(size);
+            assertThat(actual.remove(index)).isEqualTo(expected.remove(index));
+          }
+        }
+        case 6 -> {
+          if (size > 0) {
+            int index = random.nextInt(size);
+            assertThat(actual.set(index, -step)).isEqualTo(expected.set(index, -step));
+          }
+        }
+        case 7 -> {
+          int from = random.nextInt(size + 1);
+          int to = from + random.nextInt(Math.min(40, size - from) + 1);
+          expected.subList(from, to).clear();
+          actual.subList(from, to).clear();
+        }
+        case 8 -> {
+          if (size > 0) {
+            assertThat(actual.pollLast()).isEqualTo(expected.remove(size - 1));
+          }
+        }
+        default -> {
+          if (step % 50==0) {
+            versions.add(List.copyOf(expected));
+            snapshots.add(actual.clone());
+          }
+        }
+      }
+    }
+    assertThat(actual).isEqualTo(expected);
+    for (int i=0; i<versions.size(); i++) {
+      assertThat(snapshots.get(i)).isEqualTo(versions.get(i));
+    }
+  }
+
+  @Test
+  void splice() {
+    var list = new PersistentList<>(List.of("a", "b", "c", "d"));
+    var result = Splice.<String>plan().splice(1, 2, "x").apply(list).result();
+
+    assertThat(result).isInstanceOf(PersistentList.class).containsExactly("a", "x", "d");
+    assertThat(list).containsExactly("a", "b", "c", "d");
+    assertThat(Lists.clone(list)).isInstanceOf(PersistentList.class).isEqualTo(list);
+  }
+
+  @Test
+  void nullsAndBounds() {
+    var list = new PersistentList<String>(null);
+    list.add(null);
+    list.add(0, "a");
+    assertThat(list).containsExactly("a", null);
+    assertThatThrownBy(() -> list.get(2)).isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> list.add(3, "b")).isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> list.truncate(3)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void iterator() {
+    var list = new PersistentList<>(IntStream.range(0, 100).boxed().toList());
+    list.clone(); // the iterator must see the copies made by set
+    var seen = new ArrayList<Integer>();
+    var iterator = list.iterator();
+    while (iterator.hasNext()) {
+      int value = iterator.next();
+      seen.add(value);
+      if (value % 2==0)
+        iterator.remove();
+      else if (value==51)
+        list.set(27, -1);
+    }
+    assertThat(list).hasSize(50).startsWith(1, 3).endsWith(97, 99);
+    assertThat(list.get(26)).isEqualTo(-1);
+    assertThat(seen).contains(-1).doesNotContain(53);
+
+    assertThatThrownBy(() -> list.forEach(e -> list.add(0))).isInstanceOf(ConcurrentModificationException.class);
+    assertThatThrownBy(() -> {
+      for (var e : list) {
+        list.add(e);
+      }
+    }).isInstanceOf(ConcurrentModificationException.class);
+  }
+}
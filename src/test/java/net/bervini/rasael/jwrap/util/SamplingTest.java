@@ -0,0 +1,119 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.bervini.rasael.jwrap.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SamplingTest {
+
+  private static final int RUNS = 24_000;
+
+  @Test
+  void shuffle() {
+    var random = new SplittableRandom(1);
+    assertUniform(() -> {
+      var array = new Integer[]{0, 1, 2, 3};
+      Sampling.shuffle(array, random);
+      return List.of(array);
+    }, 24);
+    assertUniform(() -> {
+      var list = new LinkedList<>(List.of(0, 1, 2, 3));
+      Sampling.shuffle(list, random);
+      return list;
+    }, 24);
+
+    var array = IntStream.range(0, 1_000).boxed().toArray(Integer[]::new);
+    Sampling.shuffle(array, null);
+    assertThat(array).containsExactlyInAnyOrderElementsOf(IntStream.range(0, 1_000).boxed().toList());
+    Sampling.shuffle((Object[]) null, null);
+  }
+
+  @Test
+  void sample() {
+    var random = new SplittableRandom(2);
+    var array = new Integer[]{0, 1, 2, 3};
+    // dense draws, and sparse draws out of a larger array
+    assertUniform(() -> List.of(Sampling.sample(array, 2, random)), 12);
+    var large = IntStream.range(0, 100).boxed().toArray(Integer[]::new);
+    assertUniform(() -> List.of(Sampling.sample(large, 2, random)[0] % 4), 4);
+    assertUniform(() -> Sampling.sample(new LinkedList<>(List.of(0, 1, 2, 3)), 2, random), 12);
+
+    assertThat(Sampling.sample(large, 20, null)).isInstanceOf(Integer[].class).hasSize(20).doesNotHaveDuplicates();
+    assertThat(Sampling.sample(array, 9, null)).containsExactlyInAnyOrder(0, 1, 2, 3);
+    assertThat(Sampling.sample(array, -1, null)).isEmpty();
+    assertThat(Sampling.sample(List.of(1, 2, 3), 2, null)).hasSize(2).doesNotHaveDuplicates();
+    assertThat(Sampling.sample((Integer[]) null, 2, null)).isNull();
+  }
+
+  @Test
+  void reservoir() {
+    var random = new SplittableRandom(3);
+    assertUniform(() -> Sampling.reservoir(List.of(0, 1, 2, 3).iterator(), 2, random), 12);
+    assertUniform(() -> List.of(Sampling.reservoir(IntStream.range(0, 1_000).iterator(), 3, random).get(0) % 4), 4);
+
+    assertThat(Sampling.reservoir(List.of(1, 2).iterator(), 5, null)).containsExactlyInAnyOrder(1, 2);
+    assertThat(Sampling.reservoir(List.of(1, 2).iterator(), 0, null)).isEmpty();
+    assertThat(Sampling.reservoir(null, 2, null)).isEmpty();
+  }
+
+  @Test
+  void weightedSample() {
+    var random = new SplittableRandom(4);
+    var counts = new HashMap<String, Integer>();
+    for (int i=0; i<RUNS; i++) {
+      var sample = Sampling.weightedSample(List.of("a", "b", "c", "x").iterator(),
+                                           s -> switch (s) { case "a" -> 1; case "b" -> 2; case "c" -> 3; default -> 0; },
+                                           1, random);
+      counts.merge(sample.get(0), 1, Integer::sum);
+    }
+    assertThat(counts).doesNotContainKey("x");
+    assertThat(counts.get("a")).isBetween(3_700, 4_300);
+    assertThat(counts.get("b")).isBetween(7_500, 8_500);
+    assertThat(counts.get("c")).isBetween(11_400, 12_600);
+
+    assertThat(Sampling.weightedSample(List.of(1, 2, 3, 0).iterator(), Integer::doubleValue, 5, null))
+        .containsExactlyInAnyOrder(1, 2, 3);
+    assertThat(Sampling.weightedSample(IntStream.range(0, 5_000).iterator(), i -> 1, 2_000, null))
+        .hasSize(2_000).doesNotHaveDuplicates();
+    assertThat(Sampling.weightedSample(null, Integer::doubleValue, 2, null)).isEmpty();
+  }
+
+  /**
+   * Draws {@link #RUNS} times and checks that each of the {@code outcomes} possible results comes up evenly
+   */
+  static <T> void assertUniform(Supplier<T> draw, int outcomes) {
+    Map<T, Integer> counts = new HashMap<>();
+    for (int i=0; i<RUNS; i++) {
+      counts.merge(draw.get(), 1, Integer::sum);
+    }
+    int expected = RUNS / outcomes;
+    assertThat(counts).hasSize(outcomes);
+    assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(expected * 85 / 100,
+                                                                                expected * 115 / 100));
+  }
+}
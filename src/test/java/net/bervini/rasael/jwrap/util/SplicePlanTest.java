@@ -0,0 +1,96 @@
+/*
+ * Copyright 2022-2023 Rasael Bervini
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.bervini.rasael.jwrap.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SplicePlanTest {
+
+  private static String[] array() {
+    return new String[]{"a", "b", "c", "d", "e", "f"};
+  }
+
+  @Test
+  void apply() {
+    var plan = Splice.<String>plan()
+        .splice(-1, 1, "z")
+        .remove(1, 2)
+        .insert(4, "x", "y");
+
+    assertThat(plan.size()).isEqualTo(3);
+
+    var source = array();
+    var applied = plan.apply(source);
+    assertThat(applied.result()).isInstanceOf(String[].class)
+                                .containsExactly("a", "d", "x", "y", "e", "z");
+    assertThat(applied.removedCount()).isEqualTo(3);
+    assertThat(applied.removed()).containsExactly("b", "c", "f");
+    assertThat(source).containsExactly(array());
+
+    var list = plan.apply(List.of(array()));
+    assertThat(list.result()).containsExactly("a", "d", "x", "y", "e", "z");
+    assertThat(list.removed()).containsExactly("b", "c", "f");
+
+    var linked = plan.apply(new LinkedList<>(List.of(array())));
+    assertThat(linked.result()).containsExactly("a", "d", "x", "y", "e", "z");
+    assertThat(linked.removed()).containsExactly("b", "c", "f");
+  }
+
+  @Test
+  void sameAsSequentialSplices() {
+    var plan = Splice.<String>plan()
+        .splice(4, 1, "y")
+        .splice(1, 1, "x");
+
+    var sequential = Splice.splice(array(), 4, 1, "y").result();
+    sequential = Splice.splice(sequential, 1, 1, "x").result();
+
+    assertThat(plan.apply(array()).result()).containsExactly(sequential);
+  }
+
+  @Test
+  void overlapping() {
+    var plan = Splice.<String>plan()
+        .splice(1, 3, "x")
+        .splice(2, 3, "y")
+        .insert(2, "z");
+
+    var applied = plan.apply(array());
+    assertThat(applied.result()).containsExactly("a", "x", "y", "z", "f");
+    assertThat(applied.removed()).containsExactly("b", "c", "d", "e");
+  }
+
+  @Test
+  void edgeCases() {
+    assertThat(Splice.<String>plan().apply(array()).result()).containsExactly(array());
+    assertThat(Splice.<String>plan().remove(0, 100).apply(array()).result()).isEmpty();
+    assertThat(Splice.<String>plan().remove(-100, 1).apply(array()).result()).containsExactly("b", "c", "d", "e", "f");
+    assertThat(Splice.<String>plan().splice(2, -1, "x").apply(array()).result())
+        .containsExactly("a", "b", "x", "c", "d", "e", "f");
+    assertThat(Splice.<String>plan().insert(100, "x").apply(array()).result())
+        .containsExactly("a", "b", "c", "d", "e", "f", "x");
+
+    var undefined = Splice.<String>plan().remove(0, 1).apply((String[]) null);
+    assertThat(undefined.result()).isNull();
+    assertThat(undefined.removed()).isNull();
+  }
+}
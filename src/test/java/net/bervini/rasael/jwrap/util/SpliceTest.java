@@ -20,6 +20,7 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.LinkedList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -100,6 +101,49 @@ class SpliceTest {
         .isEmpty();
   }
 
+  @Test
+  void spliceLinkedList() {
+    var none = Collections.<String>emptyList();
+    assertThat(Splice.splice(newLinkedList(), 0, -1, none).result())
+        .containsExactly("a","b","c");
+    assertThat(Splice.splice(newLinkedList(), 0, 1, none).result())
+        .containsExactly("b","c");
+    assertThat(Splice.splice(newLinkedList(), 0, 4, none).result())
+        .isEmpty();
+
+    var list = newLinkedList();
+    var spliced = Splice.splice(list, 1, 1, List.of("x", "y"));
+    assertThat(spliced.result()).containsExactly("a","x","y","c").isInstanceOf(LinkedList.class);
+    assertThat(spliced.removed()).containsExactly("b");
+    assertThat(list).containsExactly("a","b","c");
+
+    spliced = Splice.splice(newLinkedList(), -2);
+    assertThat(spliced.result()).containsExactly("a");
+    assertThat(spliced.removed()).containsExactly("b","c");
+
+    var removed = new ArrayList<String>();
+    assertThat(Splice.spliceTo(newLinkedList(), 2, removed)).containsExactly("a","b");
+    assertThat(removed).containsExactly("c");
+  }
+
+  @Test
+  void spliceInPlace() {
+    var linked = newLinkedList();
+    assertThat(Splice.spliceInPlace(linked, 1, 1, List.of("x", "y"))).containsExactly("b");
+    assertThat(linked).containsExactly("a","x","y","c");
+
+    var list = newList();
+    assertThat(Splice.spliceInPlace(list, -1, 5, List.of("x"))).containsExactly("c");
+    assertThat(list).containsExactly("a","b","x");
+
+    assertThat(Splice.spliceInPlace(newList(), 1, -1, null)).isEmpty();
+    assertThat(Splice.spliceInPlace(NULL_LIST, 1, 1, null)).isEmpty();
+  }
+
+  private List<String> newLinkedList() {
+    return new LinkedList<>(Arrays.asList(newArray()));
+  }
+
   private List<String> newList() {
     return new ArrayList<>(Arrays.asList(newArray()));
   }
@@ -18,9 +18,20 @@ package net.bervini.rasael.jwrap.util;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class StreamsTest {
 
@@ -43,4 +54,170 @@ class StreamsTest {
 
     assertThat(Streams.stream(Arrays.asList("a").iterator())).hasSize(1);
   }
-}
\ No newline at end of file
+
+  @Test
+  void chunked() {
+    assertThat(Streams.chunked(Stream.of(1, 2, 3, 4, 5), 2)).containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+    assertThat(Streams.chunked(Stream.of(1, 2), 5)).containsExactly(List.of(1, 2));
+    assertThat(Streams.chunked(Stream.empty(), 3)).isEmpty();
+    assertThat(Streams.chunked(null, 3)).isEmpty();
+    assertThatThrownBy(() -> Streams.chunked(Stream.of(1), 0)).isInstanceOf(IllegalArgumentException.class);
+
+    // lazy: an infinite stream can be chunked
+    var read = new AtomicInteger();
+    assertThat(Streams.chunked(Stream.iterate(0, i -> i + 1).peek(i -> read.incrementAndGet()), 3).limit(2))
+        .containsExactly(List.of(0, 1, 2), List.of(3, 4, 5));
+    assertThat(read).hasValueLessThanOrEqualTo(6);
+
+    assertThat(Streams.chunked(IntStream.range(0, 10).boxed(), 3).spliterator().getExactSizeIfKnown()).isEqualTo(4);
+  }
+
+  @Test
+  void chunkedInParallel() {
+    int size = 100_000;
+    var chunks = Streams.chunked(IntStream.range(0, size).boxed().parallel(), 500).toList();
+
+    assertThat(chunks).hasSize(size / 500).allSatisfy(chunk -> assertThat(chunk).hasSize(500));
+    assertThat(chunks.stream().flatMap(List::stream)).containsExactlyElementsOf(IntStream.range(0, size).boxed().toList());
+
+    var spliterator = Spliterators.chunked(IntStream.range(0, size).boxed().spliterator(), 10);
+    var prefix = spliterator.trySplit();
+    assertThat(prefix).isNotNull();
+    assertThat(prefix.estimateSize() + spliterator.estimateSize()).isEqualTo(size / 10);
+  }
+
+  @Test
+  void windowed() {
+    assertThat(Streams.windowed(Stream.of(1, 2, 3, 4, 5), 3, 1))
+        .containsExactly(List.of(1, 2, 3), List.of(2, 3, 4), List.of(3, 4, 5));
+    assertThat(Streams.windowed(Stream.of(1, 2, 3, 4, 5), 2, 2)).containsExactly(List.of(1, 2), List.of(3, 4));
+    assertThat(Streams.windowed(Stream.of(1, 2, 3, 4, 5, 6, 7), 2, 3)).containsExactly(List.of(1, 2), List.of(4, 5));
+    assertThat(Streams.windowed(Stream.of(1, 2), 3, 1)).isEmpty();
+    assertThat(Streams.windowed(IntStream.range(0, 10).boxed(), 3, 2).spliterator().getExactSizeIfKnown()).isEqualTo(4);
+    assertThat(Streams.windowed(IntStream.range(0, 1000).boxed().parallel(), 2, 1).count()).isEqualTo(999);
+  }
+
+  @Test
+  void groupingNullElements() {
+    assertThat(Streams.chunked(Stream.of("a", null, "b"), 2))
+        .containsExactly(Arrays.asList("a", null), Arrays.asList("b"));
+    assertThat(Streams.windowed(Stream.of(null, "a", null), 2, 1))
+        .containsExactly(Arrays.asList(null, "a"), Arrays.asList("a", null));
+  }
+
+  @Test
+  void partitionBy() {
+    assertThat(Streams.partitionBy(Stream.of(1, 3, 2, 4, 6, 5), n -> n % 2==0))
+        .containsExactly(List.of(1, 3), List.of(2, 4, 6), List.of(5));
+    assertThat(Streams.partitionBy(Stream.of(1), n -> true)).containsExactly(List.of(1));
+    assertThat(Streams.partitionBy(Stream.<Integer>empty(), n -> true)).isEmpty();
+
+    var runs = Streams.partitionBy(IntStream.range(0, 10_000).boxed().parallel(), n -> n / 100 % 2==0).toList();
+    assertThat(runs).hasSize(100).allSatisfy(run -> assertThat(run).hasSize(100));
+  }
+
+  @Test
+  void generateSplits() {
+    var counter = new AtomicInteger();
+    var spliterator = Streams.generate(counter::incrementAndGet, 101).spliterator();
+    var prefix = spliterator.trySplit();
+
+    assertThat(prefix).isNotNull();
+    assertThat(prefix.estimateSize()).isEqualTo(50);
+    assertThat(spliterator.estimateSize()).isEqualTo(51);
+    assertThat(prefix.hasCharacteristics(java.util.Spliterator.SUBSIZED)).isTrue();
+
+    var single = Streams.generate(counter::incrementAndGet, 1).spliterator();
+    assertThat(single.trySplit()).isNull();
+
+    assertThat(Streams.generate(counter::incrementAndGet, 10_000).parallel().count()).isEqualTo(10_000);
+    assertThat(Streams.generate(() -> 1, 10_000).parallel().mapToInt(Integer::intValue).sum()).isEqualTo(10_000);
+  }
+
+  @Test
+  void mapConcurrent() {
+    var running = new AtomicInteger();
+    var peak = new AtomicInteger();
+    var results = Streams.mapConcurrent(IntStream.range(0, 200).boxed(), i -> {
+      peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+      sleep((i * 7) % 5);
+      running.decrementAndGet();
+      return i * 2;
+    }, 8).toList();
+
+    assertThat(results).hasSize(200).isSorted().startsWith(0, 2, 4).endsWith(398);
+    assertThat(peak.get()).isBetween(1, 8);
+    assertThat(Streams.mapConcurrent(Stream.of("a", null), s -> s, 2).toList()).containsExactly("a", null);
+    assertThat(Streams.mapConcurrent(null, s -> s, 2)).isEmpty();
+    assertThatThrownBy(() -> Streams.mapConcurrent(Stream.of(1), i -> i, 0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void mapConcurrentFailure() {
+    var started = new AtomicInteger();
+    var sleeping = new CountDownLatch(1);
+    var interrupted = new CountDownLatch(1);
+    var stream = Streams.mapConcurrent(IntStream.range(0, 1_000).boxed(), i -> {
+      started.incrementAndGet();
+      if (i==3) {
+        // fails once the first mapping runs, so that cancelling it interrupts it instead of skipping it
+        await(sleeping);
+        throw new IllegalStateException("boom");
+      }
+      if (i==0) {
+        try {
+          sleeping.countDown();
+          Thread.sleep(10_000);
+        }
+        catch (InterruptedException e) {
+          interrupted.countDown();
+        }
+      }
+      return i;
+    }, 4);
+
+    assertThatThrownBy(stream::toList).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+    assertThat(started.get()).isLessThan(1_000);
+    assertThat(await(interrupted)).isTrue();
+  }
+
+  @Test
+  void mapConcurrentTimeout() {
+    var stream = Streams.mapConcurrent(Stream.of(1, 2), i -> {
+      sleep(i==2 ? 10_000 : 0);
+      return i;
+    }, 2, Duration.ofMillis(50));
+
+    assertThatThrownBy(stream::toList).isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(TimeoutException.class);
+  }
+
+  @Test
+  void forEachConcurrent() {
+    var seen = ConcurrentHashMap.<Integer>newKeySet();
+    Streams.forEachConcurrent(IntStream.range(0, 100).boxed(), seen::add, 10);
+
+    assertThat(seen).hasSize(100);
+    assertThatThrownBy(() -> Streams.forEachConcurrent(Stream.of(1, 2), i -> {
+      throw new IllegalArgumentException("bad " + i);
+    }, 2)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static boolean await(CountDownLatch latch) {
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    }
+    catch (InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}